@@ -0,0 +1,83 @@
+/*
+ *   Project: Confile
+ *   File: DefaultsBenchmark.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups that are answered by the configuration itself, by its defaults, or by neither
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultsBenchmark {
+    private static final String PRESENT = "section1.key3";
+    private static final String DEFAULT_ONLY = "defaults.section.key";
+    private static final String MISSING = "section1.absent";
+
+    private MemoryConfiguration config;
+
+    @Setup
+    public void setup() {
+        MemoryConfiguration defaults = new MemoryConfiguration();
+        SyntheticConfigs.fill(defaults, 50, 20);
+        defaults.set(DEFAULT_ONLY, "default");
+
+        this.config = new MemoryConfiguration(defaults);
+        SyntheticConfigs.fill(this.config, 50, 20);
+    }
+
+    @Benchmark
+    public Object getPresent() {
+        return this.config.get(PRESENT);
+    }
+
+    @Benchmark
+    public Object getDefaultHit() {
+        return this.config.get(DEFAULT_ONLY);
+    }
+
+    @Benchmark
+    public Object getDefaultMiss() {
+        return this.config.get(MISSING);
+    }
+
+    @Benchmark
+    public String getStringDefaultHit() {
+        return this.config.getString(DEFAULT_ONLY);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *   Project: Confile
+ *   File: FlatFileBenchmark.java
+ *   Last Modified: 10/19/26, 11:20 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PropertiesConfiguration;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading the same flat {@code key.path} entries as YAML and as a properties file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatFileBenchmark {
+
+    @Param({"100", "100000"})
+    public int entries;
+
+    private String yamlDocument;
+    private String propertiesDocument;
+    private YamlConfiguration yaml;
+    private PropertiesConfiguration properties;
+
+    @Setup
+    public void setup() {
+        this.yamlDocument = SyntheticConfigs.flat(this.entries, ": ");
+        this.propertiesDocument = SyntheticConfigs.flat(this.entries, "=");
+        this.yaml = new YamlConfiguration();
+        this.properties = new PropertiesConfiguration();
+    }
+
+    @Benchmark
+    public YamlConfiguration loadYaml() throws InvalidConfigurationException {
+        this.yaml.loadFromString(this.yamlDocument);
+        return this.yaml;
+    }
+
+    @Benchmark
+    public PropertiesConfiguration loadProperties() throws InvalidConfigurationException {
+        this.properties.loadFromString(this.propertiesDocument);
+        return this.properties;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *   Project: Confile
+ *   File: KeysValuesBenchmark.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code getKeys}/{@code getValues} on a populated configuration, shallow and deep
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeysValuesBenchmark {
+
+    @Param({"false", "true"})
+    public boolean deep;
+
+    @Param({"10", "500"})
+    public int sections;
+
+    private MemoryConfiguration config;
+
+    @Setup
+    public void setup() {
+        this.config = new MemoryConfiguration();
+        SyntheticConfigs.fill(this.config, this.sections, 20);
+    }
+
+    @Benchmark
+    public Set<String> getKeys() {
+        return this.config.getKeys(this.deep);
+    }
+
+    @Benchmark
+    public Map<String, Object> getValues() {
+        return this.config.getValues(this.deep);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *   Project: Confile
+ *   File: MemorySectionBenchmark.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code get}/{@code set} on a {@link MemoryConfiguration} at various path depths
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemorySectionBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    private MemoryConfiguration config;
+    private String path;
+    private String missingPath;
+
+    @Setup
+    public void setup() {
+        this.config = new MemoryConfiguration();
+        SyntheticConfigs.fill(this.config, 100, 20);
+        this.path = SyntheticConfigs.path(this.depth);
+        this.missingPath = this.path + "missing";
+        this.config.set(this.path, "value");
+    }
+
+    @Benchmark
+    public Object get() {
+        return this.config.get(this.path);
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return this.config.get(this.missingPath);
+    }
+
+    @Benchmark
+    public String getString() {
+        return this.config.getString(this.path);
+    }
+
+    @Benchmark
+    public void set() {
+        this.config.set(this.path, "value");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *   Project: Confile
+ *   File: SerializationBenchmark.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.SerializableAs;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConfigurationSerialization#deserializeObject(Map)} for a class deserialized through a
+ * static {@code deserialize} method and one deserialized through its map constructor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private Map<String, Object> pointArgs;
+    private Map<String, Object> boxArgs;
+
+    @Setup
+    public void setup() {
+        ConfigurationSerialization.registerClass(Point.class);
+        ConfigurationSerialization.registerClass(Box.class);
+
+        this.pointArgs = new LinkedHashMap<>();
+        this.pointArgs.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, "Point");
+        this.pointArgs.put("x", 12);
+        this.pointArgs.put("y", -7);
+
+        this.boxArgs = new LinkedHashMap<>();
+        this.boxArgs.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, "Box");
+        this.boxArgs.put("label", "crate");
+        this.boxArgs.put("size", 3);
+    }
+
+    @Benchmark
+    public ConfigurationSerializable deserializeViaMethod() {
+        return ConfigurationSerialization.deserializeObject(this.pointArgs);
+    }
+
+    @Benchmark
+    public ConfigurationSerializable deserializeViaConstructor() {
+        return ConfigurationSerialization.deserializeObject(this.boxArgs);
+    }
+
+    @SerializableAs("Point")
+    public static final class Point implements ConfigurationSerializable {
+        private final int x;
+        private final int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @NotNull
+        public Map<String, Object> serialize() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("x", this.x);
+            result.put("y", this.y);
+            return result;
+        }
+
+        @NotNull
+        public static Point deserialize(@NotNull Map<String, Object> args) {
+            return new Point((Integer) args.get("x"), (Integer) args.get("y"));
+        }
+    }
+
+    @SerializableAs("Box")
+    public static final class Box implements ConfigurationSerializable {
+        private final String label;
+        private final int size;
+
+        public Box(@NotNull Map<String, Object> args) {
+            this.label = (String) args.get("label");
+            this.size = (Integer) args.get("size");
+        }
+
+        @NotNull
+        public Map<String, Object> serialize() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("label", this.label);
+            result.put("size", this.size);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *   Project: Confile
+ *   File: SyntheticConfigs.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Deterministic generators for the configurations used by the benchmarks
+ */
+public final class SyntheticConfigs {
+    private static final long SEED = 0x5EEDL;
+
+    private SyntheticConfigs() { }
+
+    /**
+     * Builds a path of the given depth, e.g. {@code level0.level1.level2}
+     * @param depth the number of segments in the path
+     * @return the path
+     */
+    @NotNull
+    public static String path(int depth) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+
+            builder.append("level").append(i);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Fills a section with {@code sections} child sections of {@code keys} mixed scalar values each
+     * @param section the section to fill
+     * @param sections the number of child sections
+     * @param keys the number of values per child section
+     */
+    public static void fill(@NotNull ConfigurationSection section, int sections, int keys) {
+        Random random = new Random(SEED);
+        for (int s = 0; s < sections; s++) {
+            ConfigurationSection child = section.createSection("section" + s);
+            for (int k = 0; k < keys; k++) {
+                child.set("key" + k, value(random, k));
+            }
+        }
+    }
+
+    /**
+     * Generates a YAML document with {@code sections} top level sections of {@code keys} values each
+     * @param sections the number of top level sections
+     * @param keys the number of values per section
+     * @return the document
+     */
+    @NotNull
+    public static String yaml(int sections, int keys) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder(sections * keys * 24);
+        builder.append("# Synthetic benchmark configuration\n");
+        for (int s = 0; s < sections; s++) {
+            builder.append("section").append(s).append(":\n");
+            for (int k = 0; k < keys; k++) {
+                builder.append("  key").append(k).append(": ");
+                Object value = value(random, k);
+                if (value instanceof String) {
+                    builder.append('\'').append(value).append('\'');
+                } else {
+                    builder.append(value);
+                }
+
+                builder.append('\n');
+            }
+
+            builder.append("  nested:\n");
+            builder.append("    list:\n");
+            for (int i = 0; i < 3; i++) {
+                builder.append("    - item").append(random.nextInt(1000)).append('\n');
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Generates a flat document of {@code entries} {@code key.path<separator>value} lines.
+     * With ": " as separator the result is a YAML document, with "=" it is a properties file.
+     * @param entries the number of entries
+     * @param separator the text between a key and its value
+     * @return the document
+     */
+    @NotNull
+    public static String flat(int entries, @NotNull String separator) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder(entries * 40);
+        for (int i = 0; i < entries; i++) {
+            builder.append("group").append(i / 100)
+                    .append(".entry").append(i % 100)
+                    .append(".value").append(separator)
+                    .append("text-").append(Long.toHexString(random.nextLong()))
+                    .append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    @NotNull
+    private static Object value(@NotNull Random random, int index) {
+        switch (index % 4) {
+            case 0:
+                return random.nextInt();
+            case 1:
+                return random.nextBoolean();
+            case 2:
+                return random.nextDouble();
+            default:
+                return "value-" + Long.toHexString(random.nextLong());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *   Project: Confile
+ *   File: YamlBenchmark.java
+ *   Last Modified: 10/19/26, 9:12 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.benchmark;
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link YamlConfiguration#loadFromString(String)} and {@link YamlConfiguration#saveToString()}
+ * on a small and a huge synthetic document, loading with and without the fast parser
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YamlBenchmark {
+
+    @Param({"small", "huge"})
+    public String size;
+
+    @Param({"false", "true"})
+    public boolean fastParse;
+
+    private String document;
+    private YamlConfiguration loading;
+    private YamlConfiguration loaded;
+
+    @Setup
+    public void setup() {
+        boolean huge = "huge".equals(this.size);
+        int sections = huge ? 2000 : 10;
+        int keys = huge ? 50 : 10;
+
+        this.document = SyntheticConfigs.yaml(sections, keys);
+        this.loading = new YamlConfiguration();
+        this.loading.options().fastParse(this.fastParse);
+        this.loaded = new YamlConfiguration();
+        SyntheticConfigs.fill(this.loaded, sections, keys);
+    }
+
+    @Benchmark
+    public YamlConfiguration loadFromString() throws InvalidConfigurationException {
+        this.loading.loadFromString(this.document);
+        return this.loading;
+    }
+
+    @Benchmark
+    public String saveToString() {
+        return this.loaded.saveToString();
+    }
+}
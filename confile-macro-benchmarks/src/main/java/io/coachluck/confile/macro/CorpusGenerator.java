@@ -0,0 +1,166 @@
+/*
+ *   Project: Confile
+ *   File: CorpusGenerator.java
+ *   Last Modified: 10/19/26, 7:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.macro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generates YAML documents of a given size and nesting depth. The same seed, size and depth always give the
+ * same document, so results stay comparable across releases. Documents are streamed, a 1 GB corpus never has
+ * to fit in memory.
+ * <p>
+ * A document is a sequence of groups. A group is a chain of {@code depth} nested sections, each holding a few
+ * scalars of mixed types, and the deepest one also holds a short list. Groups are added until the document
+ * reaches the requested size, so it ends at the first group boundary past it.
+ */
+public final class CorpusGenerator {
+    private static final int SCALARS_PER_SECTION = 3;
+
+    private final long seed;
+
+    /**
+     * @param seed the seed of the values
+     */
+    public CorpusGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Writes a document to a writer, the writer is flushed but not closed
+     * @param writer the writer
+     * @param bytes the size to reach, the document ends at the first group past it
+     * @param depth the nesting depth of every group, at least 1
+     * @return the number of bytes written, the document is plain ASCII
+     * @throws IOException if the writer fails
+     */
+    public long write(@NotNull Writer writer, long bytes, int depth) throws IOException {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1, got " + depth);
+        }
+
+        Random random = new Random(this.seed ^ depth);
+        StringBuilder line = new StringBuilder(128);
+        long written = 0;
+        line.append("# Synthetic corpus, depth ").append(depth).append(", seed ").append(this.seed).append('\n');
+        for (long group = 0; written + line.length() < bytes || group == 0; group++) {
+            for (int level = 0; level < depth; level++) {
+                indent(line, level).append(level == 0 ? "group" + group : "level" + level).append(":\n");
+                for (int k = 0; k < SCALARS_PER_SECTION; k++) {
+                    indent(line, level + 1).append("key").append(k).append(": ");
+                    value(line, random, level + k).append('\n');
+                }
+
+                written += line.length();
+                writer.append(line);
+                line.setLength(0);
+            }
+
+            indent(line, depth).append("items:\n");
+            for (int i = 0; i < 3; i++) {
+                indent(line, depth).append("- item").append(random.nextInt(1000)).append('\n');
+            }
+        }
+
+        written += line.length();
+        writer.append(line);
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Generates a document as a string, for small sizes
+     * @param bytes the size to reach
+     * @param depth the nesting depth
+     * @return the document
+     */
+    @NotNull
+    public String generate(long bytes, int depth) {
+        StringWriter writer = new StringWriter();
+        try {
+            this.write(writer, bytes, depth);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Writes a document to a file unless the file already holds it, generated files are named after their
+     * parameters so they can be reused between runs
+     * @param directory the directory of the corpus
+     * @param bytes the size to reach
+     * @param depth the nesting depth
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    @NotNull
+    public File file(@NotNull File directory, long bytes, int depth) throws IOException {
+        File file = new File(directory, "corpus-" + this.seed + "-" + bytes + "-d" + depth + ".yml");
+        if (!file.isFile()) {
+            directory.mkdirs();
+            File partial = new File(directory, file.getName() + ".tmp");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(partial), StandardCharsets.UTF_8), 1 << 16)) {
+                this.write(writer, bytes, depth);
+            }
+
+            if (!partial.renameTo(file)) {
+                throw new IOException("Cannot move " + partial + " to " + file);
+            }
+        }
+
+        return file;
+    }
+
+    @NotNull
+    private static StringBuilder indent(@NotNull StringBuilder line, int level) {
+        for (int i = 0; i < level; i++) {
+            line.append("  ");
+        }
+
+        return line;
+    }
+
+    @NotNull
+    private static StringBuilder value(@NotNull StringBuilder line, @NotNull Random random, int index) {
+        switch (index % 4) {
+            case 0:
+                return line.append(random.nextInt());
+            case 1:
+                return line.append(random.nextBoolean());
+            case 2:
+                return line.append(random.nextDouble());
+            default:
+                return line.append("'value-").append(Long.toHexString(random.nextLong())).append('\'');
+        }
+    }
+}
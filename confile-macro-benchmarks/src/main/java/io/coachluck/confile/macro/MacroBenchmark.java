@@ -0,0 +1,261 @@
+/*
+ *   Project: Confile
+ *   File: MacroBenchmark.java
+ *   Last Modified: 10/19/26, 7:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.macro;
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Entry point of the macro benchmarks jar. Unlike the JMH suite, every scenario is an end-to-end run against
+ * generated files on disk, measuring what an application sees at startup and under load:
+ * <ul>
+ *     <li>{@code load}: load time, retained heap and key count of a {@link YamlConfiguration} per size and depth</li>
+ *     <li>{@code save}: save latency percentiles while a few leaves are mutated between saves</li>
+ *     <li>{@code cold-start}: loading many small files in a row, the first one paying for class loading</li>
+ * </ul>
+ * <pre>
+ * java -Xmx8g -jar macro-benchmarks.jar --sizes 1KB,1MB,64MB,1GB --depths 2,8,20 --output report.json
+ * </pre>
+ * Corpora are cached in the work directory between runs. A 1 GB corpus needs a heap of several GB.
+ */
+public final class MacroBenchmark {
+    private static final long SEED = 0x5EED;
+    private static final int MUTATIONS = 100;
+    private static final long COLD_START_BYTES = 4 << 10;
+    private static final int COLD_START_DEPTH = 4;
+
+    private final CorpusGenerator generator = new CorpusGenerator(SEED);
+    private final Report report;
+    private long[] sizes = { 1L << 10, 1L << 20, 16L << 20 };
+    private int[] depths = { 2, 8, 20 };
+    private List<String> scenarios = Arrays.asList("load", "save", "cold-start");
+    private int files = 100;
+    private int saves = 20;
+    private int iterations = 3;
+    private File work = new File("macro-corpus");
+    private File output = new File("macro-report.json").getAbsoluteFile();
+
+    private MacroBenchmark(@NotNull String[] args) {
+        this.report = new Report(args);
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null || !args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+
+            switch (args[i++]) {
+                case "--sizes":
+                    this.sizes = Arrays.stream(value.split(",")).mapToLong(MacroBenchmark::bytes).toArray();
+                    break;
+                case "--depths":
+                    this.depths = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--scenarios":
+                    this.scenarios = Arrays.asList(value.split(","));
+                    break;
+                case "--files":
+                    this.files = Integer.parseInt(value);
+                    break;
+                case "--saves":
+                    this.saves = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    this.iterations = Integer.parseInt(value);
+                    break;
+                case "--work":
+                    this.work = new File(value);
+                    break;
+                case "--output":
+                    this.output = new File(value).getAbsoluteFile();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new MacroBenchmark(args).run();
+    }
+
+    private void run() throws IOException, InvalidConfigurationException {
+        if (this.scenarios.contains("cold-start")) {
+            this.coldStart();
+        }
+
+        for (long size : this.sizes) {
+            for (int depth : this.depths) {
+                File file = this.generator.file(this.work, size, depth);
+                if (this.scenarios.contains("load")) {
+                    this.load(file, size, depth);
+                }
+
+                if (this.scenarios.contains("save")) {
+                    this.save(file, size, depth);
+                }
+            }
+        }
+
+        this.report.write(this.output);
+        System.out.println("Wrote " + this.output.getAbsolutePath());
+    }
+
+    /**
+     * Loads many small files in a fresh JVM, must run first so the first load includes class loading
+     */
+    private void coldStart() throws IOException, InvalidConfigurationException {
+        File[] corpus = new File[this.files];
+        for (int i = 0; i < corpus.length; i++) {
+            File directory = new File(this.work, "cold-start");
+            corpus[i] = new CorpusGenerator(SEED + i).file(directory, COLD_START_BYTES, COLD_START_DEPTH);
+        }
+
+        long start = System.nanoTime();
+        long first = 0;
+        for (int i = 0; i < corpus.length; i++) {
+            new YamlConfiguration().load(corpus[i]);
+            if (i == 0) {
+                first = System.nanoTime() - start;
+            }
+        }
+
+        long total = System.nanoTime() - start;
+        Map<String, Object> result = this.report.add("cold-start");
+        result.put("files", corpus.length);
+        result.put("fileBytes", COLD_START_BYTES);
+        result.put("depth", COLD_START_DEPTH);
+        result.put("totalMs", millis(total));
+        result.put("firstMs", millis(first));
+        result.put("restMeanMs", corpus.length > 1 ? millis(total - first) / (corpus.length - 1) : 0.0);
+        print(result);
+    }
+
+    private void load(@NotNull File file, long size, int depth) throws IOException, InvalidConfigurationException {
+        long[] times = new long[this.iterations];
+        long heap = 0;
+        int keys = 0;
+        for (int i = 0; i < times.length; i++) {
+            long before = usedHeap();
+            long start = System.nanoTime();
+            YamlConfiguration config = new YamlConfiguration();
+            config.load(file);
+            times[i] = System.nanoTime() - start;
+            heap = usedHeap() - before;
+            keys = config.getKeys(true).size();
+        }
+
+        Arrays.sort(times);
+        Map<String, Object> result = this.report.add("load");
+        result.put("targetBytes", size);
+        result.put("fileBytes", file.length());
+        result.put("depth", depth);
+        result.put("keys", keys);
+        result.put("minMs", millis(times[0]));
+        result.put("medianMs", millis(times[times.length / 2]));
+        result.put("heapBytes", heap);
+        print(result);
+    }
+
+    /**
+     * Saves the same configuration repeatedly, changing {@value #MUTATIONS} random leaves before every save
+     */
+    private void save(@NotNull File file, long size, int depth) throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(file);
+        List<String> leaves = new ArrayList<>();
+        for (String key : config.getKeys(true)) {
+            if (!config.isConfigurationSection(key)) {
+                leaves.add(key);
+            }
+        }
+
+        Random random = new Random(SEED);
+        File target = new File(this.work, "save-" + file.getName());
+        long[] times = new long[this.saves];
+        for (int i = 0; i < times.length; i++) {
+            for (int m = 0; m < MUTATIONS && !leaves.isEmpty(); m++) {
+                config.set(leaves.get(random.nextInt(leaves.size())), random.nextInt());
+            }
+
+            long start = System.nanoTime();
+            config.save(target);
+            times[i] = System.nanoTime() - start;
+        }
+
+        target.delete();
+        Arrays.sort(times);
+        Map<String, Object> result = this.report.add("save");
+        result.put("targetBytes", size);
+        result.put("fileBytes", file.length());
+        result.put("depth", depth);
+        result.put("saves", times.length);
+        result.put("p50Ms", millis(times[times.length / 2]));
+        result.put("p90Ms", millis(times[(int) (times.length * 0.9)]));
+        result.put("maxMs", millis(times[times.length - 1]));
+        print(result);
+    }
+
+    /**
+     * The heap in use once the collector has settled, good enough for footprints of a MB and up
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+
+        return used;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long bytes(@NotNull String size) {
+        String value = size.trim().toUpperCase();
+        long unit = 1;
+        if (value.endsWith("GB")) {
+            unit = 1L << 30;
+        } else if (value.endsWith("MB")) {
+            unit = 1L << 20;
+        } else if (value.endsWith("KB")) {
+            unit = 1L << 10;
+        }
+
+        return Long.parseLong(unit == 1 ? value : value.substring(0, value.length() - 2)) * unit;
+    }
+
+    private static void print(@NotNull Map<String, Object> result) {
+        System.out.println(result);
+    }
+}
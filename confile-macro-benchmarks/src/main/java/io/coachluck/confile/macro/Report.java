@@ -0,0 +1,83 @@
+/*
+ *   Project: Confile
+ *   File: Report.java
+ *   Last Modified: 10/19/26, 7:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.macro;
+
+import io.coachluck.confile.file.JsonConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a run, written as JSON so they can be tracked across releases. Every result is a flat object
+ * with the scenario, its parameters and its measurements, times in milliseconds and sizes in bytes.
+ */
+public final class Report {
+    private static final int FORMAT = 1;
+
+    private final List<Map<String, Object>> results = new ArrayList<>();
+    private final String[] arguments;
+
+    Report(@NotNull String[] arguments) {
+        this.arguments = arguments;
+    }
+
+    /**
+     * Starts a result
+     * @param scenario the name of the scenario
+     * @return the result to add the parameters and measurements to, in the order they are written
+     */
+    @NotNull
+    Map<String, Object> add(@NotNull String scenario) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", scenario);
+        this.results.add(result);
+        return result;
+    }
+
+    /**
+     * Writes the report
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    void write(@NotNull File file) throws IOException {
+        JsonConfiguration json = new JsonConfiguration();
+        json.set("format", FORMAT);
+        json.set("timestamp", Instant.now().toString());
+        json.set("arguments", Arrays.asList(this.arguments));
+        json.set("environment.java", System.getProperty("java.version"));
+        json.set("environment.vm", System.getProperty("java.vm.name"));
+        json.set("environment.os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        json.set("environment.processors", Runtime.getRuntime().availableProcessors());
+        json.set("environment.maxHeap", Runtime.getRuntime().maxMemory());
+        json.set("environment.jvmArguments", ManagementFactory.getRuntimeMXBean().getInputArguments());
+        json.set("results", this.results);
+        json.save(file);
+    }
+}
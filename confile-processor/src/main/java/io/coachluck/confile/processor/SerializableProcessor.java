@@ -0,0 +1,405 @@
+/*
+ *   Project: Confile
+ *   File: SerializableProcessor.java
+ *   Last Modified: 10/19/26, 7:50 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code ConfigurationCodec} next to every {@code @GenerateCodec} class, named after the class with a
+ * {@code Codec} suffix, and lists the codecs as services so {@code ConfigurationSerialization} registers them under the
+ * alias of {@code @SerializableAs}, or the class name without it.
+ * <p>
+ * Every non-static, non-transient field is serialized under its name, through the field itself when it is not private
+ * and through its {@code getX()}, {@code isX()} or {@code x()} accessor otherwise. Objects are created through the
+ * constructor taking every field by name, or through the no-argument constructor followed by assigning the fields.
+ */
+@SupportedAnnotationTypes(SerializableProcessor.GENERATE_CODEC)
+public class SerializableProcessor extends AbstractProcessor {
+    static final String GENERATE_CODEC = "io.coachluck.confile.serialization.GenerateCodec";
+    private static final String SERIALIZABLE_AS = "io.coachluck.confile.serialization.SerializableAs";
+    private static final String SERIALIZABLE = "io.coachluck.confile.serialization.ConfigurationSerializable";
+    private static final String SERVICE = "META-INF/services/io.coachluck.confile.serialization.ConfigurationCodec";
+
+    private final Set<String> codecs = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (round.processingOver()) {
+            if (!this.codecs.isEmpty()) {
+                this.writeServices();
+            }
+
+            return false;
+        }
+
+        TypeElement annotation = this.processingEnv.getElementUtils().getTypeElement(GENERATE_CODEC);
+        if (annotation == null) {
+            return false;
+        }
+
+        for (Element element : round.getElementsAnnotatedWith(annotation)) {
+            try {
+                this.generate((TypeElement) element);
+            } catch (InvalidTypeException e) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+            } catch (IOException e) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Cannot write the codec of " + element + ": " + e, element);
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement type) throws InvalidTypeException, IOException {
+        this.check(type);
+
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                properties.add(new Property(field, this.reader(type, field)));
+            }
+        }
+
+        boolean assign = !this.hasConstructor(type, properties);
+        if (assign) {
+            this.checkAssignable(type, properties);
+        }
+
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String className = type.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? className : className.substring(packageName.length() + 1))
+                .replace('.', '_') + "Codec";
+        String codecName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n * Generated by confile-processor from {@link ").append(className).append("}\n */\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements io.coachluck.confile.serialization.ConfigurationCodec<").append(className).append("> {\n\n")
+                .append("    @Override\n")
+                .append("    public Class<").append(className).append("> getType() {\n")
+                .append("        return ").append(className).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String getAlias() {\n")
+                .append("        return ").append(literal(this.alias(type))).append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public ").append(className).append(" deserialize(java.util.Map<String, ?> values) {\n");
+
+        if (assign) {
+            source.append("        ").append(className).append(" object = new ").append(className).append("();\n");
+            for (Property property : properties) {
+                source.append("        object.").append(property.name).append(" = ")
+                        .append(this.converter(property)).append(";\n");
+            }
+
+            source.append("        return object;\n");
+        } else {
+            source.append("        return new ").append(className).append("(");
+            for (int i = 0; i < properties.size(); i++) {
+                source.append(i == 0 ? "\n                " : ",\n                ")
+                        .append(this.converter(properties.get(i)));
+            }
+
+            source.append(");\n");
+        }
+
+        source.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public <E extends Exception> void serialize(").append(className)
+                .append(" object, io.coachluck.confile.serialization.ConfigurationCodec.FieldWriter<E> writer) throws E {\n");
+        for (Property property : properties) {
+            String value = property.reader;
+            if (this.isEnum(property.field.asType())) {
+                value = "io.coachluck.confile.serialization.Codecs.name(" + value + ")";
+            }
+
+            source.append("        writer.write(\"").append(property.name).append("\", ").append(value).append(");\n");
+        }
+
+        source.append("    }\n}\n");
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(codecName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+
+        this.codecs.add(codecName);
+    }
+
+    private void check(TypeElement type) throws InvalidTypeException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new InvalidTypeException("@GenerateCodec codecs can only be generated for concrete classes", type);
+        } else if (!type.getTypeParameters().isEmpty()) {
+            throw new InvalidTypeException("@GenerateCodec codecs cannot be generated for generic classes", type);
+        }
+
+        TypeMirror serializable = this.processingEnv.getElementUtils().getTypeElement(SERIALIZABLE).asType();
+        if (!this.processingEnv.getTypeUtils().isAssignable(type.asType(), serializable)) {
+            throw new InvalidTypeException(type.getSimpleName() + " must implement ConfigurationSerializable", type);
+        }
+
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new InvalidTypeException(element.getSimpleName() + " cannot be private", element);
+            } else if (element.getEnclosingElement() instanceof TypeElement
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                throw new InvalidTypeException(element.getSimpleName() + " must be a static nested class", element);
+            }
+        }
+    }
+
+    private String reader(TypeElement type, VariableElement field) throws InvalidTypeException {
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return "object." + name;
+        }
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            String methodName = method.getSimpleName().toString();
+            if (method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && this.processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())
+                    && (methodName.equals("get" + capitalized) || methodName.equals("is" + capitalized)
+                    || methodName.equals(name))) {
+                return "object." + methodName + "()";
+            }
+        }
+
+        throw new InvalidTypeException("Private field " + name + " needs a get" + capitalized + "() accessor", field);
+    }
+
+    private boolean hasConstructor(TypeElement type, List<Property> properties) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (constructor.getModifiers().contains(Modifier.PRIVATE) || parameters.size() != properties.size()) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (int i = 0; i < parameters.size() && matches; i++) {
+                VariableElement parameter = parameters.get(i);
+                Property property = properties.get(i);
+                matches = parameter.getSimpleName().contentEquals(property.name)
+                        && this.processingEnv.getTypeUtils().isSameType(parameter.asType(), property.field.asType());
+            }
+
+            if (matches) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void checkAssignable(TypeElement type, List<Property> properties) throws InvalidTypeException {
+        boolean noArgs = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            noArgs |= constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Property property : properties) {
+            names.add(property.name);
+        }
+
+        String message = type.getSimpleName() + " needs a constructor taking " + String.join(", ", names)
+                + " in declaration order, or a no-argument constructor and fields that are neither private nor final";
+        if (!noArgs) {
+            throw new InvalidTypeException(message, type);
+        }
+
+        for (Property property : properties) {
+            Set<Modifier> modifiers = property.field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+                throw new InvalidTypeException(message, property.field);
+            }
+        }
+    }
+
+    private String converter(Property property) throws InvalidTypeException {
+        TypeMirror type = property.field.asType();
+        String value = "values.get(\"" + property.name + "\"), \"" + property.name + "\"";
+        String codecs = "io.coachluck.confile.serialization.Codecs.";
+        switch (type.getKind()) {
+            case INT:
+                return codecs + "toInt(" + value + ")";
+            case LONG:
+                return codecs + "toLong(" + value + ")";
+            case DOUBLE:
+                return codecs + "toDouble(" + value + ")";
+            case FLOAT:
+                return codecs + "toFloat(" + value + ")";
+            case SHORT:
+                return codecs + "toShort(" + value + ")";
+            case BYTE:
+                return codecs + "toByte(" + value + ")";
+            case BOOLEAN:
+                return codecs + "toBoolean(" + value + ")";
+            case CHAR:
+                return codecs + "toChar(" + value + ")";
+            case DECLARED:
+                break;
+            default:
+                throw new InvalidTypeException("Field " + property.name + " has an unsupported type " + type, property.field);
+        }
+
+        String erasure = this.processingEnv.getTypeUtils().erasure(type).toString();
+        if (erasure.equals("java.lang.String")) {
+            return codecs + "toString(" + value + ")";
+        } else if (this.isEnum(type)) {
+            return codecs + "toEnum(values.get(\"" + property.name + "\"), " + erasure + ".class, \"" + property.name + "\")";
+        }
+
+        String object = codecs + "toObject(values.get(\"" + property.name + "\"), " + erasure + ".class, \""
+                + property.name + "\")";
+        return erasure.equals(type.toString()) ? object : "(" + type + ") " + object;
+    }
+
+    private boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private String alias(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(SERIALIZABLE_AS)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : mirror.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value")) {
+                        return (String) entry.getValue().getValue();
+                    }
+                }
+            }
+        }
+
+        return type.getQualifiedName().toString();
+    }
+
+    private void writeServices() {
+        Filer filer = this.processingEnv.getFiler();
+        Set<String> services = new TreeSet<>(this.codecs);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    int comment = line.indexOf('#');
+                    String name = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!name.isEmpty()) {
+                        services.add(name);
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+            // nothing was generated by an earlier compilation
+        }
+
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE).openWriter()) {
+            for (String service : services) {
+                writer.write(service);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICE + ": " + e);
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+    private static final class Property {
+        private final VariableElement field;
+        private final String name;
+        private final String reader;
+
+        private Property(VariableElement field, String reader) {
+            this.field = field;
+            this.name = field.getSimpleName().toString();
+            this.reader = reader;
+        }
+    }
+
+    private static final class InvalidTypeException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final transient Element element;
+
+        private InvalidTypeException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
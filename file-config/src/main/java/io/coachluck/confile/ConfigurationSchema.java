@@ -0,0 +1,517 @@
+/*
+ *   Project: Confile
+ *   File: ConfigurationSchema.java
+ *   Last Modified: 10/19/26, 5:55 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The expected shape of a configuration: value types, ranges, required keys and nested sections. A schema is
+ * compiled once into a tree that mirrors the sections, so validating walks the configuration a single time
+ * without splitting paths, and every value is stored in a typed slot that is read back without any checks.
+ * <pre>
+ * ConfigurationSchema.Builder builder = ConfigurationSchema.builder();
+ * ConfigurationSchema.IntSlot port = builder.requireInt("server.port", 1, 65535);
+ * ConfigurationSchema.Slot&lt;String&gt; url = builder.requireSection("database").requireString("url");
+ * ConfigurationSchema schema = builder.build();
+ *
+ * SchemaValues values = configuration.setSchema(schema); // and again on every load
+ * int serverPort = values.getInt(port);
+ * </pre>
+ * @see MemoryConfiguration#setSchema(ConfigurationSchema)
+ */
+public final class ConfigurationSchema {
+    private final Node root;
+    private final int objects;
+    private final int longs;
+    private final int doubles;
+
+    private ConfigurationSchema(@NotNull State state) {
+        this.root = state.root.compile();
+        this.objects = state.objects;
+        this.longs = state.longs;
+        this.doubles = state.doubles;
+    }
+
+    /**
+     * Starts a schema whose paths use the default separator
+     * @return the builder of the root section
+     */
+    @NotNull
+    public static Builder builder() {
+        return builder('.');
+    }
+
+    /**
+     * Starts a schema
+     * @param separator the separator of the paths given to the builder
+     * @return the builder of the root section
+     */
+    @NotNull
+    public static Builder builder(char separator) {
+        State state = new State(separator);
+        return new Builder(state, state.root);
+    }
+
+    /**
+     * Validates a configuration against this schema in a single pass, values missing from the configuration
+     * are taken from its defaults and then from the schema
+     * @param configuration the configuration to validate
+     * @return the validated values
+     * @throws InvalidConfigurationException listing every value that does not match
+     */
+    @NotNull
+    public SchemaValues validate(@NotNull Configuration configuration) throws InvalidConfigurationException {
+        SchemaValues values = new SchemaValues(new Object[this.objects], new long[this.longs], new double[this.doubles]);
+        List<String> errors = new ArrayList<>();
+        this.root.validate(configuration, configuration.getDefaults(), values, errors);
+        if (!errors.isEmpty()) {
+            throw new InvalidConfigurationException("Configuration does not match its schema:\n" + String.join("\n", errors));
+        }
+
+        return values;
+    }
+
+    private enum Type {
+        OBJECT, INT, LONG, DOUBLE, BOOLEAN
+    }
+
+    /**
+     * A value of the schema, stored in an array slot of the validated values
+     */
+    abstract static class Slotted {
+        final int index;
+
+        Slotted(int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * The slot of an object value
+     * @param <T> the type of the value
+     */
+    public static final class Slot<T> extends Slotted {
+        private Slot(int index) {
+            super(index);
+        }
+    }
+
+    /**
+     * The slot of an int value
+     */
+    public static final class IntSlot extends Slotted {
+        private IntSlot(int index) {
+            super(index);
+        }
+    }
+
+    /**
+     * The slot of a long value
+     */
+    public static final class LongSlot extends Slotted {
+        private LongSlot(int index) {
+            super(index);
+        }
+    }
+
+    /**
+     * The slot of a double value
+     */
+    public static final class DoubleSlot extends Slotted {
+        private DoubleSlot(int index) {
+            super(index);
+        }
+    }
+
+    /**
+     * The slot of a boolean value
+     */
+    public static final class BooleanSlot extends Slotted {
+        private BooleanSlot(int index) {
+            super(index);
+        }
+    }
+
+    /**
+     * Builds the values of a section, paths are relative to it. Every builder of a schema adds to the same schema.
+     */
+    public static final class Builder {
+        private final State state;
+        private final Node node;
+
+        private Builder(@NotNull State state, @NotNull Node node) {
+            this.state = state;
+            this.node = node;
+        }
+
+        /**
+         * Requires a section, it may still be empty
+         * @param path the path of the section
+         * @return the builder of the section
+         */
+        @NotNull
+        public Builder requireSection(@NotNull String path) {
+            Builder section = this.section(path);
+            section.node.required = true;
+            return section;
+        }
+
+        /**
+         * Describes a section that may be missing, its required values are then reported as missing too
+         * @param path the path of the section
+         * @return the builder of the section
+         */
+        @NotNull
+        public Builder section(@NotNull String path) {
+            Node node = this.node(path);
+            if (node.type != null) {
+                throw new IllegalArgumentException(node.path + " is already a value");
+            }
+
+            return new Builder(this.state, node);
+        }
+
+        @NotNull
+        public Slot<String> requireString(@NotNull String path) {
+            return this.requireObject(path, String.class);
+        }
+
+        @NotNull
+        public Slot<String> optionalString(@NotNull String path, @Nullable String def) {
+            return this.optionalObject(path, String.class, def);
+        }
+
+        @NotNull
+        public Slot<List<?>> requireList(@NotNull String path) {
+            return this.object(path, List.class, true, null);
+        }
+
+        @NotNull
+        public Slot<List<?>> optionalList(@NotNull String path, @Nullable List<?> def) {
+            return this.object(path, List.class, false, def);
+        }
+
+        /**
+         * Requires a value of a type, strings also accept numbers, booleans and characters
+         * @param path the path of the value
+         * @param clazz the type of the value
+         * @param <T> the type of the value
+         * @return the slot of the value
+         */
+        @NotNull
+        public <T> Slot<T> requireObject(@NotNull String path, @NotNull Class<T> clazz) {
+            return this.object(path, clazz, true, null);
+        }
+
+        @NotNull
+        public <T> Slot<T> optionalObject(@NotNull String path, @NotNull Class<T> clazz, @Nullable T def) {
+            return this.object(path, clazz, false, def);
+        }
+
+        @NotNull
+        public IntSlot requireInt(@NotNull String path, int min, int max) {
+            return new IntSlot(this.integer(path, Type.INT, true, null, min, max).index);
+        }
+
+        @NotNull
+        public IntSlot optionalInt(@NotNull String path, int def, int min, int max) {
+            return new IntSlot(this.integer(path, Type.INT, false, (long) def, min, max).index);
+        }
+
+        @NotNull
+        public LongSlot requireLong(@NotNull String path, long min, long max) {
+            return new LongSlot(this.integer(path, Type.LONG, true, null, min, max).index);
+        }
+
+        @NotNull
+        public LongSlot optionalLong(@NotNull String path, long def, long min, long max) {
+            return new LongSlot(this.integer(path, Type.LONG, false, def, min, max).index);
+        }
+
+        @NotNull
+        public DoubleSlot requireDouble(@NotNull String path, double min, double max) {
+            return new DoubleSlot(this.value(path, Type.DOUBLE, true, null, min, max).index);
+        }
+
+        @NotNull
+        public DoubleSlot optionalDouble(@NotNull String path, double def, double min, double max) {
+            return new DoubleSlot(this.value(path, Type.DOUBLE, false, def, min, max).index);
+        }
+
+        @NotNull
+        public BooleanSlot requireBoolean(@NotNull String path) {
+            return new BooleanSlot(this.value(path, Type.BOOLEAN, true, null, 0, 0).index);
+        }
+
+        @NotNull
+        public BooleanSlot optionalBoolean(@NotNull String path, boolean def) {
+            return new BooleanSlot(this.value(path, Type.BOOLEAN, false, def, 0, 0).index);
+        }
+
+        /**
+         * Compiles the schema, including the values added through the builders of other sections
+         * @return the schema
+         */
+        @NotNull
+        public ConfigurationSchema build() {
+            return new ConfigurationSchema(this.state);
+        }
+
+        @NotNull
+        private <T> Slot<T> object(@NotNull String path, @NotNull Class<?> clazz, boolean required, @Nullable Object def) {
+            Node node = this.value(path, Type.OBJECT, required, def, 0, 0);
+            node.clazz = clazz;
+            return new Slot<>(node.index);
+        }
+
+        @NotNull
+        private Node integer(@NotNull String path, @NotNull Type type, boolean required, @Nullable Object def, long min, long max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Minimum " + min + " of " + path + " is above its maximum " + max);
+            }
+
+            Node node = this.value(path, type, required, def, 0, 0);
+            node.longMin = min;
+            node.longMax = max;
+            return node;
+        }
+
+        @NotNull
+        private Node value(@NotNull String path, @NotNull Type type, boolean required, @Nullable Object def, double min, double max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Minimum " + min + " of " + path + " is above its maximum " + max);
+            }
+
+            Node node = this.node(path);
+            if (node.type != null || !node.children.isEmpty()) {
+                throw new IllegalArgumentException(node.path + " is already described");
+            }
+
+            node.type = type;
+            node.required = required;
+            node.def = def;
+            node.min = min;
+            node.max = max;
+            switch (type) {
+                case OBJECT:
+                    node.index = this.state.objects++;
+                    break;
+                case DOUBLE:
+                    node.index = this.state.doubles++;
+                    break;
+                default:
+                    node.index = this.state.longs++;
+            }
+
+            return node;
+        }
+
+        @NotNull
+        private Node node(@NotNull String path) {
+            Node node = this.node;
+            int start = 0;
+            int end;
+            do {
+                end = path.indexOf(this.state.separator, start);
+                String key = path.substring(start, end == -1 ? path.length() : end);
+                if (key.isEmpty()) {
+                    throw new IllegalArgumentException("Empty key in path " + path);
+                } else if (node.type != null) {
+                    throw new IllegalArgumentException(node.path + " is already a value");
+                }
+
+                Node parent = node;
+                node = parent.children.computeIfAbsent(key,
+                        k -> new Node(parent.path.isEmpty() ? k : parent.path + this.state.separator + k));
+                start = end + 1;
+            } while (end != -1);
+
+            return node;
+        }
+    }
+
+    /**
+     * The counters shared by the builders of a schema
+     */
+    private static final class State {
+        private final char separator;
+        private final Node root = new Node("");
+        private int objects;
+        private int longs;
+        private int doubles;
+
+        private State(char separator) {
+            this.separator = separator;
+        }
+    }
+
+    /**
+     * A section or a value of the schema
+     */
+    private static final class Node {
+        private final String path;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private String[] keys;
+        private Node[] nodes;
+        private Type type;
+        private Class<?> clazz;
+        private boolean required;
+        private Object def;
+        private double min;
+        private double max;
+        // the bounds of INT and LONG values, a double cannot hold every long
+        private long longMin;
+        private long longMax;
+        private int index;
+
+        private Node(@NotNull String path) {
+            this.path = path;
+        }
+
+        @NotNull
+        private Node compile() {
+            this.keys = this.children.keySet().toArray(new String[0]);
+            this.nodes = this.children.values().toArray(new Node[0]);
+            for (Node node : this.nodes) {
+                node.compile();
+            }
+
+            return this;
+        }
+
+        private void validate(@Nullable ConfigurationSection section, @Nullable Configuration defaults,
+                              @NotNull SchemaValues values, @NotNull List<String> errors) {
+            for (int i = 0; i < this.keys.length; i++) {
+                Node node = this.nodes[i];
+                Object value = null;
+                if (section instanceof MemorySection) {
+                    value = ((MemorySection) section).entries().get(this.keys[i]);
+                } else if (section != null) {
+                    value = section.get(this.keys[i], null);
+                }
+
+                if (node.type == null) {
+                    if (value instanceof ConfigurationSection || value == null) {
+                        if (value == null && node.required) {
+                            errors.add(node.path + ": required section is missing");
+                        }
+
+                        node.validate((ConfigurationSection) value, defaults, values, errors);
+                    } else {
+                        errors.add(node.path + ": expected a section, got " + value);
+                    }
+                } else {
+                    if (value == null && defaults != null) {
+                        value = defaults.get(node.path);
+                    }
+
+                    node.store(value, values, errors);
+                }
+            }
+        }
+
+        private void store(@Nullable Object value, @NotNull SchemaValues values, @NotNull List<String> errors) {
+            if (value == null) {
+                if (this.required) {
+                    errors.add(this.path + ": required value is missing");
+                    return;
+                }
+
+                value = this.def;
+                if (value == null) {
+                    return;
+                }
+            }
+
+            switch (this.type) {
+                case OBJECT:
+                    if (value instanceof DeferredSerializable && !this.clazz.isInstance(value)) {
+                        DeferredSerializable deferred = (DeferredSerializable) value;
+                        value = deferred.deserialize();
+                        if (value == null) {
+                            errors.add(this.path + ": cannot deserialize " + deferred.getType().getSimpleName());
+                            break;
+                        }
+                    }
+
+                    if (this.clazz == String.class && (value instanceof Number || value instanceof Boolean || value instanceof Character)) {
+                        value = value.toString();
+                    }
+
+                    if (this.clazz.isInstance(value)) {
+                        values.objects[this.index] = value;
+                    } else {
+                        errors.add(this.path + ": expected " + this.clazz.getSimpleName() + ", got " + describe(value));
+                    }
+
+                    break;
+                case INT:
+                case LONG:
+                    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                        long number = ((Number) value).longValue();
+                        if (number >= this.longMin && number <= this.longMax) {
+                            values.longs[this.index] = number;
+                        } else {
+                            errors.add(this.path + ": " + number + " is not between " + this.longMin + " and " + this.longMax);
+                        }
+                    } else {
+                        errors.add(this.path + ": expected " + (this.type == Type.INT ? "an int" : "a long") + ", got " + describe(value));
+                    }
+
+                    break;
+                case DOUBLE:
+                    if (value instanceof Number) {
+                        double number = ((Number) value).doubleValue();
+                        if (number >= this.min && number <= this.max) {
+                            values.doubles[this.index] = number;
+                        } else {
+                            errors.add(this.path + ": " + number + " is not between " + this.min + " and " + this.max);
+                        }
+                    } else {
+                        errors.add(this.path + ": expected a number, got " + describe(value));
+                    }
+
+                    break;
+                case BOOLEAN:
+                    if (value instanceof Boolean) {
+                        values.longs[this.index] = (Boolean) value ? 1L : 0L;
+                    } else {
+                        errors.add(this.path + ": expected a boolean, got " + describe(value));
+                    }
+
+                    break;
+            }
+        }
+
+        @NotNull
+        private static String describe(@NotNull Object value) {
+            return value instanceof ConfigurationSection ? "a section" : value.getClass().getSimpleName() + " " + value;
+        }
+    }
+}
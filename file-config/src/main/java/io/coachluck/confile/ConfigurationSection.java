@@ -21,6 +21,7 @@
 
 package io.coachluck.confile;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -115,4 +116,32 @@ public interface ConfigurationSection {
     ConfigurationSection getDefaultSection();
 
     void addDefault(@NotNull String key, @Nullable Object obj);
+
+    /**
+     * Finds the values whose paths match a pattern, without consulting the defaults.
+     * Every segment of the pattern is a key, a glob like {@code player*} where {@code *} matches any characters
+     * and {@code ?} a single one, or {@code **} which matches any number of sections. For example
+     * {@code servers.*.port} or {@code features.**.enabled}.
+     * By default every path of {@link #getKeys(boolean)} is matched, implementations may override it with a lookup
+     * that only visits the matching sections.
+     * @param pattern the pattern, relative to this section
+     * @return the matching values by their path relative to this section
+     */
+    @NotNull
+    default Map<String, Object> query(@NotNull String pattern) {
+        Configuration root = this.getRoot();
+        char separator = root == null ? '.' : root.options().pathSeparator();
+        String[] segments = MemorySection.segments(pattern, separator);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String path : this.getKeys(true)) {
+            if (MemorySection.matches(segments, 0, MemorySection.segments(path, separator), 0)) {
+                Object value = this.get(path, null);
+                if (value != null) {
+                    result.put(path, value);
+                }
+            }
+        }
+
+        return result;
+    }
 }
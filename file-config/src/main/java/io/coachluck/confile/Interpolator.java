@@ -0,0 +1,240 @@
+/*
+ *   Project: Confile
+ *   File: Interpolator.java
+ *   Last Modified: 10/19/26, 5:30 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Expands {@code ${other.path}} and {@code ${env:VAR}} placeholders in the strings returned by
+ * {@link ConfigurationSection#getString(String)}. Paths are relative to the root, {@code $${} writes a literal
+ * {@code ${}, and placeholders that cannot be resolved are left as they are. Every expanded value is cached
+ * together with the paths it refers to, so setting a path only drops the cached values that depend on it.
+ * The cache is guarded by the interpolator, values can be read on several threads while it is enabled.
+ * @see MemoryConfiguration#enableInterpolation()
+ */
+public class Interpolator {
+    private static final String ENVIRONMENT = "env:";
+
+    private final MemoryConfiguration configuration;
+    private final Map<String, Expansion> cache = new HashMap<>();
+    // referenced path to the paths referring to it, sorted so the paths below a section are a single range
+    private final TreeMap<String, Set<String>> dependents = new TreeMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private Function<String, String> environment = System::getenv;
+
+    Interpolator(@NotNull MemoryConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Sets where {@code ${env:VAR}} placeholders are looked up, the process environment by default
+     * @param environment the variable lookup, returning null for unknown variables
+     * @return the updated Interpolator
+     */
+    @NotNull
+    public synchronized Interpolator environment(@NotNull Function<String, String> environment) {
+        this.environment = environment;
+        this.cache.clear();
+        return this;
+    }
+
+    /**
+     * Gets the number of cached expansions
+     * @return the number of paths whose expanded value is cached
+     */
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Expands the placeholders of a value
+     * @param path the path of the value from the root
+     * @param value the raw value
+     * @return the expanded value
+     * @throws IllegalStateException if the value refers back to itself
+     */
+    @NotNull
+    String resolve(@NotNull String path, @NotNull String value) {
+        if (!value.contains("${")) {
+            return value;
+        }
+
+        synchronized (this) {
+            return this.resolve(path, value, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Drops the cached values depending on a key or anything below it
+     * @param section the section holding the key
+     * @param key the key that changed
+     */
+    synchronized void changed(@NotNull MemorySection section, @NotNull String key) {
+        String path = MemorySection.createPath(section, key);
+        char separator = this.configuration.options().pathSeparator();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(path);
+        queue.addAll(this.dependents.subMap(path + separator, path + (char) (separator + 1)).keySet());
+        Set<String> seen = new HashSet<>();
+        while (!queue.isEmpty()) {
+            String changed = queue.poll();
+            if (seen.add(changed)) {
+                this.cache.remove(changed);
+                Set<String> dependents = this.dependents.get(changed);
+                if (dependents != null) {
+                    queue.addAll(dependents);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets every cached value, used when the configuration is cleared
+     */
+    synchronized void clear() {
+        this.cache.clear();
+        this.dependents.clear();
+        this.dependencies.clear();
+    }
+
+    /**
+     * Expands every value of the configuration from scratch
+     * @throws IllegalStateException if a value refers back to itself
+     */
+    synchronized void rebuild() {
+        this.clear();
+        this.expand(this.configuration, this.configuration.options().pathSeparator());
+    }
+
+    private void expand(@NotNull MemorySection section, char separator) {
+        for (Map.Entry<String, Object> entry : section.map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof MemorySection) {
+                this.expand((MemorySection) value, separator);
+            } else if (value instanceof String) {
+                this.resolve(MemorySection.createPath(section, entry.getKey()), (String) value);
+            }
+        }
+    }
+
+    @NotNull
+    private String resolve(@NotNull String path, @NotNull String raw, @NotNull Set<String> resolving) {
+        Expansion cached = this.cache.get(path);
+        // compared by identity, a value that was replaced is a new instance
+        if (cached != null && cached.raw == raw) {
+            return cached.value;
+        } else if (!resolving.add(path)) {
+            throw new IllegalStateException("Circular reference " + String.join(" -> ", resolving) + " -> " + path);
+        }
+
+        Set<String> references = new LinkedHashSet<>();
+        StringBuilder builder = new StringBuilder(raw.length());
+        int start = 0;
+        int open;
+        while ((open = raw.indexOf("${", start)) != -1) {
+            if (open > 0 && raw.charAt(open - 1) == '$') {
+                builder.append(raw, start, open - 1).append("${");
+                start = open + 2;
+                continue;
+            }
+
+            int close = raw.indexOf('}', open + 2);
+            if (close == -1) {
+                break;
+            }
+
+            builder.append(raw, start, open);
+            String reference = raw.substring(open + 2, close);
+            String value;
+            if (reference.startsWith(ENVIRONMENT)) {
+                value = this.environment.apply(reference.substring(ENVIRONMENT.length()));
+            } else {
+                references.add(reference);
+                value = this.lookup(reference, resolving);
+            }
+
+            builder.append(value == null ? raw.substring(open, close + 1) : value);
+            start = close + 1;
+        }
+
+        builder.append(raw, start, raw.length());
+        resolving.remove(path);
+        this.link(path, references);
+        String value = builder.toString();
+        this.cache.put(path, new Expansion(raw, value));
+        return value;
+    }
+
+    @Nullable
+    private String lookup(@NotNull String path, @NotNull Set<String> resolving) {
+        Object value = this.configuration.get(path);
+        if (value instanceof String) {
+            String raw = (String) value;
+            return raw.contains("${") ? this.resolve(path, raw, resolving) : raw;
+        }
+
+        return value == null || value instanceof ConfigurationSection ? null : value.toString();
+    }
+
+    /**
+     * Replaces the recorded references of a path
+     */
+    private void link(@NotNull String path, @NotNull Set<String> references) {
+        Set<String> previous = this.dependencies.remove(path);
+        if (previous != null) {
+            for (String reference : previous) {
+                Set<String> dependents = this.dependents.get(reference);
+                if (dependents != null && dependents.remove(path) && dependents.isEmpty()) {
+                    this.dependents.remove(reference);
+                }
+            }
+        }
+
+        if (!references.isEmpty()) {
+            this.dependencies.put(path, references);
+            for (String reference : references) {
+                this.dependents.computeIfAbsent(reference, key -> new HashSet<>()).add(path);
+            }
+        }
+    }
+
+    private static final class Expansion {
+        private final String raw;
+        private final String value;
+
+        private Expansion(@NotNull String raw, @NotNull String value) {
+            this.raw = raw;
+            this.value = value;
+        }
+    }
+}
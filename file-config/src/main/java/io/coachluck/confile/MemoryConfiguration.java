@@ -21,15 +21,24 @@
 
 package io.coachluck.confile;
 
+import io.coachluck.confile.metrics.ConfigurationMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
 public class MemoryConfiguration extends MemorySection implements Configuration {
     protected Configuration defaults;
     protected MemoryConfigurationOptions options;
+    protected ConfigurationMetrics metrics;
+    ValueIndex valueIndex;
+    volatile Interpolator interpolator;
+    // counts the changes anywhere in the tree, cached list views are stamped with it
+    volatile long modifications;
+    private ConfigurationSchema schema;
+    private SchemaValues schemaValues;
 
     public MemoryConfiguration() { }
 
@@ -69,6 +78,267 @@ public class MemoryConfiguration extends MemorySection implements Configuration
         return null;
     }
 
+    /**
+     * Starts collecting metrics for this configuration and exposes them over JMX under the given name.
+     * Any metrics enabled before are unregistered first, so the same name can be enabled again.
+     * @param name the name to register the metrics MBean under
+     * @return the new metrics
+     * @throws IllegalStateException if another configuration already uses the name
+     */
+    @NotNull
+    public ConfigurationMetrics enableMetrics(@NotNull String name) {
+        this.disableMetrics();
+        ConfigurationMetrics metrics = new ConfigurationMetrics(name);
+        metrics.register();
+        this.metrics = metrics;
+        return metrics;
+    }
+
+    /**
+     * Stops collecting metrics and unregisters the MBean, does nothing if metrics are not enabled
+     */
+    public void disableMetrics() {
+        ConfigurationMetrics metrics = this.metrics;
+        if (metrics != null) {
+            this.metrics = null;
+            metrics.unregister();
+        }
+    }
+
+    /**
+     * Gets the metrics of this configuration
+     * @return the metrics, null if not enabled
+     */
+    @Nullable
+    public ConfigurationMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Starts indexing the scalar values of this configuration so the paths holding a value can be looked up
+     * without walking the whole tree. Does nothing if the index is already enabled.
+     * @return the index, built from the current values
+     */
+    @NotNull
+    public ValueIndex enableValueIndex() {
+        if (this.valueIndex == null) {
+            this.valueIndex = new ValueIndex(this);
+        }
+
+        return this.valueIndex;
+    }
+
+    /**
+     * Stops indexing the values and releases the index
+     */
+    public void disableValueIndex() {
+        this.valueIndex = null;
+    }
+
+    /**
+     * Gets the value index of this configuration
+     * @return the index, null if not enabled
+     */
+    @Nullable
+    public ValueIndex getValueIndex() {
+        return this.valueIndex;
+    }
+
+    /**
+     * Starts expanding {@code ${path}} and {@code ${env:VAR}} placeholders in the strings returned by getString.
+     * Does nothing if interpolation is already enabled.
+     * @return the interpolator
+     * @throws IllegalStateException if a current value refers back to itself
+     */
+    @NotNull
+    public Interpolator enableInterpolation() {
+        if (this.interpolator == null) {
+            Interpolator interpolator = new Interpolator(this);
+            interpolator.rebuild();
+            this.interpolator = interpolator;
+        }
+
+        return this.interpolator;
+    }
+
+    /**
+     * Stops expanding placeholders and releases the cached values
+     */
+    public void disableInterpolation() {
+        this.interpolator = null;
+    }
+
+    /**
+     * Gets the interpolator of this configuration
+     * @return the interpolator, null if not enabled
+     */
+    @Nullable
+    public Interpolator getInterpolator() {
+        return this.interpolator;
+    }
+
+    /**
+     * Validates this configuration against a schema now and on every following load, a load that does not
+     * match the schema then fails
+     * @param schema the schema
+     * @return the values of the current contents
+     * @throws InvalidConfigurationException if the current contents do not match, the schema is not set then
+     */
+    @NotNull
+    public SchemaValues setSchema(@NotNull ConfigurationSchema schema) throws InvalidConfigurationException {
+        SchemaValues values = schema.validate(this);
+        this.schema = schema;
+        this.schemaValues = values;
+        return values;
+    }
+
+    /**
+     * Stops validating loads
+     */
+    public void removeSchema() {
+        this.schema = null;
+        this.schemaValues = null;
+    }
+
+    /**
+     * Gets the values validated by the schema at the last load
+     * @return the values, null if no schema is set
+     */
+    @Nullable
+    public SchemaValues getSchemaValues() {
+        return this.schemaValues;
+    }
+
+    /**
+     * Estimates the heap retained by this configuration, broken down by section
+     * @return the footprint, with a node for every section
+     */
+    @NotNull
+    public MemoryFootprint footprint() {
+        return MemoryFootprint.of(this);
+    }
+
+    /**
+     * Estimates the heap retained by this configuration, broken down to the given depth only
+     * @param depth the levels of sections to break the footprint down to, 0 for the totals only
+     * @return the footprint
+     */
+    @NotNull
+    public MemoryFootprint footprint(int depth) {
+        return MemoryFootprint.of(this, depth);
+    }
+
+    /**
+     * Removes every value, loaders call it before reading new contents
+     */
+    protected void clear() {
+        this.map.clear();
+        this.listViews = null;
+        this.modifications++;
+        ValueIndex index = this.valueIndex;
+        if (index != null) {
+            index.clear();
+        }
+
+        Interpolator interpolator = this.interpolator;
+        if (interpolator != null) {
+            interpolator.clear();
+        }
+    }
+
+    /**
+     * Called by loaders once the new contents are in place, checks the heap budget and the placeholders for
+     * circular references and validates the contents against the schema
+     * @throws InvalidConfigurationException if the contents exceed the heap budget, a value refers back to itself
+     * or the contents do not match the schema
+     */
+    protected void loaded() throws InvalidConfigurationException {
+        long budget = this.options().heapBudget();
+        if (budget > 0) {
+            MemoryFootprint footprint = MemoryFootprint.of(this, 1);
+            if (footprint.getRetainedBytes() > budget) {
+                StringBuilder message = new StringBuilder("Configuration retains about ")
+                        .append(footprint.getRetainedBytes()).append(" bytes, over its heap budget of ").append(budget).append(" bytes");
+                for (MemoryFootprint largest : footprint.largest(1)) {
+                    message.append(", the largest section '").append(largest.getName()).append("' retains ")
+                            .append(largest.getRetainedBytes()).append(" bytes");
+                }
+
+                throw new InvalidConfigurationException(message.toString());
+            }
+        }
+
+        ConfigurationSchema schema = this.schema;
+        SchemaValues values = schema == null ? null : schema.validate(this);
+
+        Interpolator interpolator = this.interpolator;
+        if (interpolator != null) {
+            try {
+                interpolator.rebuild();
+            } catch (IllegalStateException e) {
+                interpolator.clear();
+                throw new InvalidConfigurationException(e.getMessage());
+            }
+        }
+
+        // only published once every check passed, a rejected document must not leave its values behind
+        if (schema != null) {
+            this.schemaValues = values;
+        }
+    }
+
+    /**
+     * Replaces the contents with the ones a loader fills in and checks them with {@link #loaded()}. The previous
+     * contents are restored when the loader or the checks fail, so a rejected document never stays loaded.
+     * @param loader fills in the new contents once the previous ones are cleared
+     * @return false if the loader gave up, the previous contents are then restored without checking anything
+     * @throws InvalidConfigurationException if the loader fails or the new contents are rejected
+     */
+    protected boolean replaceContents(@NotNull ContentLoader loader) throws InvalidConfigurationException {
+        Map<String, Object> previous = new LinkedHashMap<>(this.map);
+        this.clear();
+        try {
+            if (!loader.load()) {
+                this.restore(previous);
+                return false;
+            }
+
+            this.loaded();
+            return true;
+        } catch (InvalidConfigurationException | RuntimeException e) {
+            this.restore(previous);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces every value with a snapshot of the map taken before, for loaders that roll back a failed load
+     * @param values the snapshot
+     */
+    protected void restore(@NotNull Map<String, Object> values) {
+        this.map.clear();
+        this.listViews = null;
+        this.modifications++;
+        this.map.putAll(values);
+        ValueIndex index = this.valueIndex;
+        if (index != null) {
+            index.rebuild();
+        }
+
+        Interpolator interpolator = this.interpolator;
+        if (interpolator != null) {
+            interpolator.clear();
+        }
+    }
+
+    /**
+     * Called after a key directly inside a section of this configuration was set, removed or replaced by a new section.
+     * Does nothing by default, subclasses override it to keep track of changes.
+     * @param section the section holding the key
+     * @param key the key that changed
+     */
+    protected void onChange(@NotNull ConfigurationSection section, @NotNull String key) { }
+
     @NotNull
     public MemoryConfigurationOptions options() {
         if (this.options == null) {
@@ -77,4 +347,18 @@ public class MemoryConfiguration extends MemorySection implements Configuration
 
         return this.options;
     }
-}
\ No newline at end of file
+
+    /**
+     * Fills in the contents of a configuration, see {@link #replaceContents(ContentLoader)}
+     */
+    @FunctionalInterface
+    protected interface ContentLoader {
+
+        /**
+         * Fills in the new contents
+         * @return false to give up and keep the previous contents
+         * @throws InvalidConfigurationException if the contents are invalid
+         */
+        boolean load() throws InvalidConfigurationException;
+    }
+}
@@ -24,6 +24,9 @@ package io.coachluck.confile;
 import org.jetbrains.annotations.NotNull;
 
 public class MemoryConfigurationOptions extends ConfigurationOptions {
+    private int keyIndexThreshold = 0;
+    private long heapBudget = 0;
+
     protected MemoryConfigurationOptions(@NotNull MemoryConfiguration configuration) {
         super(configuration);
     }
@@ -44,4 +47,53 @@ public class MemoryConfigurationOptions extends ConfigurationOptions {
         super.pathSeparator(value);
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the number of keys from which a section keeps a sorted index of its keys
+     * @return the threshold, 0 if no section is indexed
+     */
+    public int keyIndexThreshold() {
+        return this.keyIndexThreshold;
+    }
+
+    /**
+     * Sets the number of keys from which a section keeps a sorted index of its keys. Queries use it to find
+     * the keys matching a segment like {@code player*} by prefix instead of testing every key.
+     * @param keys the threshold, 0 to never index
+     * @return the updated MemoryConfigurationOptions
+     */
+    @NotNull
+    public MemoryConfigurationOptions keyIndexThreshold(int keys) {
+        if (keys < 0) {
+            throw new IllegalArgumentException("Key index threshold cannot be negative, got " + keys);
+        }
+
+        this.keyIndexThreshold = keys;
+        return this;
+    }
+
+    /**
+     * Gets the heap a load may retain
+     * @return the budget in bytes, 0 if loads are not checked
+     */
+    public long heapBudget() {
+        return this.heapBudget;
+    }
+
+    /**
+     * Sets the heap a load may retain, estimated with a {@link MemoryFootprint} once the contents are in place.
+     * A load over the budget fails with the size of its largest top level section and the previous contents are
+     * restored, so the rejected document is not retained.
+     * @param bytes the budget in bytes, 0 to not check loads
+     * @return the updated MemoryConfigurationOptions
+     */
+    @NotNull
+    public MemoryConfigurationOptions heapBudget(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Heap budget cannot be negative, got " + bytes);
+        }
+
+        this.heapBudget = bytes;
+        return this;
+    }
+}
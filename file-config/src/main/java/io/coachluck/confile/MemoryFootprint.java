@@ -0,0 +1,333 @@
+/*
+ *   Project: Confile
+ *   File: MemoryFootprint.java
+ *   Last Modified: 10/19/26, 6:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An estimate of the heap retained by a section and everything below it, broken down by section. The estimate
+ * assumes a 64 bit JVM with compressed references and compact strings, and counts every value once per
+ * reference, so shared values are counted more than once. Serializable objects are counted as an object header
+ * only, their fields are not visited.
+ * <p>
+ * The footprint is computed in a single pass over the maps of the sections. Nodes hold the key of their section
+ * instead of its path, paths are only built when asked for.
+ * <pre>
+ * MemoryFootprint footprint = config.footprint();
+ * for (MemoryFootprint section : footprint.largest(5)) {
+ *     System.out.println(section.getPath() + ": " + section.getRetainedBytes() + " bytes");
+ * }
+ * </pre>
+ * @see MemoryConfiguration#footprint()
+ * @see MemoryConfigurationOptions#heapBudget(long)
+ */
+public final class MemoryFootprint {
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING = 24;
+    private static final int LINKED_HASH_MAP = 56;
+    private static final int LINKED_HASH_MAP_ENTRY = 40;
+    private static final int ARRAY_LIST = 24;
+    private static final int SECTION = align(HEADER + 7 * REFERENCE);
+
+    private final MemoryFootprint parent;
+    private final String name;
+    private final char separator;
+    private final List<MemoryFootprint> children = new ArrayList<>(0);
+    private long retainedBytes;
+    private int keys;
+    private int sections;
+    private int strings;
+    private int lists;
+    private int serializables;
+
+    private MemoryFootprint(@Nullable MemoryFootprint parent, @NotNull String name, char separator) {
+        this.parent = parent;
+        this.name = name;
+        this.separator = separator;
+    }
+
+    /**
+     * Estimates the footprint of a section with a node for every section below it
+     * @param section the section
+     * @return the footprint of the section
+     */
+    @NotNull
+    public static MemoryFootprint of(@NotNull ConfigurationSection section) {
+        return of(section, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the footprint of a section, sections deeper than the given depth are folded into their ancestor
+     * @param section the section
+     * @param depth the levels of sections to break the footprint down to, 0 for the totals only
+     * @return the footprint of the section
+     */
+    @NotNull
+    public static MemoryFootprint of(@NotNull ConfigurationSection section, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative, got " + depth);
+        }
+
+        Configuration root = section.getRoot();
+        char separator = root == null ? '.' : root.options().pathSeparator();
+        MemoryFootprint footprint = new MemoryFootprint(null, section.getCurrentPath(), separator);
+        footprint.section(section, depth);
+        return footprint;
+    }
+
+    /**
+     * Gets the name of the section
+     * @return the key of the section in its parent, the full path for the section the footprint was taken of
+     */
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Builds the path of the section
+     * @return the full path of the section, empty for the root
+     */
+    @NotNull
+    public String getPath() {
+        if (this.parent == null) {
+            return this.name;
+        }
+
+        String parent = this.parent.getPath();
+        return parent.isEmpty() ? this.name : parent + this.separator + this.name;
+    }
+
+    /**
+     * Gets the footprint of the parent section
+     * @return the parent, null for the section the footprint was taken of
+     */
+    @Nullable
+    public MemoryFootprint getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Gets the footprints of the sections directly below this one
+     * @return the children in the order of their keys, empty if the depth was reached
+     */
+    @NotNull
+    public List<MemoryFootprint> getChildren() {
+        return Collections.unmodifiableList(this.children);
+    }
+
+    /**
+     * Gets the estimated heap retained by the section, including its sections and values
+     * @return the size in bytes
+     */
+    public long getRetainedBytes() {
+        return this.retainedBytes;
+    }
+
+    /**
+     * Gets the number of keys below the section, at any depth, sections included
+     * @return the number of keys
+     */
+    public int getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Gets the number of sections below the section, at any depth
+     * @return the number of sections
+     */
+    public int getSections() {
+        return this.sections;
+    }
+
+    /**
+     * Gets the number of strings below the section, including the strings in lists and maps
+     * @return the number of strings, keys excluded
+     */
+    public int getStrings() {
+        return this.strings;
+    }
+
+    /**
+     * Gets the number of lists below the section, including nested lists
+     * @return the number of lists
+     */
+    public int getLists() {
+        return this.lists;
+    }
+
+    /**
+     * Gets the number of serializable objects below the section
+     * @return the number of objects
+     */
+    public int getSerializables() {
+        return this.serializables;
+    }
+
+    /**
+     * Finds the sections retaining the most heap, at any depth
+     * @param limit the maximum number of sections
+     * @return the sections, biggest first
+     */
+    @NotNull
+    public List<MemoryFootprint> largest(int limit) {
+        List<MemoryFootprint> all = new ArrayList<>();
+        this.collect(all);
+        all.sort(Comparator.comparingLong(MemoryFootprint::getRetainedBytes).reversed());
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    private void collect(@NotNull List<MemoryFootprint> output) {
+        for (MemoryFootprint child : this.children) {
+            output.add(child);
+            child.collect(output);
+        }
+    }
+
+    /**
+     * Adds a section to this node, in a new child node while depth remains
+     */
+    private void section(@NotNull ConfigurationSection section, int depth) {
+        this.retainedBytes += SECTION + string(section.getCurrentPath());
+        if (section instanceof MemorySection) {
+            this.map(((MemorySection) section).map, depth, true);
+        } else {
+            this.map(section.getValues(false), depth, true);
+        }
+    }
+
+    private void map(@NotNull Map<?, ?> map, int depth, boolean section) {
+        this.retainedBytes += LINKED_HASH_MAP + align(ARRAY_HEADER + REFERENCE * capacity(map.size()))
+                + (long) LINKED_HASH_MAP_ENTRY * map.size();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            if (section) {
+                this.keys++;
+                this.retainedBytes += key instanceof String ? string((String) key) : HEADER + REFERENCE;
+            } else {
+                this.value(key, depth);
+            }
+
+            if (value instanceof ConfigurationSection) {
+                this.sections++;
+                if (depth > 0) {
+                    MemoryFootprint child = new MemoryFootprint(this, String.valueOf(key), this.separator);
+                    child.section((ConfigurationSection) value, depth - 1);
+                    this.children.add(child);
+                    this.add(child);
+                } else {
+                    this.section((ConfigurationSection) value, 0);
+                }
+            } else {
+                this.value(value, depth);
+            }
+        }
+    }
+
+    private void value(@Nullable Object value, int depth) {
+        if (value == null) {
+            return;
+        } else if (value instanceof String) {
+            this.strings++;
+            this.retainedBytes += string((String) value);
+        } else if (value instanceof Long || value instanceof Double) {
+            this.retainedBytes += align(HEADER + 8);
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            this.retainedBytes += align(HEADER + 4);
+        } else if (value instanceof List) {
+            this.lists++;
+            Collection<?> list = (Collection<?>) value;
+            this.retainedBytes += ARRAY_LIST + align(ARRAY_HEADER + REFERENCE * list.size());
+            for (Object element : list) {
+                this.value(element, depth);
+            }
+        } else if (value instanceof Map) {
+            this.map((Map<?, ?>) value, depth, false);
+        } else if (value instanceof DeferredSerializable) {
+            this.serializables++;
+            this.retainedBytes += align(HEADER + 3 * REFERENCE);
+            this.map(((DeferredSerializable) value).getValues(), depth, false);
+        } else if (value instanceof ConfigurationSerializable) {
+            this.serializables++;
+            this.retainedBytes += align(HEADER);
+        } else {
+            this.retainedBytes += align(HEADER);
+        }
+    }
+
+    private void add(@NotNull MemoryFootprint child) {
+        this.retainedBytes += child.retainedBytes;
+        this.keys += child.keys;
+        this.sections += child.sections;
+        this.strings += child.strings;
+        this.lists += child.lists;
+        this.serializables += child.serializables;
+    }
+
+    /**
+     * The size of a string and its backing array, one byte per char if every char fits in Latin-1
+     */
+    private static long string(@NotNull String value) {
+        int bytes = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytes = value.length() * 2;
+                break;
+            }
+        }
+
+        return STRING + align(ARRAY_HEADER + bytes);
+    }
+
+    private static int capacity(int size) {
+        int capacity = 16;
+        while (capacity * 3 / 4 < size) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryFootprint{path='" + this.getPath() + "', retainedBytes=" + this.retainedBytes + ", keys=" + this.keys
+                + ", sections=" + this.sections + ", strings=" + this.strings + ", lists=" + this.lists
+                + ", serializables=" + this.serializables + '}';
+    }
+}
@@ -21,12 +21,15 @@
 
 package io.coachluck.confile;
 
+import io.coachluck.confile.metrics.ConfigurationMetrics;
 import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.DeferredSerializable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MemorySection implements ConfigurationSection {
     protected final Map<String, Object> map = new LinkedHashMap<>();
@@ -34,6 +37,9 @@ public class MemorySection implements ConfigurationSection {
     private final ConfigurationSection parent;
     private final String path;
     private final String fullPath;
+    private String[] keyIndex;
+    // typed views of the lists read through this section by relative path, stamped with the modifications of the root
+    volatile Map<String, ListViews> listViews;
 
     protected MemorySection() {
         if (!(this instanceof Configuration)) {
@@ -83,6 +89,22 @@ public class MemorySection implements ConfigurationSection {
         return result;
     }
 
+    /**
+     * Gets the values directly inside this section like {@link #getValues(boolean)} with deep false, as a read-only
+     * view instead of a copy when no defaults are merged in. Writers walking the whole tree use it so saving
+     * does not copy every section.
+     * @return the values of this section, keyed by their key in this section
+     */
+    @NotNull
+    public Map<String, Object> getValuesView() {
+        Configuration root = this.getRoot();
+        if (root != null && root.options().copyDefaults() && this.getDefaultSection() != null) {
+            return this.getValues(false);
+        }
+
+        return Collections.unmodifiableMap(this.entries());
+    }
+
     public boolean contains(@NotNull String path) {
         return this.contains(path, false);
     }
@@ -145,6 +167,11 @@ public class MemorySection implements ConfigurationSection {
         if (root == null) {
             throw new IllegalStateException("Cannot use section without a root");
         } else {
+            ConfigurationMetrics metrics = this.metrics();
+            if (metrics != null) {
+                metrics.recordSet();
+            }
+
             char separator = root.options().pathSeparator();
             int i1 = -1;
             ConfigurationSection section = this;
@@ -153,7 +180,14 @@ public class MemorySection implements ConfigurationSection {
             String key;
             while((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
                 key = path.substring(i2, i1);
-                ConfigurationSection subSection = section.getConfigurationSection(key);
+                ConfigurationSection subSection;
+                if (section instanceof MemorySection) {
+                    Object child = ((MemorySection) section).map.get(key);
+                    subSection = child instanceof ConfigurationSection ? (ConfigurationSection) child : null;
+                } else {
+                    subSection = section.getConfigurationSection(key);
+                }
+
                 if (subSection == null) {
                     if (value == null) {
                         return;
@@ -166,12 +200,15 @@ public class MemorySection implements ConfigurationSection {
             }
 
             key = path.substring(i2);
-            if (section == this) {
+            if (section instanceof MemorySection) {
+                MemorySection memorySection = (MemorySection) section;
                 if (value == null) {
-                    this.map.remove(key);
+                    memorySection.map.remove(key);
                 } else {
-                    this.map.put(key, value);
+                    memorySection.map.put(key, value);
                 }
+
+                memorySection.changed(key);
             } else {
                 section.set(key, value);
             }
@@ -180,11 +217,46 @@ public class MemorySection implements ConfigurationSection {
 
     @Nullable
     public Object get(@NotNull String path) {
-        return this.get(path, this.getDefault(path));
+        ConfigurationMetrics metrics = this.metrics();
+        if (metrics != null) {
+            metrics.recordGet();
+        }
+
+        Object result = this.find(path);
+        if (result != null) {
+            return result;
+        }
+
+        Object def = this.getDefault(path);
+        if (metrics != null) {
+            if (def != null) {
+                metrics.recordDefaultHit();
+            } else {
+                metrics.recordDefaultMiss();
+            }
+        }
+
+        return def;
     }
 
     @Nullable
     public Object get(@NotNull String path, @Nullable Object def) {
+        ConfigurationMetrics metrics = this.metrics();
+        if (metrics != null) {
+            metrics.recordGet();
+        }
+
+        Object result = this.find(path);
+        return result == null ? def : result;
+    }
+
+    /**
+     * Resolves the value at a path without consulting the defaults
+     * @param path the path relative to this section
+     * @return the value, null if there is none
+     */
+    @Nullable
+    protected Object find(@NotNull String path) {
         if (path.length() == 0) {
             return this;
         }
@@ -199,18 +271,24 @@ public class MemorySection implements ConfigurationSection {
 
             int i2;
             while((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
-                section = section.getConfigurationSection(path.substring(i2, i1));
+                String key = path.substring(i2, i1);
+                if (section instanceof MemorySection) {
+                    Object child = ((MemorySection) section).map.get(key);
+                    section = child instanceof ConfigurationSection ? (ConfigurationSection) child : null;
+                } else {
+                    section = section.getConfigurationSection(key);
+                }
+
                 if (section == null) {
-                    return def;
+                    return null;
                 }
             }
 
             String key = path.substring(i2);
-            if (section == this) {
-                Object result = this.map.get(key);
-                return result == null ? def : result;
+            if (section instanceof MemorySection) {
+                return ((MemorySection) section).map.get(key);
             } else {
-                return section.get(key, def);
+                return section.get(key, null);
             }
         }
     }
@@ -242,6 +320,7 @@ public class MemorySection implements ConfigurationSection {
         if (section == this) {
             ConfigurationSection result = new MemorySection(this, key);
             this.map.put(key, result);
+            this.changed(key);
             return result;
         } else {
             return section.createSection(key);
@@ -265,14 +344,14 @@ public class MemorySection implements ConfigurationSection {
 
     @Nullable
     public String getString(@NotNull String path) {
-        Object def = this.getDefault(path);
-        return this.getString(path, def != null ? def.toString() : null);
+        Object val = this.get(path);
+        return val instanceof String ? this.interpolate(path, (String) val) : val != null ? val.toString() : null;
     }
 
     @Nullable
     public String getString(@NotNull String path, @Nullable String def) {
         Object val = this.get(path, def);
-        return val != null ? val.toString() : def;
+        return val instanceof String ? this.interpolate(path, (String) val) : val != null ? val.toString() : def;
     }
 
     public boolean isString(@NotNull String path) {
@@ -297,84 +376,138 @@ public class MemorySection implements ConfigurationSection {
         return val instanceof List;
     }
 
+    /**
+     * Gets a mutable copy of the string list at a path
+     * @param path the path of the list
+     * @return a new ArrayList, empty if there is no list
+     */
     @NotNull
     public ArrayList<String> getStringArrayList(@NotNull String path) {
-        return (ArrayList<String>) getStringList(path);
+        return new ArrayList<>(this.getStringList(path));
     }
 
+    /**
+     * Gets the strings and primitives of the list at a path as strings. The view is built once and returned again
+     * until anything in the configuration is set, so it is unmodifiable. Concurrent readers may share it.
+     * @param path the path of the list
+     * @return an unmodifiable view, empty if there is no list
+     */
     @NotNull
     public List<String> getStringList(@NotNull String path) {
-        List<?> list = this.getList(path);
-        if (list == null) {
-            return new ArrayList<>(0);
-        }
-
-        List<String> result = new ArrayList<>();
-        Iterator<?> it = list.iterator();
-        while(true) {
-            Object object;
-            do {
-                if (!it.hasNext()) {
-                    return result;
+        ListViews views = this.listViews(path);
+        List<String> strings = views.strings;
+        if (strings == null) {
+            List<String> result = new ArrayList<>(views.source.size());
+            for (Object object : views.source) {
+                if (object instanceof String || this.isPrimitiveWrapper(object)) {
+                    result.add(String.valueOf(object));
                 }
+            }
 
-                object = it.next();
-            } while (!(object instanceof String) && !this.isPrimitiveWrapper(object));
-
-            result.add(String.valueOf(object));
+            views.strings = strings = Collections.unmodifiableList(result);
         }
+
+        return strings;
     }
 
+    /**
+     * Gets the characters of the list at a path, single character strings and numbers included
+     * @param path the path of the list
+     * @return an unmodifiable view, cached like {@link #getStringList(String)}
+     */
     @NotNull
     public List<Character> getCharacterList(@NotNull String path) {
-        List<?> list = this.getList(path);
-        if (list == null) {
-            return new ArrayList<>(0);
+        ListViews views = this.listViews(path);
+        List<Character> characters = views.characters;
+        if (characters == null) {
+            List<Character> result = new ArrayList<>(views.source.size());
+            for (Object object : views.source) {
+                if (object instanceof Character) {
+                    result.add((Character) object);
+                } else if (object instanceof String) {
+                    String str = (String) object;
+                    if (str.length() == 1) {
+                        result.add(str.charAt(0));
+                    }
+                } else if (object instanceof Number) {
+                    result.add((char) ((Number) object).intValue());
+                }
+            }
+
+            views.characters = characters = Collections.unmodifiableList(result);
         }
-        List<Character> result = new ArrayList<>();
 
-        for (Object object : list) {
-            if (object instanceof Character) {
-                result.add((Character) object);
-            } else if (object instanceof String) {
-                String str = (String) object;
-                if (str.length() == 1) {
-                    result.add(str.charAt(0));
+        return characters;
+    }
+
+    /**
+     * Gets the maps of the list at a path
+     * @param path the path of the list
+     * @return an unmodifiable view, cached like {@link #getStringList(String)}
+     */
+    @NotNull
+    public List<Map<?, ?>> getMapList(@NotNull String path) {
+        ListViews views = this.listViews(path);
+        List<Map<?, ?>> maps = views.maps;
+        if (maps == null) {
+            List<Map<?, ?>> result = new ArrayList<>();
+            for (Object object : views.source) {
+                if (object instanceof Map) {
+                    result.add((Map) object);
                 }
-            } else if (object instanceof Number) {
-                result.add((char) ((Number) object).intValue());
             }
+
+            views.maps = maps = Collections.unmodifiableList(result);
         }
 
-        return result;
+        return maps;
     }
 
+    /**
+     * Gets the cached views of the list at a path, they are rebuilt once anything in the configuration is set,
+     * so a list changed in place and set again gets new views. Lists changed in place and never set keep theirs.
+     */
     @NotNull
-    public List<Map<?, ?>> getMapList(@NotNull String path) {
+    private ListViews listViews(@NotNull String path) {
         List<?> list = this.getList(path);
-        List<Map<?, ?>> result = new ArrayList<>();
         if (list == null) {
-            return result;
+            return ListViews.EMPTY;
+        } else if (!(this.root instanceof MemoryConfiguration)) {
+            return new ListViews(list, 0L);
         }
 
-        for (Object object : list) {
-            if (object instanceof Map) {
-                result.add((Map) object);
-            }
+        long stamp = ((MemoryConfiguration) this.root).modifications;
+        Map<String, ListViews> cache = this.listViews;
+        if (cache == null) {
+            cache = this.listViews = new ConcurrentHashMap<>();
         }
 
-        return result;
+        ListViews views = cache.get(path);
+        if (views == null || views.source != list || views.stamp != stamp) {
+            views = new ListViews(list, stamp);
+            cache.put(path, views);
+        }
+
+        return views;
     }
 
     @Nullable
     public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz) {
         Object def = this.getDefault(path);
+        if (def instanceof DeferredSerializable) {
+            def = ((DeferredSerializable) def).deserialize();
+        }
+
         return this.getObject(path, clazz, clazz.isInstance(def) ? clazz.cast(def) : null);
     }
 
     @Nullable
     public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz, @Nullable T def) {
         Object val = this.get(path, def);
+        if (val instanceof DeferredSerializable) {
+            val = this.deserialize(path, (DeferredSerializable) val);
+        }
+
         return clazz.isInstance(val) ? clazz.cast(val) : def;
     }
 
@@ -414,6 +547,251 @@ public class MemorySection implements ConfigurationSection {
         return val instanceof ConfigurationSection;
     }
 
+    @NotNull
+    public Map<String, Object> query(@NotNull String pattern) {
+        Configuration root = this.getRoot();
+        if (root == null) {
+            throw new IllegalStateException("Cannot query section without a root");
+        }
+
+        char separator = root.options().pathSeparator();
+        Map<String, Object> result = new LinkedHashMap<>();
+        this.query(segments(pattern, separator), 0, "", separator, result);
+        return result;
+    }
+
+    /**
+     * Splits a path or a pattern into its keys
+     */
+    @NotNull
+    static String[] segments(@NotNull String path, char separator) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int end; (end = path.indexOf(separator, start)) != -1; start = end + 1) {
+            segments.add(path.substring(start, end));
+        }
+
+        segments.add(path.substring(start));
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Matches the segments from an index on against the children of this section
+     */
+    private void query(@NotNull String[] segments, int index, @NotNull String prefix, char separator,
+                       @NotNull Map<String, Object> result) {
+        String segment = segments[index];
+        boolean last = index == segments.length - 1;
+        if (segment.equals("**")) {
+            if (!last) {
+                this.query(segments, index + 1, prefix, separator, result);
+            }
+
+            for (Entry<String, Object> entry : this.entries().entrySet()) {
+                String path = prefix + entry.getKey();
+                if (last) {
+                    result.put(path, entry.getValue());
+                }
+
+                if (entry.getValue() instanceof MemorySection) {
+                    ((MemorySection) entry.getValue()).query(segments, index, path + separator, separator, result);
+                }
+            }
+
+            return;
+        }
+
+        int wildcard = indexOfWildcard(segment);
+        if (wildcard < 0) {
+            this.matched(segments, index, prefix, separator, result, segment, this.entries().get(segment));
+            return;
+        }
+
+        Map<String, Object> entries = this.entries();
+        for (String key : this.keysStartingWith(segment.substring(0, wildcard))) {
+            if (matches(segment, key)) {
+                this.matched(segments, index, prefix, separator, result, key, entries.get(key));
+            }
+        }
+    }
+
+    private void matched(@NotNull String[] segments, int index, @NotNull String prefix, char separator,
+                         @NotNull Map<String, Object> result, @NotNull String key, @Nullable Object value) {
+        if (value == null) {
+            return;
+        } else if (index == segments.length - 1) {
+            result.put(prefix + key, value);
+        } else if (value instanceof MemorySection) {
+            ((MemorySection) value).query(segments, index + 1, prefix + key + separator, separator, result);
+        }
+    }
+
+    /**
+     * Gets the keys starting with a prefix, through the sorted key index if the section is large enough to keep one
+     */
+    @NotNull
+    private Collection<String> keysStartingWith(@NotNull String prefix) {
+        Map<String, Object> entries = this.entries();
+        int threshold = this.root instanceof MemoryConfiguration
+                ? ((MemoryConfiguration) this.root).options().keyIndexThreshold() : 0;
+        if (prefix.isEmpty() || threshold <= 0 || entries.size() < threshold) {
+            return entries.keySet();
+        }
+
+        String[] index = this.keyIndex;
+        if (index == null || index.length != entries.size()) {
+            index = entries.keySet().toArray(new String[0]);
+            Arrays.sort(index);
+            this.keyIndex = index;
+        }
+
+        int from = Arrays.binarySearch(index, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        int to = from;
+        while (to < index.length && index[to].startsWith(prefix)) {
+            to++;
+        }
+
+        return Arrays.asList(index).subList(from, to);
+    }
+
+    static int indexOfWildcard(@NotNull String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Matches the keys of a path from an index on against the segments of a pattern, a {@code **} at the end
+     * matches at least one key like the query of a section does
+     */
+    static boolean matches(@NotNull String[] pattern, int p, @NotNull String[] path, int k) {
+        if (p == pattern.length) {
+            return k == path.length;
+        } else if (pattern[p].equals("**")) {
+            if (p == pattern.length - 1) {
+                return k < path.length;
+            }
+
+            return matches(pattern, p + 1, path, k) || (k < path.length && matches(pattern, p, path, k + 1));
+        }
+
+        return k < path.length && matches(pattern[p], path[k]) && matches(pattern, p + 1, path, k + 1);
+    }
+
+    /**
+     * Matches a key against a glob of {@code *} and {@code ?} wildcards
+     */
+    static boolean matches(@NotNull String glob, @NotNull String key) {
+        int g = 0;
+        int k = 0;
+        int star = -1;
+        int backtrack = 0;
+        while (k < key.length()) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == key.charAt(k))) {
+                g++;
+                k++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                star = g++;
+                backtrack = k;
+            } else if (star >= 0) {
+                g = star + 1;
+                k = ++backtrack;
+            } else {
+                return false;
+            }
+        }
+
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+
+        return g == glob.length();
+    }
+
+    /**
+     * Gets the values stored directly in this section, sections that are filled lazily override it to fill themselves
+     * @return the map of this section
+     */
+    @NotNull
+    protected Map<String, Object> entries() {
+        return this.map;
+    }
+
+    /**
+     * Notifies the root that a key directly inside this section changed
+     * @param key the key that was set, removed or replaced by a new section
+     */
+    protected void changed(@NotNull String key) {
+        String[] index = this.keyIndex;
+        if (index != null && this.map.containsKey(key) != Arrays.binarySearch(index, key) >= 0) {
+            this.keyIndex = null;
+        }
+
+        if (this.root instanceof MemoryConfiguration) {
+            MemoryConfiguration configuration = (MemoryConfiguration) this.root;
+            configuration.modifications++;
+            ValueIndex valueIndex = configuration.valueIndex;
+            if (valueIndex != null) {
+                valueIndex.changed(this, key);
+            }
+
+            Interpolator interpolator = configuration.interpolator;
+            if (interpolator != null) {
+                interpolator.changed(this, key);
+            }
+
+            configuration.onChange(this, key);
+        }
+    }
+
+    /**
+     * Expands the placeholders of a string if interpolation is enabled
+     * @param path the path of the string relative to this section
+     * @param value the raw string
+     * @return the expanded string
+     */
+    @NotNull
+    private String interpolate(@NotNull String path, @NotNull String value) {
+        Interpolator interpolator = this.root instanceof MemoryConfiguration ? ((MemoryConfiguration) this.root).interpolator : null;
+        return interpolator == null || value.indexOf('$') < 0 ? value : interpolator.resolve(createPath(this, path), value);
+    }
+
+    /**
+     * Deserializes a deferred object and caches it in place of the placeholder
+     * @param path the path of the placeholder relative to this section
+     * @param deferred the placeholder
+     * @return the object, null if deserializing failed
+     */
+    @Nullable
+    private Object deserialize(@NotNull String path, @NotNull DeferredSerializable deferred) {
+        Object value = deferred.deserialize();
+        Configuration root = this.getRoot();
+        if (value != null && root != null) {
+            int split = path.lastIndexOf(root.options().pathSeparator());
+            Object parent = split < 0 ? this : this.find(path.substring(0, split));
+            if (parent instanceof MemorySection) {
+                // the same value in its constructed form, not a change
+                ((MemorySection) parent).map.replace(split < 0 ? path : path.substring(split + 1), deferred, value);
+            }
+        }
+
+        return value;
+    }
+
+    @Nullable
+    private ConfigurationMetrics metrics() {
+        return this.root instanceof MemoryConfiguration ? ((MemoryConfiguration) this.root).metrics : null;
+    }
+
     protected boolean isPrimitiveWrapper(@Nullable Object input) {
         return input instanceof Integer || input instanceof Boolean || input instanceof Character || input instanceof Byte || input instanceof Short || input instanceof Double || input instanceof Long || input instanceof Float;
     }
@@ -524,4 +902,27 @@ public class MemorySection implements ConfigurationSection {
                 + "[path='" + this.getCurrentPath()
                 + "', root='" + (root == null ? null : root.getClass().getSimpleName()) + "']";
     }
+
+    /**
+     * The typed views of a list, each built on first use and published to concurrent readers as it is
+     */
+    static final class ListViews {
+        private static final ListViews EMPTY = new ListViews(Collections.emptyList(), -1L);
+
+        private final List<?> source;
+        private final long stamp;
+        private volatile List<String> strings;
+        private volatile List<Character> characters;
+        private volatile List<Map<?, ?>> maps;
+
+        private ListViews(@NotNull List<?> source, long stamp) {
+            this.source = source;
+            this.stamp = stamp;
+            if (source.isEmpty()) {
+                this.strings = Collections.emptyList();
+                this.characters = Collections.emptyList();
+                this.maps = Collections.emptyList();
+            }
+        }
+    }
 }
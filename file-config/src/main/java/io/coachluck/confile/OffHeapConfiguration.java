@@ -0,0 +1,439 @@
+/*
+ *   Project: Confile
+ *   File: OffHeapConfiguration.java
+ *   Last Modified: 10/19/26, 4:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A read-only configuration stored outside of the Java heap. The whole tree is laid out in a direct or
+ * memory mapped buffer: every section is a block of fixed size entries pointing at UTF-8 keys and values,
+ * with the entries also sorted by key so a lookup is a binary search. Values are decoded on every access
+ * and sections are small views holding an offset, so the heap used does not grow with the configuration.
+ * Reads are safe from any number of threads.
+ * <pre>
+ * OffHeapConfiguration catalog = OffHeapConfiguration.write(YamlConfiguration.loadConfiguration(file), path);
+ * // later, or in another process
+ * OffHeapConfiguration catalog = OffHeapConfiguration.map(path);
+ * </pre>
+ * Offsets are 32 bit, so a configuration is limited to 2 GiB.
+ */
+public class OffHeapConfiguration extends OffHeapSection implements Configuration {
+    private static final int MAGIC = 0x43464F48;
+    private static final int VERSION = 1;
+    // magic, version, path separator and root block offset
+    private static final int HEADER = 16;
+
+    final ByteBuffer buffer;
+    private Configuration defaults;
+    private ConfigurationOptions options;
+
+    private OffHeapConfiguration(@NotNull ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Buffer does not hold an off-heap configuration");
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported off-heap configuration version " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.offset = buffer.getInt(12);
+        this.options().pathSeparator((char) buffer.getInt(8));
+    }
+
+    /**
+     * Copies a section into a new direct buffer
+     * @param source the section to copy, usually a loaded configuration
+     * @return the read-only copy
+     * @throws IllegalArgumentException if a value has a type that cannot be stored or the copy exceeds 2 GiB
+     */
+    @NotNull
+    public static OffHeapConfiguration copyOf(@NotNull ConfigurationSection source) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(measure(source));
+        layout(source, buffer);
+        return new OffHeapConfiguration(buffer.asReadOnlyBuffer());
+    }
+
+    /**
+     * Writes a section to a file and maps it, the file can later be opened with {@link #map(Path)}
+     * @param source the section to write, usually a loaded configuration
+     * @param file the file to create or replace
+     * @return the read-only configuration backed by the file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a value has a type that cannot be stored or the file exceeds 2 GiB
+     */
+    @NotNull
+    public static OffHeapConfiguration write(@NotNull ConfigurationSection source, @NotNull Path file) throws IOException {
+        int size = measure(source);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            layout(source, buffer);
+            buffer.force();
+            return new OffHeapConfiguration(buffer.asReadOnlyBuffer());
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #write(ConfigurationSection, Path)}, nothing is read until it is accessed
+     * @param file the file to map
+     * @return the read-only configuration backed by the file
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not an off-heap configuration
+     */
+    @NotNull
+    public static OffHeapConfiguration map(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OffHeapConfiguration(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the number of bytes the configuration takes in its buffer
+     * @return the size of the buffer
+     */
+    public int size() {
+        return this.buffer.capacity();
+    }
+
+    public void addDefault(@NotNull String path, @Nullable Object value) {
+        if (this.defaults == null) {
+            this.defaults = new MemoryConfiguration();
+        }
+
+        this.defaults.set(path, value);
+    }
+
+    public void addDefaults(@NotNull Map<String, Object> defaults) {
+        for (Entry<String, Object> entry : defaults.entrySet()) {
+            this.addDefault(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void addDefaults(@NotNull Configuration defaults) {
+        this.addDefaults(defaults.getValues(true));
+    }
+
+    public void setDefaults(@NotNull Configuration defaults) {
+        this.defaults = defaults;
+    }
+
+    @Nullable
+    public Configuration getDefaults() {
+        return this.defaults;
+    }
+
+    @NotNull
+    public ConfigurationOptions options() {
+        if (this.options == null) {
+            this.options = new ConfigurationOptions(this);
+        }
+
+        return this.options;
+    }
+
+    @NotNull
+    String readString(int offset) {
+        byte[] bytes = new byte[this.buffer.getInt(offset)];
+        ByteBuffer buffer = this.buffer.duplicate();
+        ((Buffer) buffer).position(offset + 4);
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares a stored key with the UTF-8 bytes of another, unsigned byte by byte like the keys were sorted
+     */
+    int compareKey(int offset, @NotNull byte[] key) {
+        int length = this.buffer.getInt(offset);
+        for (int i = 0, end = Math.min(length, key.length); i < end; i++) {
+            int compare = (this.buffer.get(offset + 4 + i) & 0xFF) - (key[i] & 0xFF);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+
+        return length - key.length;
+    }
+
+    /**
+     * Decodes a value that is not a section of the tree, maps inside lists are decoded as maps
+     */
+    @Nullable
+    Object decode(int type, long value) {
+        switch (type) {
+            case NULL: return null;
+            case STRING: return this.readString((int) value);
+            case INTEGER: return (int) value;
+            case LONG: return value;
+            case DOUBLE: return Double.longBitsToDouble(value);
+            case FLOAT: return Float.intBitsToFloat((int) value);
+            case BOOLEAN: return value != 0;
+            case CHARACTER: return (char) value;
+            case SHORT: return (short) value;
+            case BYTE: return (byte) value;
+            case BIG_INTEGER: return new BigInteger(this.readString((int) value));
+            case LIST: return this.readList((int) value);
+            case MAP: case SECTION: return this.readMap((int) value);
+            default: throw new IllegalStateException("Corrupt off-heap configuration, unknown type " + type);
+        }
+    }
+
+    @NotNull
+    private List<Object> readList(int block) {
+        int count = this.buffer.getInt(block);
+        List<Object> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int element = block + 4 + i * ELEMENT;
+            list.add(this.decode(this.buffer.getInt(element), this.buffer.getLong(element + 4)));
+        }
+
+        return list;
+    }
+
+    @Nullable
+    private Object readMap(int block) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0, count = this.buffer.getInt(block); i < count; i++) {
+            int entry = block + 4 + i * ENTRY;
+            map.put(this.readString(this.buffer.getInt(entry)),
+                    this.decode(this.buffer.getInt(entry + 4), this.buffer.getLong(entry + 8)));
+        }
+
+        return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+                ? ConfigurationSerialization.deserializeObject(map) : map;
+    }
+
+    private static int measure(@NotNull ConfigurationSection source) {
+        Layout layout = new Layout(null);
+        layout.section(source.getValues(false));
+        long size = HEADER + layout.size;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Configuration needs " + size + " bytes, more than the 2 GiB supported");
+        }
+
+        return (int) size;
+    }
+
+    private static void layout(@NotNull ConfigurationSection source, @NotNull ByteBuffer buffer) {
+        Configuration root = source.getRoot();
+        char separator = root == null ? '.' : root.options().pathSeparator();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(separator).putInt(0);
+        buffer.putInt(12, new Layout(buffer).section(source.getValues(false)));
+    }
+
+    /**
+     * Writes the blocks of a tree children first, or only adds up their size when there is no buffer
+     */
+    private static final class Layout {
+        private final ByteBuffer buffer;
+        // keys repeat across sections, every distinct key is stored once
+        private final Map<String, Integer> keys = new HashMap<>();
+        private long size;
+        private int type;
+
+        private Layout(@Nullable ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int section(@NotNull Map<?, ?> values) {
+            int count = values.size();
+            int[] keys = new int[count];
+            int[] types = new int[count];
+            long[] encoded = new long[count];
+            byte[][] names = new byte[count][];
+            int i = 0;
+            for (Entry<?, ?> entry : values.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                names[i] = key.getBytes(StandardCharsets.UTF_8);
+                keys[i] = this.key(key, names[i]);
+                encoded[i] = this.encode(entry.getValue());
+                types[i] = this.type;
+                i++;
+            }
+
+            if (this.buffer == null) {
+                this.size += 4 + (long) count * (ENTRY + 4);
+                return 0;
+            }
+
+            Integer[] sorted = new Integer[count];
+            for (i = 0; i < count; i++) {
+                sorted[i] = i;
+            }
+
+            Arrays.sort(sorted, (a, b) -> compare(names[a], names[b]));
+            int offset = this.buffer.position();
+            this.buffer.putInt(count);
+            for (i = 0; i < count; i++) {
+                this.buffer.putInt(keys[i]).putInt(types[i]).putLong(encoded[i]);
+            }
+
+            for (Integer entry : sorted) {
+                this.buffer.putInt(entry);
+            }
+
+            return offset;
+        }
+
+        private int list(@NotNull List<?> values) {
+            int count = values.size();
+            int[] types = new int[count];
+            long[] encoded = new long[count];
+            for (int i = 0; i < count; i++) {
+                encoded[i] = this.encode(values.get(i));
+                types[i] = this.type;
+            }
+
+            if (this.buffer == null) {
+                this.size += 4 + (long) count * ELEMENT;
+                return 0;
+            }
+
+            int offset = this.buffer.position();
+            this.buffer.putInt(count);
+            for (int i = 0; i < count; i++) {
+                this.buffer.putInt(types[i]).putLong(encoded[i]);
+            }
+
+            return offset;
+        }
+
+        /**
+         * Writes the blocks a value needs and sets the type of the value
+         * @return the value itself for numbers, the offset of its block otherwise
+         */
+        private long encode(@Nullable Object value) {
+            long encoded;
+            int type;
+            if (value == null) {
+                encoded = 0L;
+                type = NULL;
+            } else if (value instanceof ConfigurationSection) {
+                encoded = this.section(((ConfigurationSection) value).getValues(false));
+                type = SECTION;
+            } else if (value instanceof String) {
+                encoded = this.string(((String) value).getBytes(StandardCharsets.UTF_8));
+                type = STRING;
+            } else if (value instanceof Integer) {
+                encoded = (Integer) value;
+                type = INTEGER;
+            } else if (value instanceof Long) {
+                encoded = (Long) value;
+                type = LONG;
+            } else if (value instanceof Double) {
+                encoded = Double.doubleToRawLongBits((Double) value);
+                type = DOUBLE;
+            } else if (value instanceof Float) {
+                encoded = Float.floatToRawIntBits((Float) value);
+                type = FLOAT;
+            } else if (value instanceof Boolean) {
+                encoded = (Boolean) value ? 1L : 0L;
+                type = BOOLEAN;
+            } else if (value instanceof Character) {
+                encoded = (Character) value;
+                type = CHARACTER;
+            } else if (value instanceof Short) {
+                encoded = (Short) value;
+                type = SHORT;
+            } else if (value instanceof Byte) {
+                encoded = (Byte) value;
+                type = BYTE;
+            } else if (value instanceof BigInteger) {
+                encoded = this.string(value.toString().getBytes(StandardCharsets.UTF_8));
+                type = BIG_INTEGER;
+            } else if (value instanceof List) {
+                encoded = this.list((List<?>) value);
+                type = LIST;
+            } else if (value instanceof Map) {
+                encoded = this.section((Map<?, ?>) value);
+                type = MAP;
+            } else if (value instanceof DeferredSerializable) {
+                DeferredSerializable deferred = (DeferredSerializable) value;
+                return this.encode(deferred.isDeserialized() ? deferred.deserialize() : deferred.getValues());
+            } else if (value instanceof ConfigurationSerializable) {
+                Map<String, Object> serialized = new LinkedHashMap<>();
+                serialized.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                        ConfigurationSerialization.getAlias(((ConfigurationSerializable) value).getClass()));
+                serialized.putAll(((ConfigurationSerializable) value).serialize());
+                encoded = this.section(serialized);
+                type = MAP;
+            } else {
+                throw new IllegalArgumentException("Cannot store value of type " + value.getClass().getName() + " off-heap");
+            }
+
+            this.type = type;
+            return encoded;
+        }
+
+        private int key(@NotNull String key, @NotNull byte[] bytes) {
+            Integer offset = this.keys.get(key);
+            if (offset == null) {
+                offset = this.string(bytes);
+                this.keys.put(key, offset);
+            }
+
+            return offset;
+        }
+
+        private int string(@NotNull byte[] bytes) {
+            if (this.buffer == null) {
+                this.size += 4 + bytes.length;
+                return 0;
+            }
+
+            int offset = this.buffer.position();
+            this.buffer.putInt(bytes.length).put(bytes);
+            return offset;
+        }
+
+        private static int compare(@NotNull byte[] a, @NotNull byte[] b) {
+            for (int i = 0, end = Math.min(a.length, b.length); i < end; i++) {
+                int compare = (a[i] & 0xFF) - (b[i] & 0xFF);
+                if (compare != 0) {
+                    return compare;
+                }
+            }
+
+            return a.length - b.length;
+        }
+    }
+}
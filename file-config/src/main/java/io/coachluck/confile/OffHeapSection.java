@@ -0,0 +1,462 @@
+/*
+ *   Project: Confile
+ *   File: OffHeapSection.java
+ *   Last Modified: 10/19/26, 4:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only view of a section stored in the buffer of an {@link OffHeapConfiguration}.
+ * A view only holds the offset of its block, keys and values are decoded from the buffer on every access.
+ */
+public class OffHeapSection implements ConfigurationSection {
+    static final int NULL = 0;
+    static final int STRING = 1;
+    static final int INTEGER = 2;
+    static final int LONG = 3;
+    static final int DOUBLE = 4;
+    static final int FLOAT = 5;
+    static final int BOOLEAN = 6;
+    static final int CHARACTER = 7;
+    static final int SHORT = 8;
+    static final int BYTE = 9;
+    static final int BIG_INTEGER = 10;
+    static final int SECTION = 11;
+    static final int LIST = 12;
+    static final int MAP = 13;
+
+    // a section block is the entry count, the entries in insertion order and the entry numbers sorted by key
+    static final int ENTRY = 16;
+    // a list block is the element count followed by the elements
+    static final int ELEMENT = 12;
+
+    private final OffHeapConfiguration root;
+    private final OffHeapSection parent;
+    private final String name;
+    int offset;
+
+    /**
+     * Creates the root section, the offset is set once the buffer is known
+     */
+    OffHeapSection() {
+        if (!(this instanceof OffHeapConfiguration)) {
+            throw new IllegalStateException("Cannot construct a root OffHeapSection when not an OffHeapConfiguration");
+        }
+
+        this.root = (OffHeapConfiguration) this;
+        this.parent = null;
+        this.name = "";
+    }
+
+    private OffHeapSection(@NotNull OffHeapSection parent, @NotNull String name, int offset) {
+        this.root = parent.root;
+        this.parent = parent;
+        this.name = name;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public Set<String> getKeys(boolean deep) {
+        Set<String> result = new LinkedHashSet<>();
+        if (this.root.options().copyDefaults()) {
+            ConfigurationSection defaults = this.getDefaultSection();
+            if (defaults != null) {
+                result.addAll(defaults.getKeys(deep));
+            }
+        }
+
+        this.collect("", deep, result, null);
+        return result;
+    }
+
+    @NotNull
+    public Map<String, Object> getValues(boolean deep) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (this.root.options().copyDefaults()) {
+            ConfigurationSection defaults = this.getDefaultSection();
+            if (defaults != null) {
+                result.putAll(defaults.getValues(deep));
+            }
+        }
+
+        this.collect("", deep, null, result);
+        return result;
+    }
+
+    /**
+     * Adds the keys or values of this section, prefixed with its path relative to the section they are collected for
+     */
+    private void collect(@NotNull String prefix, boolean deep, @Nullable Set<String> keys, @Nullable Map<String, Object> values) {
+        ByteBuffer buffer = this.root.buffer;
+        for (int i = 0, count = buffer.getInt(this.offset); i < count; i++) {
+            int entry = this.offset + 4 + i * ENTRY;
+            String key = this.root.readString(buffer.getInt(entry));
+            String path = prefix + key;
+            boolean section = buffer.getInt(entry + 4) == SECTION;
+            Object value = values != null || (deep && section) ? this.decode(entry, key) : null;
+            if (keys != null) {
+                keys.add(path);
+            } else {
+                values.remove(path);
+                values.put(path, value);
+            }
+
+            if (deep && section) {
+                ((OffHeapSection) value).collect(path + this.root.options().pathSeparator(), true, keys, values);
+            }
+        }
+    }
+
+    public boolean contains(@NotNull String path) {
+        return this.contains(path, false);
+    }
+
+    public boolean contains(@NotNull String path, boolean ignoreDefault) {
+        return (ignoreDefault ? this.get(path, null) : this.get(path)) != null;
+    }
+
+    public boolean isSet(@NotNull String path) {
+        return this.root.options().copyDefaults() ? this.contains(path) : this.get(path, null) != null;
+    }
+
+    @NotNull
+    public String getCurrentPath() {
+        return MemorySection.createPath(this, null);
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @NotNull
+    public Configuration getRoot() {
+        return this.root;
+    }
+
+    @Nullable
+    public ConfigurationSection getParent() {
+        return this.parent;
+    }
+
+    @Nullable
+    public Object get(@NotNull String path) {
+        return this.get(path, this.getDefault(path));
+    }
+
+    @Nullable
+    public Object get(@NotNull String path, @Nullable Object def) {
+        Object result = this.find(path);
+        return result == null ? def : result;
+    }
+
+    /**
+     * Resolves the value at a path without consulting the defaults
+     */
+    @Nullable
+    private Object find(@NotNull String path) {
+        if (path.isEmpty()) {
+            return this;
+        }
+
+        ByteBuffer buffer = this.root.buffer;
+        char separator = this.root.options().pathSeparator();
+        OffHeapSection section = this;
+        int start = 0;
+        for (int end; (end = path.indexOf(separator, start)) != -1; start = end + 1) {
+            String key = path.substring(start, end);
+            int entry = section.lookup(key);
+            if (entry < 0 || buffer.getInt(entry + 4) != SECTION) {
+                return null;
+            }
+
+            section = new OffHeapSection(section, key, (int) buffer.getLong(entry + 8));
+        }
+
+        int entry = section.lookup(path.substring(start));
+        return entry < 0 ? null : section.decode(entry, path.substring(start));
+    }
+
+    /**
+     * Finds the entry of a key by a binary search over the sorted entry numbers
+     * @return the offset of the entry, -1 if the key is not in this section
+     */
+    private int lookup(@NotNull String key) {
+        ByteBuffer buffer = this.root.buffer;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int count = buffer.getInt(this.offset);
+        int sorted = this.offset + 4 + count * ENTRY;
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = this.offset + 4 + buffer.getInt(sorted + middle * 4) * ENTRY;
+            int compare = this.root.compareKey(buffer.getInt(entry), bytes);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return entry;
+            }
+        }
+
+        return -1;
+    }
+
+    @Nullable
+    private Object decode(int entry, @NotNull String key) {
+        ByteBuffer buffer = this.root.buffer;
+        int type = buffer.getInt(entry + 4);
+        long value = buffer.getLong(entry + 8);
+        return type == SECTION ? new OffHeapSection(this, key, (int) value) : this.root.decode(type, value);
+    }
+
+    /**
+     * Always throws, an OffHeapConfiguration is read-only
+     * @throws UnsupportedOperationException always
+     */
+    public void set(@NotNull String path, @Nullable Object value) {
+        throw new UnsupportedOperationException("OffHeapConfiguration is read-only");
+    }
+
+    /**
+     * Always throws, an OffHeapConfiguration is read-only
+     * @throws UnsupportedOperationException always
+     */
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path) {
+        throw new UnsupportedOperationException("OffHeapConfiguration is read-only");
+    }
+
+    /**
+     * Always throws, an OffHeapConfiguration is read-only
+     * @throws UnsupportedOperationException always
+     */
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+        throw new UnsupportedOperationException("OffHeapConfiguration is read-only");
+    }
+
+    @Nullable
+    public String getString(@NotNull String path) {
+        Object def = this.getDefault(path);
+        return this.getString(path, def != null ? def.toString() : null);
+    }
+
+    @Nullable
+    public String getString(@NotNull String path, @Nullable String def) {
+        Object val = this.get(path, def);
+        return val != null ? val.toString() : def;
+    }
+
+    @Nullable
+    public List<?> getList(@NotNull String path) {
+        Object def = this.getDefault(path);
+        return this.getList(path, def instanceof List ? (List<?>) def : null);
+    }
+
+    @Nullable
+    public List<?> getList(@NotNull String path, @Nullable List<?> def) {
+        Object val = this.get(path, def);
+        return val instanceof List ? (List<?>) val : def;
+    }
+
+    public boolean isList(@NotNull String path) {
+        return this.get(path) instanceof List;
+    }
+
+    @NotNull
+    public List<String> getStringList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<String> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof String || object instanceof Number || object instanceof Boolean
+                        || object instanceof Character) {
+                    result.add(String.valueOf(object));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @NotNull
+    public List<Character> getCharacterList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<Character> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof Character) {
+                    result.add((Character) object);
+                } else if (object instanceof String && ((String) object).length() == 1) {
+                    result.add(((String) object).charAt(0));
+                } else if (object instanceof Number) {
+                    result.add((char) ((Number) object).intValue());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @NotNull
+    public List<Map<?, ?>> getMapList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<Map<?, ?>> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof Map) {
+                    result.add((Map<?, ?>) object);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Nullable
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz) {
+        Object def = this.getDefault(path);
+        return this.getObject(path, clazz, clazz.isInstance(def) ? clazz.cast(def) : null);
+    }
+
+    @Nullable
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz, @Nullable T def) {
+        Object val = this.get(path, def);
+        return clazz.isInstance(val) ? clazz.cast(val) : def;
+    }
+
+    @Nullable
+    public <T extends ConfigurationSerializable> T getSerializable(@NotNull String path, @NotNull Class<T> clazz) {
+        return this.getObject(path, clazz);
+    }
+
+    @Nullable
+    public <T extends ConfigurationSerializable> T getSerializable(@NotNull String path, @NotNull Class<T> clazz,
+                                                                   @Nullable T def) {
+        return this.getObject(path, clazz, def);
+    }
+
+    @Nullable
+    public ConfigurationSection getConfigurationSection(@NotNull String path) {
+        Object val = this.get(path);
+        return val instanceof ConfigurationSection ? (ConfigurationSection) val : null;
+    }
+
+    public boolean isConfigurationSection(@NotNull String path) {
+        return this.get(path) instanceof ConfigurationSection;
+    }
+
+    @Nullable
+    public ConfigurationSection getDefaultSection() {
+        Configuration defaults = this.root.getDefaults();
+        return defaults != null && defaults.isConfigurationSection(this.getCurrentPath())
+                ? defaults.getConfigurationSection(this.getCurrentPath()) : null;
+    }
+
+    public void addDefault(@NotNull String path, @Nullable Object value) {
+        this.root.addDefault(MemorySection.createPath(this, path), value);
+    }
+
+    @NotNull
+    public Map<String, Object> query(@NotNull String pattern) {
+        char separator = this.root.options().pathSeparator();
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int end; (end = pattern.indexOf(separator, start)) != -1; start = end + 1) {
+            segments.add(pattern.substring(start, end));
+        }
+
+        segments.add(pattern.substring(start));
+        Map<String, Object> result = new LinkedHashMap<>();
+        this.query(segments.toArray(new String[0]), 0, "", separator, result);
+        return result;
+    }
+
+    private void query(@NotNull String[] segments, int index, @NotNull String prefix, char separator,
+                       @NotNull Map<String, Object> result) {
+        ByteBuffer buffer = this.root.buffer;
+        String segment = segments[index];
+        boolean last = index == segments.length - 1;
+        boolean any = segment.equals("**");
+        if (any && !last) {
+            this.query(segments, index + 1, prefix, separator, result);
+        } else if (!any && MemorySection.indexOfWildcard(segment) < 0) {
+            int entry = this.lookup(segment);
+            if (entry >= 0) {
+                this.matched(segments, index, prefix, separator, result, entry, segment);
+            }
+
+            return;
+        }
+
+        for (int i = 0, count = buffer.getInt(this.offset); i < count; i++) {
+            int entry = this.offset + 4 + i * ENTRY;
+            String key = this.root.readString(buffer.getInt(entry));
+            if (any) {
+                if (last) {
+                    result.put(prefix + key, this.decode(entry, key));
+                }
+
+                if (buffer.getInt(entry + 4) == SECTION) {
+                    new OffHeapSection(this, key, (int) buffer.getLong(entry + 8))
+                            .query(segments, index, prefix + key + separator, separator, result);
+                }
+            } else if (MemorySection.matches(segment, key)) {
+                this.matched(segments, index, prefix, separator, result, entry, key);
+            }
+        }
+    }
+
+    private void matched(@NotNull String[] segments, int index, @NotNull String prefix, char separator,
+                         @NotNull Map<String, Object> result, int entry, @NotNull String key) {
+        ByteBuffer buffer = this.root.buffer;
+        if (index == segments.length - 1) {
+            result.put(prefix + key, this.decode(entry, key));
+        } else if (buffer.getInt(entry + 4) == SECTION) {
+            new OffHeapSection(this, key, (int) buffer.getLong(entry + 8))
+                    .query(segments, index + 1, prefix + key + separator, separator, result);
+        }
+    }
+
+    @Nullable
+    private Object getDefault(@NotNull String path) {
+        Configuration defaults = this.root.getDefaults();
+        return defaults == null ? null : defaults.get(MemorySection.createPath(this, path));
+    }
+
+    public String toString() {
+        return this.getClass().getSimpleName() + "[path='" + this.getCurrentPath() + "', offset=" + this.offset + "]";
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ *   Project: Confile
+ *   File: PersistentConfiguration.java
+ *   Last Modified: 10/19/26, 7:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A configuration stored as a persistent tree of hash array mapped tries. Every change creates a new version of
+ * the tree that shares all sections but the ones on the way to the changed path, so taking a snapshot, forking
+ * or rolling back is a single reference copy however large the configuration is.
+ * <pre>
+ * PersistentConfiguration config = PersistentConfiguration.copyOf(YamlConfiguration.loadConfiguration(file));
+ * PersistentConfiguration before = config.snapshot();
+ * config.set("limits.requests", 500);
+ * config.rollback(before);
+ * </pre>
+ * Reads never lock and always see a complete version, changes are serialized. Lists are copied into unmodifiable
+ * lists when set so versions cannot change each other, the elements themselves are shared.
+ */
+public class PersistentConfiguration extends PersistentSection implements Configuration {
+    volatile PersistentMap tree;
+    private final boolean readOnly;
+    private volatile long version;
+    private Configuration defaults;
+    private ConfigurationOptions options;
+
+    /**
+     * Creates an empty configuration
+     */
+    public PersistentConfiguration() {
+        this(PersistentMap.EMPTY, false, 0L);
+    }
+
+    private PersistentConfiguration(@NotNull PersistentMap tree, boolean readOnly, long version) {
+        this.tree = tree;
+        this.readOnly = readOnly;
+        this.version = version;
+    }
+
+    /**
+     * Copies a section into a new configuration
+     * @param source the section to copy, usually a loaded configuration
+     * @return the copy
+     */
+    @NotNull
+    public static PersistentConfiguration copyOf(@NotNull ConfigurationSection source) {
+        PersistentConfiguration config = new PersistentConfiguration();
+        Configuration root = source.getRoot();
+        if (root != null) {
+            config.options().pathSeparator(root.options().pathSeparator());
+        }
+
+        config.tree = section(source.getValues(false));
+        return config;
+    }
+
+    /**
+     * Takes a read-only snapshot of the current version, later changes to this configuration do not show in it
+     * @return the snapshot, sharing the whole tree with this configuration
+     */
+    @NotNull
+    public PersistentConfiguration snapshot() {
+        return this.copy(true);
+    }
+
+    /**
+     * Forks the current version into an independent configuration, changes to either do not show in the other
+     * @return the fork, sharing the whole tree with this configuration until either changes
+     */
+    @NotNull
+    public PersistentConfiguration fork() {
+        return this.copy(false);
+    }
+
+    /**
+     * Makes the version of a snapshot or fork the current version of this configuration
+     * @param version the configuration to roll back to, usually a snapshot taken before
+     * @throws UnsupportedOperationException if this configuration is a snapshot
+     */
+    public void rollback(@NotNull PersistentConfiguration version) {
+        synchronized (this) {
+            this.checkWritable();
+            this.tree = version.tree;
+            this.version++;
+        }
+    }
+
+    /**
+     * Gets the number of changes made to this configuration, including the ones made before it was forked
+     * @return the version number
+     */
+    public long version() {
+        return this.version;
+    }
+
+    /**
+     * Checks whether this configuration is a snapshot
+     * @return true if changes throw UnsupportedOperationException
+     */
+    public boolean isReadOnly() {
+        return this.readOnly;
+    }
+
+    public void addDefault(@NotNull String path, @Nullable Object value) {
+        if (this.defaults == null) {
+            this.defaults = new MemoryConfiguration();
+        }
+
+        this.defaults.set(path, value);
+    }
+
+    public void addDefaults(@NotNull Map<String, Object> defaults) {
+        for (Entry<String, Object> entry : defaults.entrySet()) {
+            this.addDefault(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void addDefaults(@NotNull Configuration defaults) {
+        this.addDefaults(defaults.getValues(true));
+    }
+
+    public void setDefaults(@NotNull Configuration defaults) {
+        this.defaults = defaults;
+    }
+
+    @Nullable
+    public Configuration getDefaults() {
+        return this.defaults;
+    }
+
+    @NotNull
+    public ConfigurationOptions options() {
+        if (this.options == null) {
+            this.options = new ConfigurationOptions(this);
+        }
+
+        return this.options;
+    }
+
+    @NotNull
+    private PersistentConfiguration copy(boolean readOnly) {
+        PersistentConfiguration copy = new PersistentConfiguration(this.tree, readOnly, this.version);
+        copy.defaults = this.defaults;
+        copy.options().pathSeparator(this.options().pathSeparator()).copyDefaults(this.options().copyDefaults());
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("Cannot change a snapshot of a PersistentConfiguration");
+        }
+    }
+
+    /**
+     * Replaces the value at a path with a new version of the tree
+     * @param keys the keys from the root to the value
+     * @param value the frozen value, null to remove it
+     */
+    void update(@NotNull String[] keys, @Nullable Object value) {
+        synchronized (this) {
+            this.checkWritable();
+            PersistentMap tree = update(this.tree, keys, 0, value);
+            if (tree != this.tree) {
+                this.tree = tree;
+                this.version++;
+            }
+        }
+    }
+
+    /**
+     * Copies the sections on the way to a key, missing sections are created and values in the way replaced
+     */
+    @NotNull
+    private static PersistentMap update(@NotNull PersistentMap map, @NotNull String[] keys, int index, @Nullable Object value) {
+        String key = keys[index];
+        if (index == keys.length - 1) {
+            return value == null ? map.remove(key) : map.put(key, value);
+        }
+
+        Object child = map.get(key);
+        if (!(child instanceof PersistentMap)) {
+            if (value == null) {
+                return map;
+            }
+
+            child = PersistentMap.EMPTY;
+        }
+
+        return map.put(key, update((PersistentMap) child, keys, index + 1, value));
+    }
+
+    /**
+     * Converts a value into the form stored in the tree
+     */
+    @NotNull
+    static Object freeze(@NotNull Object value) {
+        if (value instanceof ConfigurationSection) {
+            return section(((ConfigurationSection) value).getValues(false));
+        } else if (value instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        } else if (value instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+        }
+
+        return value;
+    }
+
+    /**
+     * Builds a section from a map, nested maps and sections become sections too
+     */
+    @NotNull
+    static PersistentMap section(@NotNull Map<?, ?> values) {
+        PersistentMap map = PersistentMap.EMPTY;
+        for (Entry<?, ?> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                map = map.put(entry.getKey().toString(), section((Map<?, ?>) value));
+            } else if (value != null) {
+                map = map.put(entry.getKey().toString(), freeze(value));
+            }
+        }
+
+        return map;
+    }
+}
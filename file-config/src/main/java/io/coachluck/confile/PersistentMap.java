@@ -0,0 +1,321 @@
+/*
+ *   Project: Confile
+ *   File: PersistentMap.java
+ *   Last Modified: 10/19/26, 7:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable hash array mapped trie from keys to values, the storage of a {@link PersistentSection}.
+ * Every put or remove copies only the nodes on the way to the key, so old and new versions share the rest.
+ * Keys remember when they were first added, iteration returns them in that order like a LinkedHashMap.
+ */
+final class PersistentMap {
+    static final PersistentMap EMPTY = new PersistentMap(BitmapNode.EMPTY, 0, 0L);
+
+    private final BitmapNode root;
+    private final int size;
+    // the order given to the next new key
+    private final long next;
+
+    private PersistentMap(@NotNull BitmapNode root, int size, long next) {
+        this.root = root;
+        this.size = size;
+        this.next = next;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    @Nullable
+    Object get(@NotNull String key) {
+        Leaf leaf = this.root.find(key, hash(key), 0);
+        return leaf == null ? null : leaf.value;
+    }
+
+    /**
+     * Maps a key to a value, a key that is already mapped keeps its position
+     * @return the new map, or this map if the key already maps to the same value
+     */
+    @NotNull
+    PersistentMap put(@NotNull String key, @NotNull Object value) {
+        int hash = hash(key);
+        Leaf existing = this.root.find(key, hash, 0);
+        if (existing != null && existing.value == value) {
+            return this;
+        }
+
+        Leaf leaf = new Leaf(key, hash, value, existing == null ? this.next : existing.order);
+        return existing == null
+                ? new PersistentMap(this.root.put(leaf, 0), this.size + 1, this.next + 1)
+                : new PersistentMap(this.root.put(leaf, 0), this.size, this.next);
+    }
+
+    /**
+     * Removes a key
+     * @return the new map, or this map if the key is not mapped
+     */
+    @NotNull
+    PersistentMap remove(@NotNull String key) {
+        int hash = hash(key);
+        if (this.root.find(key, hash, 0) == null) {
+            return this;
+        }
+
+        BitmapNode root = this.root.remove(key, hash, 0);
+        return root == null ? EMPTY : new PersistentMap(root, this.size - 1, this.next);
+    }
+
+    /**
+     * Gets the entries in the order their keys were first added
+     */
+    @NotNull
+    List<Leaf> entries() {
+        List<Leaf> result = new ArrayList<>(this.size);
+        this.root.collect(result);
+        result.sort(Comparator.comparingLong(leaf -> leaf.order));
+        return result;
+    }
+
+    private static int hash(@NotNull String key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A key and its value
+     */
+    static final class Leaf {
+        final String key;
+        final Object value;
+        private final int hash;
+        private final long order;
+
+        private Leaf(@NotNull String key, int hash, @NotNull Object value, long order) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.order = order;
+        }
+
+        private boolean matches(@NotNull String key, int hash) {
+            return this.hash == hash && this.key.equals(key);
+        }
+    }
+
+    private abstract static class Node {
+        @Nullable
+        abstract Leaf find(@NotNull String key, int hash, int shift);
+
+        @NotNull
+        abstract Node put(@NotNull Leaf leaf, int shift);
+
+        /**
+         * @return the node without the key, this node if it does not hold the key, null if the node is now empty
+         */
+        @Nullable
+        abstract Node remove(@NotNull String key, int hash, int shift);
+
+        abstract void collect(@NotNull List<Leaf> leaves);
+    }
+
+    /**
+     * Up to 32 children, leaves or nodes, selected by the 5 bits of the hash at the depth of the node
+     */
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] children;
+
+        private BitmapNode(int bitmap, @NotNull Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        @Nullable
+        Leaf find(@NotNull String key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((this.bitmap & bit) == 0) {
+                return null;
+            }
+
+            Object child = this.children[Integer.bitCount(this.bitmap & (bit - 1))];
+            if (child instanceof Leaf) {
+                return ((Leaf) child).matches(key, hash) ? (Leaf) child : null;
+            }
+
+            return ((Node) child).find(key, hash, shift + 5);
+        }
+
+        @NotNull
+        BitmapNode put(@NotNull Leaf leaf, int shift) {
+            int bit = 1 << ((leaf.hash >>> shift) & 31);
+            int index = Integer.bitCount(this.bitmap & (bit - 1));
+            if ((this.bitmap & bit) == 0) {
+                Object[] children = new Object[this.children.length + 1];
+                System.arraycopy(this.children, 0, children, 0, index);
+                children[index] = leaf;
+                System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+                return new BitmapNode(this.bitmap | bit, children);
+            }
+
+            Object child = this.children[index];
+            Object replacement;
+            if (child instanceof Leaf) {
+                Leaf existing = (Leaf) child;
+                if (existing.matches(leaf.key, leaf.hash)) {
+                    replacement = leaf;
+                } else if (existing.hash == leaf.hash) {
+                    replacement = new CollisionNode(leaf.hash, new Leaf[] {existing, leaf});
+                } else {
+                    replacement = EMPTY.put(existing, shift + 5).put(leaf, shift + 5);
+                }
+            } else {
+                replacement = ((Node) child).put(leaf, shift + 5);
+            }
+
+            Object[] children = this.children.clone();
+            children[index] = replacement;
+            return new BitmapNode(this.bitmap, children);
+        }
+
+        @Nullable
+        BitmapNode remove(@NotNull String key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((this.bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = Integer.bitCount(this.bitmap & (bit - 1));
+            Object child = this.children[index];
+            Object replacement = null;
+            if (child instanceof Leaf) {
+                if (!((Leaf) child).matches(key, hash)) {
+                    return this;
+                }
+            } else {
+                replacement = ((Node) child).remove(key, hash, shift + 5);
+                if (replacement == child) {
+                    return this;
+                }
+            }
+
+            if (replacement != null) {
+                Object[] children = this.children.clone();
+                children[index] = replacement;
+                return new BitmapNode(this.bitmap, children);
+            } else if (this.children.length == 1) {
+                return null;
+            }
+
+            Object[] children = new Object[this.children.length - 1];
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.children, index + 1, children, index, children.length - index);
+            return new BitmapNode(this.bitmap & ~bit, children);
+        }
+
+        void collect(@NotNull List<Leaf> leaves) {
+            for (Object child : this.children) {
+                if (child instanceof Leaf) {
+                    leaves.add((Leaf) child);
+                } else {
+                    ((Node) child).collect(leaves);
+                }
+            }
+        }
+    }
+
+    /**
+     * The leaves of different keys with the same hash
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        private CollisionNode(int hash, @NotNull Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @Nullable
+        Leaf find(@NotNull String key, int hash, int shift) {
+            for (Leaf leaf : this.leaves) {
+                if (leaf.matches(key, hash)) {
+                    return leaf;
+                }
+            }
+
+            return null;
+        }
+
+        @NotNull
+        Node put(@NotNull Leaf leaf, int shift) {
+            if (leaf.hash != this.hash) {
+                // nest this node under a bitmap node at its own position, then add the leaf next to it
+                return new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] {this}).put(leaf, shift);
+            }
+
+            for (int i = 0; i < this.leaves.length; i++) {
+                if (this.leaves[i].key.equals(leaf.key)) {
+                    Leaf[] leaves = this.leaves.clone();
+                    leaves[i] = leaf;
+                    return new CollisionNode(this.hash, leaves);
+                }
+            }
+
+            Leaf[] leaves = new Leaf[this.leaves.length + 1];
+            System.arraycopy(this.leaves, 0, leaves, 0, this.leaves.length);
+            leaves[this.leaves.length] = leaf;
+            return new CollisionNode(this.hash, leaves);
+        }
+
+        @Nullable
+        Node remove(@NotNull String key, int hash, int shift) {
+            for (int i = 0; i < this.leaves.length; i++) {
+                if (this.leaves[i].matches(key, hash)) {
+                    if (this.leaves.length == 1) {
+                        return null;
+                    }
+
+                    Leaf[] leaves = new Leaf[this.leaves.length - 1];
+                    System.arraycopy(this.leaves, 0, leaves, 0, i);
+                    System.arraycopy(this.leaves, i + 1, leaves, i, leaves.length - i);
+                    return new CollisionNode(this.hash, leaves);
+                }
+            }
+
+            return this;
+        }
+
+        void collect(@NotNull List<Leaf> leaves) {
+            for (Leaf leaf : this.leaves) {
+                leaves.add(leaf);
+            }
+        }
+    }
+}
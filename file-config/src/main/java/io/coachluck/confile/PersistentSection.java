@@ -0,0 +1,456 @@
+/*
+ *   Project: Confile
+ *   File: PersistentSection.java
+ *   Last Modified: 10/19/26, 7:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A view of a section of a {@link PersistentConfiguration}. A view only holds its path, every access reads the
+ * current version of the tree, so a view stays valid across changes and sees the section once it is recreated.
+ */
+public class PersistentSection implements ConfigurationSection {
+    private static final String[] ROOT = new String[0];
+
+    private final PersistentConfiguration root;
+    private final PersistentSection parent;
+    private final String name;
+    // the keys from the root down to this section
+    private final String[] keys;
+
+    /**
+     * Creates the root section
+     */
+    PersistentSection() {
+        if (!(this instanceof PersistentConfiguration)) {
+            throw new IllegalStateException("Cannot construct a root PersistentSection when not a PersistentConfiguration");
+        }
+
+        this.root = (PersistentConfiguration) this;
+        this.parent = null;
+        this.name = "";
+        this.keys = ROOT;
+    }
+
+    private PersistentSection(@NotNull PersistentSection parent, @NotNull String name) {
+        this.root = parent.root;
+        this.parent = parent;
+        this.name = name;
+        this.keys = Arrays.copyOf(parent.keys, parent.keys.length + 1);
+        this.keys[parent.keys.length] = name;
+    }
+
+    @NotNull
+    public Set<String> getKeys(boolean deep) {
+        Set<String> result = new LinkedHashSet<>();
+        if (this.root.options().copyDefaults()) {
+            ConfigurationSection defaults = this.getDefaultSection();
+            if (defaults != null) {
+                result.addAll(defaults.getKeys(deep));
+            }
+        }
+
+        this.collect(this.map(), "", deep, result, null);
+        return result;
+    }
+
+    @NotNull
+    public Map<String, Object> getValues(boolean deep) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (this.root.options().copyDefaults()) {
+            ConfigurationSection defaults = this.getDefaultSection();
+            if (defaults != null) {
+                result.putAll(defaults.getValues(deep));
+            }
+        }
+
+        this.collect(this.map(), "", deep, null, result);
+        return result;
+    }
+
+    /**
+     * Adds the keys or values of a version of this section, prefixed with its path relative to the section they are collected for
+     */
+    private void collect(@NotNull PersistentMap map, @NotNull String prefix, boolean deep,
+                         @Nullable Set<String> keys, @Nullable Map<String, Object> values) {
+        for (PersistentMap.Leaf entry : map.entries()) {
+            String path = prefix + entry.key;
+            boolean section = entry.value instanceof PersistentMap;
+            if (keys != null) {
+                keys.add(path);
+            } else {
+                values.remove(path);
+                values.put(path, section ? this.child(path) : entry.value);
+            }
+
+            if (deep && section) {
+                this.collect((PersistentMap) entry.value, path + this.root.options().pathSeparator(), true, keys, values);
+            }
+        }
+    }
+
+    public boolean contains(@NotNull String path) {
+        return this.contains(path, false);
+    }
+
+    public boolean contains(@NotNull String path, boolean ignoreDefault) {
+        return (ignoreDefault ? this.get(path, null) : this.get(path)) != null;
+    }
+
+    public boolean isSet(@NotNull String path) {
+        return this.root.options().copyDefaults() ? this.contains(path) : this.get(path, null) != null;
+    }
+
+    @NotNull
+    public String getCurrentPath() {
+        return MemorySection.createPath(this, null);
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @NotNull
+    public Configuration getRoot() {
+        return this.root;
+    }
+
+    @Nullable
+    public ConfigurationSection getParent() {
+        return this.parent;
+    }
+
+    @Nullable
+    public Object get(@NotNull String path) {
+        Object result = this.find(path);
+        return result == null ? this.getDefault(path) : result;
+    }
+
+    @Nullable
+    public Object get(@NotNull String path, @Nullable Object def) {
+        Object result = this.find(path);
+        return result == null ? def : result;
+    }
+
+    /**
+     * Resolves the value at a path in the current version without consulting the defaults
+     */
+    @Nullable
+    private Object find(@NotNull String path) {
+        if (path.isEmpty()) {
+            return this;
+        }
+
+        char separator = this.root.options().pathSeparator();
+        PersistentMap map = this.map();
+        int start = 0;
+        for (int end; (end = path.indexOf(separator, start)) != -1; start = end + 1) {
+            Object child = map.get(path.substring(start, end));
+            if (!(child instanceof PersistentMap)) {
+                return null;
+            }
+
+            map = (PersistentMap) child;
+        }
+
+        Object value = map.get(path.substring(start));
+        return value instanceof PersistentMap ? this.child(path) : value;
+    }
+
+    /**
+     * Gets this section in the current version of the tree
+     * @return the section, empty if it does not exist in this version
+     */
+    @NotNull
+    PersistentMap map() {
+        PersistentMap map = this.root.tree;
+        for (String key : this.keys) {
+            Object child = map.get(key);
+            if (!(child instanceof PersistentMap)) {
+                return PersistentMap.EMPTY;
+            }
+
+            map = (PersistentMap) child;
+        }
+
+        return map;
+    }
+
+    /**
+     * Creates the view of a section below this one
+     */
+    @NotNull
+    private PersistentSection child(@NotNull String path) {
+        char separator = this.root.options().pathSeparator();
+        PersistentSection section = this;
+        int start = 0;
+        for (int end; (end = path.indexOf(separator, start)) != -1; start = end + 1) {
+            section = new PersistentSection(section, path.substring(start, end));
+        }
+
+        return new PersistentSection(section, path.substring(start));
+    }
+
+    /**
+     * Splits a path relative to this section into the keys from the root
+     */
+    @NotNull
+    private String[] keys(@NotNull String path) {
+        char separator = this.root.options().pathSeparator();
+        List<String> keys = new ArrayList<>(Arrays.asList(this.keys));
+        int start = 0;
+        for (int end; (end = path.indexOf(separator, start)) != -1; start = end + 1) {
+            keys.add(path.substring(start, end));
+        }
+
+        keys.add(path.substring(start));
+        return keys.toArray(new String[0]);
+    }
+
+    /**
+     * Sets a value, creating a new version that shares everything but the sections on the way to the path
+     * @throws UnsupportedOperationException if the configuration is a snapshot
+     */
+    public void set(@NotNull String path, @Nullable Object value) {
+        this.root.update(this.keys(path), value == null ? null : PersistentConfiguration.freeze(value));
+    }
+
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path) {
+        this.root.update(this.keys(path), PersistentMap.EMPTY);
+        return this.child(path);
+    }
+
+    /**
+     * Creates a section filled with the entries of a map in a single new version, nested maps become sections
+     */
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+        this.root.update(this.keys(path), PersistentConfiguration.section(map));
+        return this.child(path);
+    }
+
+    @Nullable
+    public String getString(@NotNull String path) {
+        Object def = this.getDefault(path);
+        return this.getString(path, def != null ? def.toString() : null);
+    }
+
+    @Nullable
+    public String getString(@NotNull String path, @Nullable String def) {
+        Object val = this.get(path, def);
+        return val != null ? val.toString() : def;
+    }
+
+    @Nullable
+    public List<?> getList(@NotNull String path) {
+        Object def = this.getDefault(path);
+        return this.getList(path, def instanceof List ? (List<?>) def : null);
+    }
+
+    @Nullable
+    public List<?> getList(@NotNull String path, @Nullable List<?> def) {
+        Object val = this.get(path, def);
+        return val instanceof List ? (List<?>) val : def;
+    }
+
+    public boolean isList(@NotNull String path) {
+        return this.get(path) instanceof List;
+    }
+
+    @NotNull
+    public List<String> getStringList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<String> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof String || object instanceof Number || object instanceof Boolean
+                        || object instanceof Character) {
+                    result.add(String.valueOf(object));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @NotNull
+    public List<Character> getCharacterList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<Character> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof Character) {
+                    result.add((Character) object);
+                } else if (object instanceof String && ((String) object).length() == 1) {
+                    result.add(((String) object).charAt(0));
+                } else if (object instanceof Number) {
+                    result.add((char) ((Number) object).intValue());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @NotNull
+    public List<Map<?, ?>> getMapList(@NotNull String path) {
+        List<?> list = this.getList(path);
+        List<Map<?, ?>> result = new ArrayList<>();
+        if (list != null) {
+            for (Object object : list) {
+                if (object instanceof Map) {
+                    result.add((Map<?, ?>) object);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Nullable
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz) {
+        Object def = this.getDefault(path);
+        return this.getObject(path, clazz, clazz.isInstance(def) ? clazz.cast(def) : null);
+    }
+
+    @Nullable
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz, @Nullable T def) {
+        Object val = this.get(path, def);
+        return clazz.isInstance(val) ? clazz.cast(val) : def;
+    }
+
+    @Nullable
+    public <T extends ConfigurationSerializable> T getSerializable(@NotNull String path, @NotNull Class<T> clazz) {
+        return this.getObject(path, clazz);
+    }
+
+    @Nullable
+    public <T extends ConfigurationSerializable> T getSerializable(@NotNull String path, @NotNull Class<T> clazz,
+                                                                   @Nullable T def) {
+        return this.getObject(path, clazz, def);
+    }
+
+    @Nullable
+    public ConfigurationSection getConfigurationSection(@NotNull String path) {
+        Object val = this.get(path);
+        return val instanceof ConfigurationSection ? (ConfigurationSection) val : null;
+    }
+
+    public boolean isConfigurationSection(@NotNull String path) {
+        return this.get(path) instanceof ConfigurationSection;
+    }
+
+    @Nullable
+    public ConfigurationSection getDefaultSection() {
+        Configuration defaults = this.root.getDefaults();
+        return defaults != null && defaults.isConfigurationSection(this.getCurrentPath())
+                ? defaults.getConfigurationSection(this.getCurrentPath()) : null;
+    }
+
+    public void addDefault(@NotNull String path, @Nullable Object value) {
+        this.root.addDefault(MemorySection.createPath(this, path), value);
+    }
+
+    @NotNull
+    public Map<String, Object> query(@NotNull String pattern) {
+        char separator = this.root.options().pathSeparator();
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int end; (end = pattern.indexOf(separator, start)) != -1; start = end + 1) {
+            segments.add(pattern.substring(start, end));
+        }
+
+        segments.add(pattern.substring(start));
+        Map<String, Object> result = new LinkedHashMap<>();
+        this.query(this.map(), segments.toArray(new String[0]), 0, "", separator, result);
+        return result;
+    }
+
+    private void query(@NotNull PersistentMap map, @NotNull String[] segments, int index, @NotNull String prefix,
+                       char separator, @NotNull Map<String, Object> result) {
+        String segment = segments[index];
+        boolean last = index == segments.length - 1;
+        boolean any = segment.equals("**");
+        if (any && !last) {
+            this.query(map, segments, index + 1, prefix, separator, result);
+        } else if (!any && MemorySection.indexOfWildcard(segment) < 0) {
+            Object value = map.get(segment);
+            if (value != null) {
+                this.matched(segments, index, prefix, separator, result, segment, value);
+            }
+
+            return;
+        }
+
+        for (PersistentMap.Leaf entry : map.entries()) {
+            if (any) {
+                if (last) {
+                    result.put(prefix + entry.key, this.value(prefix + entry.key, entry.value));
+                }
+
+                if (entry.value instanceof PersistentMap) {
+                    this.query((PersistentMap) entry.value, segments, index, prefix + entry.key + separator, separator, result);
+                }
+            } else if (MemorySection.matches(segment, entry.key)) {
+                this.matched(segments, index, prefix, separator, result, entry.key, entry.value);
+            }
+        }
+    }
+
+    private void matched(@NotNull String[] segments, int index, @NotNull String prefix, char separator,
+                         @NotNull Map<String, Object> result, @NotNull String key, @NotNull Object value) {
+        if (index == segments.length - 1) {
+            result.put(prefix + key, this.value(prefix + key, value));
+        } else if (value instanceof PersistentMap) {
+            this.query((PersistentMap) value, segments, index + 1, prefix + key + separator, separator, result);
+        }
+    }
+
+    /**
+     * Gets the value handed out for a stored one, sections are handed out as views
+     */
+    @NotNull
+    private Object value(@NotNull String path, @NotNull Object value) {
+        return value instanceof PersistentMap ? this.child(path) : value;
+    }
+
+    @Nullable
+    private Object getDefault(@NotNull String path) {
+        Configuration defaults = this.root.getDefaults();
+        return defaults == null ? null : defaults.get(MemorySection.createPath(this, path));
+    }
+
+    public String toString() {
+        return this.getClass().getSimpleName() + "[path='" + this.getCurrentPath() + "']";
+    }
+}
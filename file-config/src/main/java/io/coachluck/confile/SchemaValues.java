@@ -0,0 +1,71 @@
+/*
+ *   Project: Confile
+ *   File: SchemaValues.java
+ *   Last Modified: 10/19/26, 5:55 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The values of a configuration that passed its schema, each one in the typed slot the schema assigned to it.
+ * Reads are plain array accesses, the values were converted and range checked once when validating. The values
+ * are a snapshot, changes made to the configuration afterwards show up after the next load or validation.
+ * @see ConfigurationSchema#validate(Configuration)
+ */
+public final class SchemaValues {
+    final Object[] objects;
+    final long[] longs;
+    final double[] doubles;
+
+    SchemaValues(@NotNull Object[] objects, @NotNull long[] longs, @NotNull double[] doubles) {
+        this.objects = objects;
+        this.longs = longs;
+        this.doubles = doubles;
+    }
+
+    /**
+     * Gets an object value, slots must come from the schema these values were validated against
+     * @param slot the slot of the value
+     * @param <T> the type of the value
+     * @return the value, null only for an optional value without a default
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NotNull ConfigurationSchema.Slot<T> slot) {
+        return (T) this.objects[slot.index];
+    }
+
+    public int getInt(@NotNull ConfigurationSchema.IntSlot slot) {
+        return (int) this.longs[slot.index];
+    }
+
+    public long getLong(@NotNull ConfigurationSchema.LongSlot slot) {
+        return this.longs[slot.index];
+    }
+
+    public double getDouble(@NotNull ConfigurationSchema.DoubleSlot slot) {
+        return this.doubles[slot.index];
+    }
+
+    public boolean getBoolean(@NotNull ConfigurationSchema.BooleanSlot slot) {
+        return this.longs[slot.index] != 0L;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *   Project: Confile
+ *   File: ValueIndex.java
+ *   Last Modified: 10/19/26, 4:15 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A secondary index from the scalar values of a configuration to the paths holding them, kept up to date
+ * by every set, new section and reload. Strings, numbers, booleans and characters are indexed, as are the
+ * scalar elements of lists under the path of the list. Lists changed in place are only reindexed once they
+ * are set again.
+ * @see MemoryConfiguration#enableValueIndex()
+ */
+public class ValueIndex {
+    private final MemoryConfiguration configuration;
+    // the indexed value of every path, sorted so the paths below a section are a single range
+    private final TreeMap<String, Object> values = new TreeMap<>();
+    private final Map<String, Set<String>> paths = new HashMap<>();
+
+    ValueIndex(@NotNull MemoryConfiguration configuration) {
+        this.configuration = configuration;
+        this.rebuild();
+    }
+
+    /**
+     * Gets the paths holding a value whose text is the given one, regardless of its type
+     * @param text the text of the value, for example {@code "25565"} also finds the integer 25565
+     * @return the paths in the order they were indexed, an unmodifiable view
+     */
+    @NotNull
+    public Set<String> getPaths(@NotNull String text) {
+        Set<String> paths = this.paths.get(text);
+        return paths == null ? Collections.emptySet() : Collections.unmodifiableSet(paths);
+    }
+
+    /**
+     * Gets the paths holding a value equal to the given one, including its type
+     * @param value the value, the integer 3 does not find the long 3 or the string "3"
+     * @return the paths in the order they were indexed
+     */
+    @NotNull
+    public Set<String> getPaths(@NotNull Object value) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String path : this.getPaths(String.valueOf(value))) {
+            Object indexed = this.values.get(path);
+            if (value.equals(indexed) || (indexed instanceof List && ((List<?>) indexed).contains(value))) {
+                result.add(path);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed paths
+     * @return the number of paths holding a scalar or a list
+     */
+    public int size() {
+        return this.values.size();
+    }
+
+    /**
+     * Reindexes the value of a key and everything below it
+     * @param section the section holding the key
+     * @param key the key that changed
+     */
+    void changed(@NotNull MemorySection section, @NotNull String key) {
+        String path = MemorySection.createPath(section, key);
+        char separator = this.configuration.options().pathSeparator();
+        this.remove(path, this.values.remove(path));
+        Iterator<Map.Entry<String, Object>> below = this.values
+                .subMap(path + separator, path + (char) (separator + 1)).entrySet().iterator();
+        while (below.hasNext()) {
+            Map.Entry<String, Object> entry = below.next();
+            this.remove(entry.getKey(), entry.getValue());
+            below.remove();
+        }
+
+        this.add(path, section.map.get(key), separator);
+    }
+
+    /**
+     * Forgets every value, used when the configuration is cleared
+     */
+    void clear() {
+        this.values.clear();
+        this.paths.clear();
+    }
+
+    /**
+     * Indexes every value of the configuration from scratch
+     */
+    void rebuild() {
+        this.clear();
+        char separator = this.configuration.options().pathSeparator();
+        for (Map.Entry<String, Object> entry : this.configuration.map.entrySet()) {
+            this.add(entry.getKey(), entry.getValue(), separator);
+        }
+    }
+
+    private void add(@NotNull String path, @Nullable Object value, char separator) {
+        if (value instanceof MemorySection) {
+            for (Map.Entry<String, Object> entry : ((MemorySection) value).map.entrySet()) {
+                this.add(path + separator + entry.getKey(), entry.getValue(), separator);
+            }
+        } else if (isScalar(value)) {
+            this.values.put(path, value);
+            this.paths.computeIfAbsent(String.valueOf(value), text -> new LinkedHashSet<>()).add(path);
+        } else if (value instanceof List) {
+            // a copy, so the texts can still be unlinked after the list is changed in place
+            List<?> list = new ArrayList<>((List<?>) value);
+            this.values.put(path, list);
+            for (Object element : list) {
+                if (isScalar(element)) {
+                    this.paths.computeIfAbsent(String.valueOf(element), text -> new LinkedHashSet<>()).add(path);
+                }
+            }
+        }
+    }
+
+    private void remove(@NotNull String path, @Nullable Object value) {
+        if (isScalar(value)) {
+            this.unlink(String.valueOf(value), path);
+        } else if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                if (isScalar(element)) {
+                    this.unlink(String.valueOf(element), path);
+                }
+            }
+        }
+    }
+
+    private void unlink(@NotNull String text, @NotNull String path) {
+        Set<String> paths = this.paths.get(text);
+        if (paths != null && paths.remove(path) && paths.isEmpty()) {
+            this.paths.remove(text);
+        }
+    }
+
+    private static boolean isScalar(@Nullable Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character;
+    }
+}
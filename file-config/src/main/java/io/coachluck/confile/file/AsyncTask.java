@@ -0,0 +1,204 @@
+/*
+ *   Project: Confile
+ *   File: AsyncTask.java
+ *   Last Modified: 10/19/26, 6:20 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A load or save running on an executor. Cancelling it, or running past its timeout, interrupts the thread
+ * running it, and the task {@link #commit() commits} under the lock of the task before it changes anything:
+ * a task that is done by then stops, a committed task can no longer be cancelled or time out.
+ * @param <T> the result of the task
+ */
+final class AsyncTask<T> extends CompletableFuture<T> implements Runnable {
+    private static final ScheduledExecutorService TIMEOUTS = Executors.newSingleThreadScheduledExecutor(
+            daemon("Confile Timeout", new AtomicInteger()));
+
+    private final Body<T> body;
+    private Thread runner;
+    private boolean committed;
+    // whether cancel or the timeout interrupted the runner, only that interrupt is cleared once the task ends
+    private boolean interrupted;
+
+    private AsyncTask(@NotNull Body<T> body) {
+        this.body = body;
+    }
+
+    /**
+     * Starts a task
+     * @param body the work of the task
+     * @param executor the executor to run it on
+     * @param timeout the time after which the task fails with a TimeoutException, 0 for none
+     * @param unit the unit of the timeout
+     * @return the task
+     */
+    @NotNull
+    static <T> AsyncTask<T> submit(@NotNull Body<T> body, @NotNull Executor executor, long timeout, @NotNull TimeUnit unit) {
+        AsyncTask<T> task = new AsyncTask<>(body);
+        if (timeout > 0) {
+            ScheduledFuture<?> expiry = TIMEOUTS.schedule(() -> task.expire(timeout, unit), timeout, unit);
+            task.whenComplete((result, e) -> expiry.cancel(false));
+        }
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.completeExceptionally(e);
+        }
+
+        return task;
+    }
+
+    /**
+     * Gets the executor tasks run on unless another one is configured, a virtual thread per task when the JVM
+     * supports them and a pool of daemon threads otherwise
+     * @return the shared default executor
+     */
+    @NotNull
+    static Executor sharedExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    @Override
+    public void run() {
+        if (this.isDone()) {
+            return;
+        }
+
+        synchronized (this) {
+            this.runner = Thread.currentThread();
+        }
+
+        try {
+            this.complete(this.body.run(this));
+        } catch (Throwable e) {
+            this.completeExceptionally(e);
+        } finally {
+            boolean interrupted;
+            synchronized (this) {
+                this.runner = null;
+                interrupted = this.interrupted;
+            }
+
+            // the interrupt of this task must not leak into the next task of the thread, an executor running the
+            // task inline keeps any interrupt of its own caller
+            if (interrupted) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Cancels the task and interrupts it if it is running, a task that committed already runs to completion
+     * @param mayInterruptIfRunning whether a running task is interrupted
+     * @return true if the task was cancelled by this call
+     */
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+        if (this.committed) {
+            return false;
+        }
+
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled && mayInterruptIfRunning) {
+            this.interrupt();
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Stops the task before it changes anything if it was cancelled or timed out
+     * @throws CancellationException if the task is done already
+     */
+    void checkCancelled() {
+        if (this.isDone()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Marks the point after which the task changes something, from then on it is neither cancelled nor times out
+     * @throws CancellationException if the task is done already
+     */
+    synchronized void commit() {
+        this.checkCancelled();
+        this.committed = true;
+    }
+
+    private synchronized void expire(long timeout, @NotNull TimeUnit unit) {
+        if (!this.committed && this.completeExceptionally(new TimeoutException("Timed out after " + timeout + " " + unit.toString().toLowerCase()))) {
+            this.interrupt();
+        }
+    }
+
+    private synchronized void interrupt() {
+        if (this.runner != null) {
+            this.interrupted = true;
+            this.runner.interrupt();
+        }
+    }
+
+    @NotNull
+    private static ThreadFactory daemon(@NotNull String name, @NotNull AtomicInteger counter) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + " " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The work of a task
+     */
+    @FunctionalInterface
+    interface Body<T> {
+        T run(@NotNull AsyncTask<T> task) throws Exception;
+    }
+
+    private static final class DefaultExecutor {
+        private static final Executor INSTANCE = create();
+
+        @NotNull
+        private static Executor create() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Executors.newCachedThreadPool(daemon("Confile I/O", new AtomicInteger()));
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *   Project: Confile
+ *   File: BulkLoadResult.java
+ *   Last Modified: 10/19/26, 1:45 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a {@link BulkLoader} run, the loaded configurations and a failure for every file that could not be loaded
+ * @param <T> the type of the loaded configurations
+ */
+public class BulkLoadResult<T extends FileConfiguration> {
+    private final Map<Path, T> configurations = new LinkedHashMap<>();
+    private final List<Failure> failures = new ArrayList<>();
+
+    protected BulkLoadResult() { }
+
+    void addConfiguration(@NotNull Path path, @NotNull T configuration) {
+        this.configurations.put(path, configuration);
+    }
+
+    void addFailure(@NotNull Path path, @NotNull Exception cause) {
+        this.failures.add(new Failure(path, cause));
+    }
+
+    /**
+     * Gets the configurations that loaded successfully
+     * @return an unmodifiable map of file to configuration
+     */
+    @NotNull
+    public Map<Path, T> getConfigurations() {
+        return Collections.unmodifiableMap(this.configurations);
+    }
+
+    /**
+     * Gets the files that could not be loaded
+     * @return an unmodifiable list of failures
+     */
+    @NotNull
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(this.failures);
+    }
+
+    /**
+     * Whether or not every file loaded
+     * @return true if there are no failures
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+
+    /**
+     * A file that could not be loaded
+     */
+    public static final class Failure {
+        private final Path path;
+        private final Exception cause;
+
+        Failure(@NotNull Path path, @NotNull Exception cause) {
+            this.path = path;
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the file that failed
+         * @return the path of the file
+         */
+        @NotNull
+        public Path getPath() {
+            return this.path;
+        }
+
+        /**
+         * Gets why the file failed, an {@link java.io.IOException} when it could not be read,
+         * an {@link InvalidConfigurationException} when its contents are invalid
+         * @return the exception the load failed with
+         */
+        @NotNull
+        public Exception getCause() {
+            return this.cause;
+        }
+
+        /**
+         * Whether or not the file was read but its contents are invalid
+         * @return true if the contents are invalid
+         */
+        public boolean isInvalidContent() {
+            return this.cause instanceof InvalidConfigurationException;
+        }
+
+        @Override
+        public String toString() {
+            return this.path + ": " + this.cause;
+        }
+    }
+}
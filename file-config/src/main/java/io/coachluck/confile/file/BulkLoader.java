@@ -0,0 +1,159 @@
+/*
+ *   Project: Confile
+ *   File: BulkLoader.java
+ *   Last Modified: 10/19/26, 1:45 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads many configuration files in parallel. Every file is read and parsed into its own configuration
+ * on the executor, by default the common fork join pool, and failures are collected per file instead of
+ * stopping the whole load.
+ * <pre>
+ * BulkLoadResult&lt;YamlConfiguration&gt; result = new BulkLoader&lt;&gt;(YamlConfiguration::new)
+ *         .load(Paths.get("plugins"), "**.yml");
+ * </pre>
+ * @param <T> the type of configuration every file is loaded into
+ */
+public class BulkLoader<T extends FileConfiguration> {
+    private final Supplier<? extends T> factory;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Creates a new BulkLoader
+     * @param factory creates an empty configuration for every file, it is called from the executor threads
+     */
+    public BulkLoader(@NotNull Supplier<? extends T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Sets the executor the files are loaded on, the loader never shuts it down
+     * @param executor the executor, for example {@link #newVirtualThreadExecutor()}
+     * @return the updated BulkLoader
+     */
+    @NotNull
+    public BulkLoader<T> executor(@NotNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Loads every regular file below a directory whose path relative to the directory matches a glob.
+     * As with {@link java.nio.file.FileSystem#getPathMatcher(String)}, {@code *.yml} only matches files directly
+     * inside the directory while {@code **.yml} matches files at any depth.
+     * @param directory the directory to search
+     * @param glob the glob the relative paths have to match
+     * @return the loaded configurations and failures, in path order
+     * @throws IOException if the directory cannot be listed
+     */
+    @NotNull
+    public BulkLoadResult<T> load(@NotNull Path directory, @NotNull String glob) throws IOException {
+        PathMatcher matcher = directory.getFileSystem().getPathMatcher("glob:" + glob);
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(directory.relativize(path)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        return this.load(files);
+    }
+
+    /**
+     * Loads a collection of files, blocking until all of them are loaded or failed
+     * @param files the files to load
+     * @return the loaded configurations and failures, in the iteration order of the files
+     */
+    @NotNull
+    public BulkLoadResult<T> load(@NotNull Collection<Path> files) {
+        List<Path> paths = new ArrayList<>(files);
+        List<CompletableFuture<Object>> futures = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            futures.add(CompletableFuture.supplyAsync(() -> this.loadFile(path), this.executor));
+        }
+
+        BulkLoadResult<T> result = new BulkLoadResult<>();
+        for (int i = 0; i < paths.size(); i++) {
+            Object loaded = futures.get(i).join();
+            if (loaded instanceof Exception) {
+                result.addFailure(paths.get(i), (Exception) loaded);
+            } else {
+                result.addConfiguration(paths.get(i), this.cast(loaded));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Loads a single file
+     * @return the configuration, or the exception the file failed with
+     */
+    @NotNull
+    private Object loadFile(@NotNull Path path) {
+        try {
+            T config = this.factory.get();
+            config.load(path.toFile());
+            return config;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(@NotNull Object loaded) {
+        return (T) loaded;
+    }
+
+    /**
+     * Creates an executor that runs every task on its own virtual thread, available from Java 21 on.
+     * The caller owns the executor and has to shut it down.
+     * @return a new virtual thread executor, or null if the running JVM has no virtual threads
+     */
+    @Nullable
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,598 @@
+/*
+ *   Project: Confile
+ *   File: ConfigurationJournal.java
+ *   Last Modified: 10/19/26, 3:30 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.Configuration;
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.MemorySection;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of the changes made to a file configuration. Every set is appended to a journal
+ * segment next to the file as a small binary record, so a change is on disk without saving the whole file.
+ * Opening the journal loads the file and replays the segments left behind by a crash, and once the segments
+ * grow past a threshold a copy of the configuration is compacted into the file in the background. Loading new
+ * contents into the configuration is not journaled, the load is compacted into the file before it returns.
+ * <pre>
+ * ConfigurationJournal journal = new ConfigurationJournal(config, new File("config.yml"));
+ * journal.open();
+ * config.set("players.alice.score", 10); // appended to config.yml.journal.1
+ * journal.close(); // saves config.yml and removes the segments
+ * </pre>
+ */
+public class ConfigurationJournal implements Closeable {
+    private static final String SEGMENT = ".journal.";
+
+    private static final byte NULL = 0;
+    private static final byte SECTION = 1;
+    private static final byte STRING = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte SHORT = 8;
+    private static final byte BYTE = 9;
+    private static final byte CHARACTER = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte LIST = 12;
+    private static final byte MAP = 13;
+
+    private final FileConfiguration configuration;
+    private final File file;
+    private long threshold = 1024 * 1024;
+    private boolean sync;
+    private Executor executor = ForkJoinPool.commonPool();
+    private Supplier<? extends FileConfiguration> format;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(this.buffer);
+    private final CRC32 checksum = new CRC32();
+    private FileOutputStream output;
+    private long segment;
+    private long size;
+    private CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+
+    /**
+     * Creates a new ConfigurationJournal, nothing is read or recorded until it is opened
+     * @param configuration the configuration to record the changes of
+     * @param file the file the configuration is stored in, the segments are created next to it
+     */
+    public ConfigurationJournal(@NotNull FileConfiguration configuration, @NotNull File file) {
+        this.configuration = configuration;
+        this.file = file.getAbsoluteFile();
+    }
+
+    /**
+     * Sets the size the segments may grow to before they are compacted into the file
+     * @param bytes the threshold in bytes, 1 MiB by default
+     * @return the updated ConfigurationJournal
+     */
+    @NotNull
+    public ConfigurationJournal threshold(long bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("Threshold must be positive, got " + bytes);
+        }
+
+        this.threshold = bytes;
+        return this;
+    }
+
+    /**
+     * Whether or not every record is forced to the storage device before the set returns.
+     * Without it a record survives a crash of the process but not necessarily of the machine.
+     * @param value true to sync, false to not
+     * @return the updated ConfigurationJournal
+     */
+    @NotNull
+    public ConfigurationJournal sync(boolean value) {
+        this.sync = value;
+        return this;
+    }
+
+    /**
+     * Sets the executor the compactions run on, the journal never shuts it down
+     * @param executor the executor, the common fork join pool by default
+     * @return the updated ConfigurationJournal
+     */
+    @NotNull
+    public ConfigurationJournal executor(@NotNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets how the copies compactions serialize are created, by default a new instance of the class of the
+     * configuration with its path separator and header. Set it when the format has other options, such as the
+     * indent, the compacted file should be written with.
+     * @param format creates an empty configuration of the format of the file, e.g. {@code YamlConfiguration::new}
+     * @return the updated ConfigurationJournal
+     */
+    @NotNull
+    public ConfigurationJournal format(@NotNull Supplier<? extends FileConfiguration> format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Loads the file if it exists, replays the segments left behind and starts recording the changes
+     * @throws IOException if the file or a segment cannot be read
+     * @throws InvalidConfigurationException if the file is not a valid configuration
+     */
+    public void open() throws IOException, InvalidConfigurationException {
+        if (this.output != null) {
+            throw new IllegalStateException("Journal is already open");
+        } else if (this.configuration.journal != null) {
+            throw new IllegalStateException("Configuration already has an open journal");
+        }
+
+        if (this.file.exists()) {
+            this.configuration.load(this.file);
+        }
+
+        this.size = 0L;
+        this.segment = 0L;
+        for (Map.Entry<Long, File> segment : this.segments().entrySet()) {
+            this.replay(segment.getValue());
+            this.size += segment.getValue().length();
+            this.segment = segment.getKey();
+        }
+
+        // a crash may have torn the last record, so recording always starts in a fresh segment
+        this.segment++;
+        this.file.getParentFile().mkdirs();
+        this.output = new FileOutputStream(this.segmentFile(this.segment), true);
+        this.configuration.journal = this;
+    }
+
+    /**
+     * Appends the current value of a key, called by the configuration after every change
+     * @param section the section holding the key
+     * @param key the key that changed
+     */
+    void append(@NotNull ConfigurationSection section, @NotNull String key) {
+        try {
+            this.buffer.reset();
+            writeString(this.record, MemorySection.createPath(section, key));
+            writeValue(this.record, section.get(key, null));
+
+            byte[] payload = this.buffer.toByteArray();
+            this.checksum.reset();
+            this.checksum.update(payload, 0, payload.length);
+            this.buffer.reset();
+            this.record.writeInt(payload.length);
+            this.record.writeInt((int) this.checksum.getValue());
+            this.record.write(payload);
+            this.buffer.writeTo(this.output);
+            if (this.sync) {
+                this.output.getFD().sync();
+            }
+
+            this.size += this.buffer.size();
+            if (this.size >= this.threshold && this.compaction.isDone()) {
+                this.compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal " + key, e);
+        }
+    }
+
+    /**
+     * Starts compacting the segments into the file. The configuration is copied on the calling thread, the copy is
+     * serialized and written on the executor while new changes go to a new segment.
+     * @return the running compaction, or the previous one if it has not finished yet
+     * @throws IOException if the next segment cannot be created
+     */
+    @NotNull
+    public CompletableFuture<Void> compact() throws IOException {
+        if (this.output == null) {
+            throw new IllegalStateException("Journal is not open");
+        } else if (!this.compaction.isDone()) {
+            return this.compaction;
+        }
+
+        FileConfiguration snapshot = this.snapshot();
+        String contents = snapshot == null ? this.configuration.saveToString() : null;
+        long compacted = this.nextSegment();
+        this.compaction = CompletableFuture.runAsync(() -> {
+            try {
+                this.write(contents == null ? snapshot.saveToString() : contents, compacted);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.executor);
+        return this.compaction;
+    }
+
+    /**
+     * Compacts new contents loaded into the configuration on the calling thread. Replaying the records journaled
+     * before them after a crash would bring back the keys the load removed.
+     * @throws UncheckedIOException if the file cannot be written, the segments are then left as they were
+     */
+    void reloaded() {
+        try {
+            this.compaction.join();
+        } catch (CompletionException ignored) {
+            // the segments of a failed compaction are included below
+        }
+
+        try {
+            this.write(this.configuration.saveToString(), this.nextSegment());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact the loaded contents into " + this.file, e);
+        }
+    }
+
+    /**
+     * Moves recording to a new segment
+     * @return the last segment written before
+     */
+    private long nextSegment() throws IOException {
+        long compacted = this.segment;
+        this.output.close();
+        this.output = new FileOutputStream(this.segmentFile(++this.segment), true);
+        this.size = 0L;
+        return compacted;
+    }
+
+    /**
+     * Copies the configuration into a new one of the same format, lists and maps included, so it can be serialized
+     * while the configuration keeps changing. Serializable objects are shared.
+     * @return the copy, null if the format cannot be created
+     */
+    @Nullable
+    private FileConfiguration snapshot() {
+        FileConfiguration snapshot;
+        if (this.format != null) {
+            snapshot = this.format.get();
+        } else {
+            try {
+                snapshot = this.configuration.getClass().getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+
+            String header = this.configuration.options().header();
+            Configuration defaults = this.configuration.getDefaults();
+            if (this.configuration.options().copyHeader() && defaults instanceof FileConfiguration
+                    && ((FileConfiguration) defaults).options().header() != null) {
+                header = ((FileConfiguration) defaults).options().header();
+            }
+
+            snapshot.options().header(header);
+        }
+
+        snapshot.options().pathSeparator(this.configuration.options().pathSeparator());
+        copy(this.configuration, snapshot);
+        return snapshot;
+    }
+
+    private static void copy(@NotNull ConfigurationSection from, @NotNull ConfigurationSection to) {
+        for (Map.Entry<String, Object> entry : from.getValues(false).entrySet()) {
+            if (entry.getValue() instanceof ConfigurationSection) {
+                copy((ConfigurationSection) entry.getValue(), to.createSection(entry.getKey()));
+            } else {
+                to.set(entry.getKey(), copy(entry.getValue()));
+            }
+        }
+    }
+
+    @Nullable
+    private static Object copy(@Nullable Object value) {
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                list.add(copy(element));
+            }
+
+            return list;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), copy(entry.getValue()));
+            }
+
+            return map;
+        }
+
+        return value;
+    }
+
+    /**
+     * Stops recording, waits for a running compaction and compacts the remaining segments into the file
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.output == null) {
+            return;
+        }
+
+        this.configuration.journal = null;
+        this.output.close();
+        this.output = null;
+        try {
+            this.compaction.join();
+        } catch (CompletionException ignored) {
+            // the segments of a failed compaction are still there and compacted below
+        }
+
+        this.write(this.configuration.saveToString(), this.segment);
+    }
+
+    /**
+     * Atomically replaces the file and removes the segments its contents include
+     */
+    private void write(@NotNull String contents, long compacted) throws IOException {
+        File temp = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+        temp.getParentFile().mkdirs();
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            stream.write(contents.getBytes(StandardCharsets.UTF_8));
+            stream.getFD().sync();
+        }
+
+        try {
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // replaying a segment again after a crash here is harmless, every record sets an absolute value
+        for (Map.Entry<Long, File> segment : this.segments().entrySet()) {
+            if (segment.getKey() <= compacted) {
+                Files.deleteIfExists(segment.getValue().toPath());
+            }
+        }
+    }
+
+    /**
+     * Applies the records of a segment, stopping at the first torn or corrupt record
+     */
+    private void replay(@NotNull File segment) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            long remaining = segment.length();
+            while (remaining >= 8) {
+                int length = input.readInt();
+                int checksum = input.readInt();
+                remaining -= 8;
+                if (length < 0 || length > remaining) {
+                    return;
+                }
+
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                remaining -= length;
+                this.checksum.reset();
+                this.checksum.update(payload, 0, length);
+                if ((int) this.checksum.getValue() != checksum) {
+                    return;
+                }
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                String path = readString(record);
+                byte type = record.readByte();
+                if (type == SECTION) {
+                    this.configuration.createSection(path, readMap(record));
+                } else {
+                    this.configuration.set(path, readValue(record, type));
+                }
+            }
+        } catch (EOFException ignored) {
+            // the record was torn by a crash
+        }
+    }
+
+    @NotNull
+    private TreeMap<Long, File> segments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        String prefix = this.file.getName() + SEGMENT;
+        File[] files = this.file.getParentFile().listFiles();
+        if (files == null) {
+            return segments;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(prefix)) {
+                try {
+                    segments.put(Long.parseLong(name.substring(prefix.length())), file);
+                } catch (NumberFormatException ignored) {
+                    // not a segment
+                }
+            }
+        }
+
+        return segments;
+    }
+
+    @NotNull
+    private File segmentFile(long index) {
+        return new File(this.file.getParentFile(), this.file.getName() + SEGMENT + index);
+    }
+
+    private static void writeValue(@NotNull DataOutputStream output, @Nullable Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof ConfigurationSection) {
+            output.writeByte(SECTION);
+            writeMap(output, ((ConfigurationSection) value).getValues(false));
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            output.writeByte(CHARACTER);
+            output.writeChar((Character) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BIG_INTEGER);
+            writeString(output, value.toString());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            output.writeByte(LIST);
+            output.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(output, element);
+            }
+        } else if (value instanceof Map) {
+            output.writeByte(MAP);
+            writeMap(output, (Map<?, ?>) value);
+        } else if (value instanceof DeferredSerializable) {
+            // journaled like it is saved, a placeholder nobody asked for keeps its serialized values
+            DeferredSerializable deferred = (DeferredSerializable) value;
+            writeValue(output, deferred.isDeserialized() ? deferred.deserialize() : deferred.getValues());
+        } else if (value instanceof ConfigurationSerializable) {
+            Map<String, Object> serialized = new LinkedHashMap<>();
+            serialized.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                    ConfigurationSerialization.getAlias(((ConfigurationSerializable) value).getClass()));
+            serialized.putAll(((ConfigurationSerializable) value).serialize());
+            output.writeByte(MAP);
+            writeMap(output, serialized);
+        } else {
+            throw new IllegalArgumentException("Cannot journal value of type " + value.getClass().getName());
+        }
+    }
+
+    private static void writeMap(@NotNull DataOutputStream output, @NotNull Map<?, ?> map) throws IOException {
+        output.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeString(output, String.valueOf(entry.getKey()));
+            writeValue(output, entry.getValue());
+        }
+    }
+
+    private static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInput input) throws IOException {
+        return readValue(input, input.readByte());
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInput input, byte type) throws IOException {
+        switch (type) {
+            case NULL: return null;
+            case SECTION: return readMap(input);
+            case STRING: return readString(input);
+            case INTEGER: return input.readInt();
+            case LONG: return input.readLong();
+            case DOUBLE: return input.readDouble();
+            case FLOAT: return input.readFloat();
+            case BOOLEAN: return input.readBoolean();
+            case SHORT: return input.readShort();
+            case BYTE: return input.readByte();
+            case CHARACTER: return input.readChar();
+            case BIG_INTEGER: return new BigInteger(readString(input));
+            case LIST:
+                int size = input.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(input));
+                }
+
+                return list;
+            case MAP:
+                Map<String, Object> map = readMap(input);
+                return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+                        ? ConfigurationSerialization.deserializeObject(map) : map;
+            default:
+                throw new IOException("Unknown journal value type " + type);
+        }
+    }
+
+    @NotNull
+    private static Map<String, Object> readMap(@NotNull DataInput input) throws IOException {
+        int size = input.readInt();
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(input);
+            map.put(key, readValue(input));
+        }
+
+        return map;
+    }
+
+    @NotNull
+    private static String readString(@NotNull DataInput input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
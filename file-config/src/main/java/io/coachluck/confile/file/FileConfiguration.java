@@ -22,12 +22,16 @@
 package io.coachluck.confile.file;
 
 import io.coachluck.confile.Configuration;
+import io.coachluck.confile.ConfigurationSection;
 import io.coachluck.confile.InvalidConfigurationException;
 import io.coachluck.confile.MemoryConfiguration;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -36,9 +40,19 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public abstract class FileConfiguration extends MemoryConfiguration {
+    private static final PhaseListener[] NO_LISTENERS = new PhaseListener[0];
+    ConfigurationJournal journal;
+    private volatile PhaseListener[] phaseListeners = NO_LISTENERS;
+    private boolean replacing;
+    private AsyncTask<?> loadTask;
+
     public FileConfiguration() { }
 
     public FileConfiguration(@Nullable Configuration defaults) {
@@ -51,16 +65,39 @@ public abstract class FileConfiguration extends MemoryConfiguration {
      * @throws IOException
      */
     public void save(@NotNull File file) throws IOException {
+        ConfigurationMetrics metrics = this.metrics;
+        long start = metrics == null ? 0L : System.nanoTime();
+        long phase = this.phaseStarted(Phase.WRITE, 0L);
         file.getParentFile().mkdirs();
-        String data = this.saveToString();
-        OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
 
         try {
-            writer.write(data);
+            this.save(writer);
         } finally {
             writer.close();
         }
 
+        if (metrics != null) {
+            metrics.write().record(System.nanoTime() - start);
+        }
+
+        if (phase != 0L) {
+            this.phaseEnded(Phase.WRITE, phase, file.length(), 0L, 0L);
+        }
+    }
+
+    /**
+     * Writes this configuration to a writer, the writer is flushed but not closed.
+     * By default this writes {@link #saveToString()}, formats that can stream their output override it.
+     * @param writer the writer to save to
+     * @throws IOException if the writer fails
+     */
+    public void save(@NotNull Writer writer) throws IOException {
+        long phase = this.phaseStarted(Phase.SERIALIZE, 0L);
+        String contents = this.saveToString();
+        this.phaseEnded(Phase.SERIALIZE, phase, contents.length(), 0L, 0L);
+        writer.write(contents);
+        writer.flush();
     }
 
     /**
@@ -98,6 +135,230 @@ public abstract class FileConfiguration extends MemoryConfiguration {
      * @throws InvalidConfigurationException
      */
     public void load(@NotNull Reader reader) throws IOException, InvalidConfigurationException {
+        this.loadFromString(this.readTraced(reader));
+    }
+
+    /**
+     *
+     * @param file
+     * @throws IOException
+     * @throws InvalidConfigurationException
+     */
+    public void load(@NotNull String file) throws IOException, InvalidConfigurationException {
+        this.load(new File(file));
+    }
+
+    /**
+     * Loads a file on the executor of the options, see {@link #loadAsync(File, long, TimeUnit)}
+     * @param file the file to load
+     * @return the future of the load
+     */
+    @NotNull
+    public CompletableFuture<Void> loadAsync(@NotNull File file) {
+        return this.loadAsync(file, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads a file on the executor of the options without blocking the caller. A load that is cancelled or times out
+     * before its new contents are applied leaves this configuration unchanged, a parse already in progress is not
+     * aborted but discarded when it ends. Once the contents are applied the load runs to completion, it can no longer
+     * be cancelled or time out. Do not use the configuration on other threads until the future completes.
+     * @param file the file to load
+     * @param timeout the time after which the future fails with a TimeoutException, 0 for none
+     * @param unit the unit of the timeout
+     * @return the future of the load, cancelling it interrupts a read that is still blocked
+     */
+    @NotNull
+    public CompletableFuture<Void> loadAsync(@NotNull File file, long timeout, @NotNull TimeUnit unit) {
+        return AsyncTask.submit(task -> {
+            this.loadCommitted(task, file);
+            return null;
+        }, this.options().executor(), timeout, unit);
+    }
+
+    /**
+     * Saves to a file on the executor of the options, see {@link #saveAsync(File, long, TimeUnit)}
+     * @param file the file to save to
+     * @return the future of the save
+     */
+    @NotNull
+    public CompletableFuture<Void> saveAsync(@NotNull File file) {
+        return this.saveAsync(file, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves to a file on the executor of the options without blocking the caller.
+     * Do not change the configuration until the future completes.
+     * @param file the file to save to
+     * @param timeout the time the save may wait for the executor before the future fails with a TimeoutException, 0 for none
+     * @param unit the unit of the timeout
+     * @return the future of the save, a save that did not start yet is skipped when it is cancelled or times out,
+     * a save that started runs to completion
+     */
+    @NotNull
+    public CompletableFuture<Void> saveAsync(@NotNull File file, long timeout, @NotNull TimeUnit unit) {
+        return AsyncTask.submit(task -> {
+            task.commit();
+            this.save(file);
+            return null;
+        }, this.options().executor(), timeout, unit);
+    }
+
+    /**
+     * Loads a file into a new configuration on the executor of its options, for the static loaders of the formats.
+     * A missing file gives an empty configuration like the blocking loaders, any other failure fails the future.
+     * @param config the empty configuration
+     * @param file the file to load
+     * @return the future of the loaded configuration
+     */
+    @NotNull
+    protected static <T extends FileConfiguration> CompletableFuture<T> loadConfigurationAsync(@NotNull T config, @NotNull File file) {
+        return AsyncTask.submit(task -> {
+            if (file.exists()) {
+                ((FileConfiguration) config).loadCommitted(task, file);
+            }
+
+            return config;
+        }, config.options().executor(), 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads a file for a task, the task commits once the new contents are parsed and before they replace the current ones
+     * @param task the task loading the file
+     * @param file the file to load
+     */
+    void loadCommitted(@NotNull AsyncTask<?> task, @NotNull File file) throws IOException, InvalidConfigurationException {
+        AsyncTask<?> loadTask = this.loadTask;
+        this.loadTask = task;
+        try {
+            this.load(file);
+        } finally {
+            this.loadTask = loadTask;
+        }
+    }
+
+    /**
+     * Commits the task loading this configuration, if any, before the contents are replaced
+     * @throws java.util.concurrent.CancellationException if the task was cancelled or timed out
+     */
+    void commitLoad() {
+        AsyncTask<?> task = this.loadTask;
+        if (task != null) {
+            task.commit();
+        }
+    }
+
+    /**
+     * Adds a listener for the phases of the following loads and saves
+     * @param listener the listener
+     */
+    public void addPhaseListener(@NotNull PhaseListener listener) {
+        synchronized (this) {
+            PhaseListener[] listeners = Arrays.copyOf(this.phaseListeners, this.phaseListeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            this.phaseListeners = listeners;
+        }
+    }
+
+    /**
+     * Removes a listener added before
+     * @param listener the listener
+     */
+    public void removePhaseListener(@NotNull PhaseListener listener) {
+        synchronized (this) {
+            PhaseListener[] listeners = this.phaseListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    PhaseListener[] remaining = new PhaseListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, remaining, 0, i);
+                    System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                    this.phaseListeners = remaining;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether phases are traced, loaders use it to skip counting what nobody listens to
+     * @return true if there is a phase listener
+     */
+    protected boolean isTracing() {
+        return this.phaseListeners.length > 0;
+    }
+
+    /**
+     * Notifies the listeners that a phase starts
+     * @param phase the phase
+     * @param bytes the bytes known upfront, 0 if unknown
+     * @return the start time to pass to {@link #phaseEnded}, 0 if there are no listeners
+     */
+    protected long phaseStarted(@NotNull Phase phase, long bytes) {
+        PhaseListener[] listeners = this.phaseListeners;
+        if (listeners.length == 0) {
+            return 0L;
+        }
+
+        long start = System.nanoTime();
+        start = start == 0L ? 1L : start;
+        PhaseEvent event = new PhaseEvent(this, phase, start, 0L, bytes, 0L, 0L);
+        for (PhaseListener listener : listeners) {
+            listener.phaseStarted(event);
+        }
+
+        return start;
+    }
+
+    /**
+     * Notifies the listeners that a phase ended, does nothing for a start time of 0
+     * @param phase the phase
+     * @param start the time returned by {@link #phaseStarted}
+     * @param bytes the bytes read or written
+     * @param nodes the nodes handled
+     * @param objects the objects created
+     */
+    protected void phaseEnded(@NotNull Phase phase, long start, long bytes, long nodes, long objects) {
+        PhaseListener[] listeners = this.phaseListeners;
+        if (start == 0L || listeners.length == 0) {
+            return;
+        }
+
+        PhaseEvent event = new PhaseEvent(this, phase, start, System.nanoTime() - start, bytes, nodes, objects);
+        for (PhaseListener listener : listeners) {
+            listener.phaseEnded(event);
+        }
+    }
+
+    /**
+     * Checks the loaded contents as a traced {@link Phase#VALIDATE} phase
+     * @throws InvalidConfigurationException if the contents are not valid
+     */
+    @Override
+    protected void loaded() throws InvalidConfigurationException {
+        long phase = this.phaseStarted(Phase.VALIDATE, 0L);
+        super.loaded();
+        this.phaseEnded(Phase.VALIDATE, phase, 0L, 0L, 0L);
+    }
+
+    /**
+     * Reads the whole reader and closes it as a traced {@link Phase#READ} phase
+     */
+    @NotNull
+    private String readTraced(@NotNull Reader reader) throws IOException {
+        long phase = this.phaseStarted(Phase.READ, 0L);
+        String contents = read(reader);
+        this.phaseEnded(Phase.READ, phase, contents.length(), 0L, 0L);
+        return contents;
+    }
+
+    /**
+     * Reads the whole reader and closes it
+     * @param reader the reader
+     * @return the contents, every line ending with a line feed
+     * @throws IOException if the reader fails
+     */
+    @NotNull
+    private static String read(@NotNull Reader reader) throws IOException {
         BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
         StringBuilder builder = new StringBuilder();
 
@@ -111,17 +372,7 @@ public abstract class FileConfiguration extends MemoryConfiguration {
             input.close();
         }
 
-        this.loadFromString(builder.toString());
-    }
-
-    /**
-     *
-     * @param file
-     * @throws IOException
-     * @throws InvalidConfigurationException
-     */
-    public void load(@NotNull String file) throws IOException, InvalidConfigurationException {
-        this.load(new File(file));
+        return builder.toString();
     }
 
     /**
@@ -134,6 +385,57 @@ public abstract class FileConfiguration extends MemoryConfiguration {
     @NotNull
     public abstract String buildHeader();
 
+    /**
+     * Appends the change to the open {@link ConfigurationJournal}, if there is one
+     * @param section the section holding the key
+     * @param key the key that changed
+     */
+    @Override
+    protected void onChange(@NotNull ConfigurationSection section, @NotNull String key) {
+        ConfigurationJournal journal = this.journal;
+        if (journal != null && !this.replacing) {
+            journal.append(section, key);
+        }
+    }
+
+    /**
+     * Replaces the contents without journaling the values the loader sets, the header is restored with the contents
+     * when the load fails. A load that succeeds is compacted into the file of the open {@link ConfigurationJournal}
+     * before this returns, the records journaled before describe contents that are gone.
+     * @param loader fills in the new contents once the previous ones are cleared
+     * @return false if the loader gave up
+     * @throws InvalidConfigurationException if the loader fails or the new contents are rejected
+     */
+    @Override
+    protected boolean replaceContents(@NotNull ContentLoader loader) throws InvalidConfigurationException {
+        String header = this.options().header();
+        boolean replacing = this.replacing;
+        boolean loaded = false;
+        this.replacing = true;
+        try {
+            loaded = super.replaceContents(this.loadTask == null ? loader : () -> {
+                if (!loader.load()) {
+                    return false;
+                }
+
+                this.commitLoad();
+                return true;
+            });
+        } finally {
+            this.replacing = replacing;
+            if (!loaded) {
+                this.options().header(header);
+            }
+        }
+
+        ConfigurationJournal journal = this.journal;
+        if (loaded && journal != null && !replacing) {
+            journal.reloaded();
+        }
+
+        return loaded;
+    }
+
     @NotNull
     public FileConfigurationOptions options() {
         if (this.options == null) {
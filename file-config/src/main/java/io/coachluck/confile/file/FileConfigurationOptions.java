@@ -26,9 +26,12 @@ import io.coachluck.confile.MemoryConfigurationOptions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.Executor;
+
 public class FileConfigurationOptions extends MemoryConfigurationOptions {
     private String header = null;
     private boolean copyHeader = true;
+    private Executor executor = null;
 
     protected FileConfigurationOptions(@NotNull MemoryConfiguration configuration) {
         super(configuration);
@@ -51,6 +54,18 @@ public class FileConfigurationOptions extends MemoryConfigurationOptions {
         return this;
     }
 
+    @NotNull
+    public FileConfigurationOptions keyIndexThreshold(int keys) {
+        super.keyIndexThreshold(keys);
+        return this;
+    }
+
+    @NotNull
+    public FileConfigurationOptions heapBudget(long bytes) {
+        super.heapBudget(bytes);
+        return this;
+    }
+
     @Nullable
     public String header() {
         return this.header;
@@ -71,4 +86,24 @@ public class FileConfigurationOptions extends MemoryConfigurationOptions {
         this.copyHeader = value;
         return this;
     }
+
+    /**
+     * Gets the executor asynchronous loads and saves run on
+     * @return the executor, a virtual thread per task when the JVM supports them and a shared pool otherwise
+     */
+    @NotNull
+    public Executor executor() {
+        return this.executor == null ? AsyncTask.sharedExecutor() : this.executor;
+    }
+
+    /**
+     * Sets the executor asynchronous loads and saves run on, it is never shut down by the configuration
+     * @param executor the executor, null for the default
+     * @return the updated FileConfigurationOptions
+     */
+    @NotNull
+    public FileConfigurationOptions executor(@Nullable Executor executor) {
+        this.executor = executor;
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+/*
+ *   Project: Confile
+ *   File: PhaseEvent.java
+ *   Last Modified: 10/19/26, 6:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.file.PhaseListener.Phase;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A phase of a load or save, see {@link PhaseListener}. Counts a phase does not track are 0.
+ */
+public final class PhaseEvent {
+    private final FileConfiguration configuration;
+    private final Phase phase;
+    private final long startNanos;
+    private final long durationNanos;
+    private final long bytes;
+    private final long nodes;
+    private final long objects;
+
+    PhaseEvent(@NotNull FileConfiguration configuration, @NotNull Phase phase, long startNanos, long durationNanos,
+               long bytes, long nodes, long objects) {
+        this.configuration = configuration;
+        this.phase = phase;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.bytes = bytes;
+        this.nodes = nodes;
+        this.objects = objects;
+    }
+
+    /**
+     * Gets the configuration loading or saving
+     * @return the configuration
+     */
+    @NotNull
+    public FileConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * Gets the phase
+     * @return the phase
+     */
+    @NotNull
+    public Phase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Gets the time the phase started at
+     * @return the {@link System#nanoTime()} at the start
+     */
+    public long getStartNanos() {
+        return this.startNanos;
+    }
+
+    /**
+     * Gets the time the phase took
+     * @return the duration in nanoseconds, 0 for start events
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * Gets the number of bytes the phase read or wrote
+     * @return the bytes, chars for phases working on strings
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Gets the number of nodes the phase handled
+     * @return the YAML nodes or the sections, depending on the phase
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the number of objects the phase created
+     * @return the serializable objects or the values, depending on the phase
+     */
+    public long getObjects() {
+        return this.objects;
+    }
+
+    @Override
+    public String toString() {
+        return "PhaseEvent{phase=" + this.phase + ", durationNanos=" + this.durationNanos + ", bytes=" + this.bytes
+                + ", nodes=" + this.nodes + ", objects=" + this.objects + '}';
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *   Project: Confile
+ *   File: PhaseListener.java
+ *   Last Modified: 10/19/26, 6:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives an event when a phase of a load or save of a {@link FileConfiguration} starts and ends, to feed
+ * tracing systems. Listeners are called on the thread doing the work and should return quickly. A phase that
+ * throws has no end event, the exception then ends it.
+ * <pre>
+ * config.addPhaseListener(new PhaseListener() {
+ *     public void phaseEnded(PhaseEvent event) {
+ *         tracer.record(event.getPhase().name(), event.getStartNanos(), event.getDurationNanos());
+ *     }
+ * });
+ * </pre>
+ * @see FileConfiguration#addPhaseListener(PhaseListener)
+ */
+public interface PhaseListener {
+
+    /**
+     * Called when a phase starts
+     * @param event the phase, the counts known upfront and a duration of 0
+     */
+    default void phaseStarted(@NotNull PhaseEvent event) { }
+
+    /**
+     * Called when a phase ends
+     * @param event the phase, its duration and its counts
+     */
+    void phaseEnded(@NotNull PhaseEvent event);
+
+    /**
+     * The phases of loads and saves, in the order they run
+     */
+    enum Phase {
+        /**
+         * Reading a file or reader into a string, bytes are the chars read
+         */
+        READ,
+        /**
+         * Parsing the string, bytes are its length and nodes the YAML nodes composed. Parsers that build
+         * the sections directly also cover {@link #CONVERT}.
+         */
+        PARSE,
+        /**
+         * Constructing the objects of the YAML nodes, {@link io.coachluck.confile.serialization.ConfigurationSerialization}
+         * included, nodes are the nodes constructed and objects the serializable objects created
+         */
+        CONSTRUCT,
+        /**
+         * Copying the constructed maps into sections, nodes are the sections created and objects the values set
+         */
+        CONVERT,
+        /**
+         * Checking the loaded contents against the heap budget, the placeholders and the schema
+         */
+        VALIDATE,
+        /**
+         * Turning the configuration into a string, bytes are its length. Formats that stream their output
+         * do this as part of {@link #WRITE}.
+         */
+        SERIALIZE,
+        /**
+         * Writing a file, bytes are the size of the file
+         */
+        WRITE
+    }
+}
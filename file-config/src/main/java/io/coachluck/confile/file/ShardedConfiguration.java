@@ -0,0 +1,688 @@
+/*
+ *   Project: Confile
+ *   File: ShardedConfiguration.java
+ *   Last Modified: 10/19/26, 2:20 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.MemorySection;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * A FileConfiguration stored as a directory of smaller files. Every section at the shard depth lives in its own file,
+ * the sections above it become directories, so with a depth of 2 the section {@code a.b} is stored in {@code a/b.yml}.
+ * Values that are not inside a shard are kept in the {@value #ROOT_SHARD} file of the directory.
+ * <p>
+ * Loading the directory only lists the files, a shard is read the first time something inside it is accessed.
+ * Saving back to the same directory only writes the shards that changed and deletes the files of removed shards.
+ */
+public class ShardedConfiguration extends FileConfiguration {
+    public static final String ROOT_SHARD = "_root";
+    private final Supplier<? extends FileConfiguration> format;
+    private final String extension;
+    private final Set<String> dirty = new LinkedHashSet<>();
+    private boolean rootDirty;
+    private boolean rewrite;
+    private boolean loading;
+    private File directory;
+
+    /**
+     * Creates a new ShardedConfiguration
+     * @param format creates an empty configuration of the format every shard is stored in, e.g. {@code YamlConfiguration::new}
+     * @param extension the file extension of the shards including the dot, e.g. {@code ".yml"}
+     */
+    public ShardedConfiguration(@NotNull Supplier<? extends FileConfiguration> format, @NotNull String extension) {
+        this.format = format;
+        this.extension = extension;
+    }
+
+    /**
+     * Lists the shards of a directory, the shards themselves are read on first access
+     * @param directory the directory to load
+     * @throws FileNotFoundException if the directory does not exist
+     * @throws IOException if the root file cannot be read
+     * @throws InvalidConfigurationException if the root file is invalid
+     */
+    @Override
+    public void load(@NotNull File directory) throws IOException, InvalidConfigurationException {
+        if (!directory.isDirectory()) {
+            throw new FileNotFoundException(directory + " is not a directory");
+        }
+
+        File root = new File(directory, ROOT_SHARD + this.extension);
+        FileConfiguration values = null;
+        if (root.isFile()) {
+            values = this.newFormat();
+            values.load(root);
+        }
+
+        this.commitLoad();
+        this.loading = true;
+        try {
+            this.clear();
+            if (values != null) {
+                copy(values, this);
+            }
+
+            this.discover(directory, this, 1);
+        } finally {
+            this.loading = false;
+        }
+
+        this.directory = directory;
+        this.dirty.clear();
+        this.rootDirty = false;
+        this.rewrite = false;
+    }
+
+    /**
+     * Loads a directory on the executor of the options, the shards below the root stay lazy as with {@link #load(File)}
+     * @param directory the directory holding the shards
+     * @param timeout the time after which the future fails with a TimeoutException, 0 for none
+     * @param unit the unit of the timeout
+     * @return the future of the load, a load cancelled or timed out before the root file is read leaves the configuration unchanged
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<Void> loadAsync(@NotNull File directory, long timeout, @NotNull TimeUnit unit) {
+        return AsyncTask.submit(task -> {
+            this.loadCommitted(task, directory);
+            return null;
+        }, this.options().executor(), timeout, unit);
+    }
+
+    /**
+     * Saves the configuration to a directory. Saving to the directory it was loaded from only writes the changed shards,
+     * saving anywhere else reads every shard that is not loaded yet and writes all of them.
+     * @param directory the directory to save to
+     * @throws IOException if a shard cannot be written
+     */
+    @Override
+    public void save(@NotNull File directory) throws IOException {
+        ConfigurationMetrics metrics = this.metrics;
+        long start = metrics == null ? 0L : System.nanoTime();
+        long phase = this.phaseStarted(Phase.WRITE, 0L);
+        if (this.rewrite || !directory.equals(this.directory)) {
+            this.loadBelow(this);
+            this.writeAll(this, directory, 1);
+            this.deleteOrphans(directory, 1, "");
+            this.writeRoot(directory);
+        } else {
+            for (String path : this.dirty) {
+                this.saveChange(directory, path);
+            }
+
+            if (this.rootDirty) {
+                this.writeRoot(directory);
+            }
+        }
+
+        this.directory = directory;
+        this.dirty.clear();
+        this.rootDirty = false;
+        this.rewrite = false;
+
+        if (metrics != null) {
+            metrics.write().record(System.nanoTime() - start);
+        }
+
+        this.phaseEnded(Phase.WRITE, phase, 0L, 0L, 0L);
+    }
+
+    /**
+     * Saves the whole configuration, every shard included, as a single document of the shard format
+     * @return the configuration as a string
+     */
+    @NotNull
+    public String saveToString() {
+        this.loadBelow(this);
+        FileConfiguration values = this.newFormat();
+        copy(this, values);
+        return values.saveToString();
+    }
+
+    /**
+     * Loads a single document of the shard format, the next save splits it into shards
+     * @param contents the contents to load
+     * @throws InvalidConfigurationException if the contents are invalid
+     */
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        FileConfiguration values = this.newFormat();
+        values.loadFromString(contents);
+        this.replaceContents(() -> {
+            copy(values, this);
+            return true;
+        });
+
+        this.rewrite = true;
+    }
+
+    /**
+     * Shards are written without a header
+     * @return an empty String
+     */
+    @NotNull
+    public String buildHeader() {
+        return "";
+    }
+
+    /**
+     * Checks whether the shard at a path has been read already
+     * @param path the path of the shard
+     * @return true if the shard is loaded or was created in memory, false if it is not loaded or there is no shard
+     */
+    public boolean isShardLoaded(@NotNull String path) {
+        Object value = this.peek(path);
+        return value instanceof ShardSection ? ((ShardSection) value).loaded : value instanceof ConfigurationSection;
+    }
+
+    @Nullable
+    @Override
+    protected Object find(@NotNull String path) {
+        this.prepare(this, 0, path);
+        return super.find(path);
+    }
+
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        this.prepare(this, 0, path);
+        super.set(path, value);
+    }
+
+    @NotNull
+    @Override
+    public ConfigurationSection createSection(@NotNull String path) {
+        if (path.indexOf(this.options().pathSeparator()) >= 0) {
+            return super.createSection(path);
+        }
+
+        MemorySection section = this.newChild(this, path, 1);
+        this.map.put(path, section);
+        this.changed(path);
+        return section;
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys(boolean deep) {
+        if (deep) {
+            this.loadBelow(this);
+        }
+
+        return super.getKeys(deep);
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getValues(boolean deep) {
+        if (deep) {
+            this.loadBelow(this);
+        }
+
+        return super.getValues(deep);
+    }
+
+    @Override
+    protected void onChange(@NotNull ConfigurationSection section, @NotNull String key) {
+        // a shard read on first access is a load, it is neither dirty nor journaled
+        if (this.loading) {
+            return;
+        }
+
+        super.onChange(section, key);
+
+        for (ConfigurationSection parent = section; parent != null; parent = parent.getParent()) {
+            if (parent instanceof ShardSection) {
+                this.dirty.add(parent.getCurrentPath());
+                return;
+            }
+        }
+
+        this.rootDirty = true;
+        this.dirty.add(createPath(section, key));
+    }
+
+    /**
+     * Get the ShardedConfiguration options of the ShardedConfiguration
+     * @return the ShardedConfigurations options
+     */
+    @NotNull
+    public ShardedConfigurationOptions options() {
+        if (this.options == null) {
+            this.options = new ShardedConfigurationOptions(this);
+        }
+
+        return (ShardedConfigurationOptions) this.options;
+    }
+
+    /**
+     * Loads a ShardedConfiguration from a directory
+     * @param directory the directory holding the shards
+     * @param format creates an empty configuration of the shard format
+     * @param extension the file extension of the shards including the dot
+     * @return the directory as a ShardedConfiguration object.
+     */
+    @NotNull
+    public static ShardedConfiguration loadConfiguration(@NotNull File directory,
+                                                         @NotNull Supplier<? extends FileConfiguration> format,
+                                                         @NotNull String extension) {
+        ShardedConfiguration config = new ShardedConfiguration(format, extension);
+
+        try {
+            config.load(directory);
+        } catch (FileNotFoundException ignored) {
+        } catch (IOException | InvalidConfigurationException e) {
+            System.out.println("Cannot load " + directory + "\n" + e);
+        }
+
+        return config;
+    }
+
+    @NotNull
+    private FileConfiguration newFormat() {
+        FileConfiguration values = this.format.get();
+        values.options().pathSeparator(this.options().pathSeparator());
+        return values;
+    }
+
+    @NotNull
+    private MemorySection newChild(@NotNull ConfigurationSection parent, @NotNull String key, int depth) {
+        return depth == this.options().shardDepth() ? new ShardSection(parent, key, true) : new DirectorySection(parent, key, depth);
+    }
+
+    /**
+     * Creates the unloaded shards for the files of a directory
+     */
+    private void discover(@NotNull File dir, @NotNull MemorySection container, int depth) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files);
+        int shardDepth = this.options().shardDepth();
+        for (File file : files) {
+            String name = file.getName();
+            if (depth < shardDepth && file.isDirectory()) {
+                Object existing = child(container, name);
+                DirectorySection section;
+                if (existing instanceof DirectorySection) {
+                    section = (DirectorySection) existing;
+                } else {
+                    section = new DirectorySection(container, name, depth);
+                    this.put(container, name, section);
+                }
+
+                this.discover(file, section, depth + 1);
+            } else if (depth == shardDepth && file.isFile() && name.endsWith(this.extension)
+                    && !(depth == 1 && name.equals(ROOT_SHARD + this.extension))) {
+                String key = name.substring(0, name.length() - this.extension.length());
+                this.put(container, key, new ShardSection(container, key, false));
+            }
+        }
+    }
+
+    /**
+     * Loads the shard a path relative to a container points into, if the path reaches below the shard depth
+     */
+    private void prepare(@NotNull MemorySection container, int depth, @NotNull String path) {
+        char separator = this.options().pathSeparator();
+        int end = -1;
+        for (int i = depth, shardDepth = this.options().shardDepth(); i < shardDepth; i++) {
+            end = path.indexOf(separator, end + 1);
+            if (end < 0) {
+                return;
+            }
+        }
+
+        Object shard = this.peek(container, path.substring(0, end));
+        if (shard instanceof ShardSection) {
+            ((ShardSection) shard).load();
+        }
+    }
+
+    private void loadBelow(@NotNull MemorySection container) {
+        for (Object value : this.children(container)) {
+            if (value instanceof ShardSection) {
+                ((ShardSection) value).load();
+            } else if (value instanceof DirectorySection) {
+                this.loadBelow((DirectorySection) value);
+            }
+        }
+    }
+
+    /**
+     * Writes a dirty shard, or deletes the files of a shard or directory that was removed
+     */
+    private void saveChange(@NotNull File directory, @NotNull String path) throws IOException {
+        String[] keys = this.split(path);
+        Object value = this.peek(path);
+        if (keys.length < this.options().shardDepth()) {
+            this.deleteOrphans(this.fileOf(directory, keys, false), keys.length + 1, path);
+        } else if (value instanceof ShardSection && !((ShardSection) value).loaded) {
+            return;
+        } else if (value instanceof ConfigurationSection) {
+            this.writeShard((ConfigurationSection) value, this.fileOf(directory, keys, true));
+        } else {
+            Files.deleteIfExists(this.fileOf(directory, keys, true).toPath());
+        }
+    }
+
+    private void writeAll(@NotNull ConfigurationSection container, @NotNull File dir, int depth) throws IOException {
+        for (Map.Entry<String, Object> entry : container.getValues(false).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                continue;
+            }
+
+            ConfigurationSection section = (ConfigurationSection) entry.getValue();
+            if (depth == this.options().shardDepth()) {
+                this.writeShard(section, new File(dir, entry.getKey() + this.extension));
+            } else {
+                this.writeAll(section, new File(dir, entry.getKey()), depth + 1);
+            }
+        }
+    }
+
+    private void writeShard(@NotNull ConfigurationSection section, @NotNull File file) throws IOException {
+        FileConfiguration values = this.newFormat();
+        copy(section, values);
+        values.save(file);
+    }
+
+    /**
+     * Writes every value that is not inside a shard to the root file, deletes the root file if there are none
+     */
+    private void writeRoot(@NotNull File directory) throws IOException {
+        FileConfiguration values = this.newFormat();
+        this.collectRootValues(this, values, 1);
+        File file = new File(directory, ROOT_SHARD + this.extension);
+        if (values.getKeys(false).isEmpty()) {
+            Files.deleteIfExists(file.toPath());
+        } else {
+            values.save(file);
+        }
+    }
+
+    private void collectRootValues(@NotNull ConfigurationSection container, @NotNull ConfigurationSection values, int depth) {
+        for (Map.Entry<String, Object> entry : container.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof ConfigurationSection)) {
+                values.set(entry.getKey(), value);
+            } else if (depth < this.options().shardDepth()) {
+                this.collectRootValues((ConfigurationSection) value, values.createSection(entry.getKey()), depth + 1);
+                if (values.getConfigurationSection(entry.getKey()).getKeys(false).isEmpty()) {
+                    values.set(entry.getKey(), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the shard files below a directory that no longer have a section
+     */
+    private void deleteOrphans(@NotNull File dir, int depth, @NotNull String prefix) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        int shardDepth = this.options().shardDepth();
+        for (File file : files) {
+            String name = file.getName();
+            String path = prefix.isEmpty() ? name : prefix + this.options().pathSeparator() + name;
+            if (depth < shardDepth && file.isDirectory()) {
+                this.deleteOrphans(file, depth + 1, path);
+            } else if (depth == shardDepth && file.isFile() && name.endsWith(this.extension)
+                    && !(depth == 1 && name.equals(ROOT_SHARD + this.extension))) {
+                path = path.substring(0, path.length() - this.extension.length());
+                if (!(this.peek(path) instanceof ConfigurationSection)) {
+                    Files.delete(file.toPath());
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private File fileOf(@NotNull File directory, @NotNull String[] keys, boolean shard) {
+        File file = directory;
+        for (int i = 0; i < keys.length; i++) {
+            file = new File(file, shard && i == keys.length - 1 ? keys[i] + this.extension : keys[i]);
+        }
+
+        return file;
+    }
+
+    @NotNull
+    private String[] split(@NotNull String path) {
+        String separator = String.valueOf(this.options().pathSeparator());
+        return path.split(Pattern.quote(separator), -1);
+    }
+
+    /**
+     * Looks a path up without loading any shard
+     */
+    @Nullable
+    private Object peek(@NotNull String path) {
+        return this.peek(this, path);
+    }
+
+    @Nullable
+    private Object peek(@NotNull MemorySection container, @NotNull String path) {
+        Object value = container;
+        for (String key : this.split(path)) {
+            if (!(value == this || value instanceof DirectorySection)) {
+                return null;
+            }
+
+            value = this.child((MemorySection) value, key);
+        }
+
+        return value;
+    }
+
+    @Nullable
+    private Object child(@NotNull MemorySection container, @NotNull String key) {
+        return container == this ? this.map.get(key) : ((DirectorySection) container).map().get(key);
+    }
+
+    @NotNull
+    private Collection<Object> children(@NotNull MemorySection container) {
+        return container == this ? this.map.values() : ((DirectorySection) container).map().values();
+    }
+
+    private void put(@NotNull MemorySection container, @NotNull String key, @NotNull MemorySection child) {
+        if (container == this) {
+            this.map.put(key, child);
+        } else {
+            ((DirectorySection) container).map().put(key, child);
+        }
+    }
+
+    private static void copy(@NotNull ConfigurationSection from, @NotNull ConfigurationSection to) {
+        for (Map.Entry<String, Object> entry : from.getValues(false).entrySet()) {
+            if (entry.getValue() instanceof ConfigurationSection) {
+                copy((ConfigurationSection) entry.getValue(), to.createSection(entry.getKey()));
+            } else {
+                to.set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * A section above the shard depth, stored as a directory
+     */
+    private final class DirectorySection extends MemorySection {
+        private final int depth;
+
+        private DirectorySection(@NotNull ConfigurationSection parent, @NotNull String key, int depth) {
+            super(parent, key);
+            this.depth = depth;
+        }
+
+        @NotNull
+        private Map<String, Object> map() {
+            return this.map;
+        }
+
+        @Nullable
+        @Override
+        protected Object find(@NotNull String path) {
+            ShardedConfiguration.this.prepare(this, this.depth, path);
+            return super.find(path);
+        }
+
+        @Override
+        public void set(@NotNull String path, @Nullable Object value) {
+            ShardedConfiguration.this.prepare(this, this.depth, path);
+            super.set(path, value);
+        }
+
+        @NotNull
+        @Override
+        public ConfigurationSection createSection(@NotNull String path) {
+            if (path.indexOf(ShardedConfiguration.this.options().pathSeparator()) >= 0) {
+                return super.createSection(path);
+            }
+
+            MemorySection section = ShardedConfiguration.this.newChild(this, path, this.depth + 1);
+            this.map.put(path, section);
+            this.changed(path);
+            return section;
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys(boolean deep) {
+            if (deep) {
+                ShardedConfiguration.this.loadBelow(this);
+            }
+
+            return super.getKeys(deep);
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> getValues(boolean deep) {
+            if (deep) {
+                ShardedConfiguration.this.loadBelow(this);
+            }
+
+            return super.getValues(deep);
+        }
+    }
+
+    /**
+     * A section at the shard depth, stored in its own file and read on first access
+     */
+    private final class ShardSection extends MemorySection {
+        private boolean loaded;
+
+        private ShardSection(@NotNull ConfigurationSection parent, @NotNull String key, boolean loaded) {
+            super(parent, key);
+            this.loaded = loaded;
+        }
+
+        private void load() {
+            if (this.loaded) {
+                return;
+            }
+
+            ShardedConfiguration config = ShardedConfiguration.this;
+            File file = config.fileOf(config.directory, config.split(this.getCurrentPath()), true);
+            boolean loading = config.loading;
+            this.loaded = true;
+            config.loading = true;
+            try {
+                FileConfiguration values = config.newFormat();
+                values.load(file);
+                copy(values, this);
+            } catch (IOException | InvalidConfigurationException e) {
+                for (String key : new ArrayList<>(this.map.keySet())) {
+                    super.set(key, null);
+                }
+
+                this.loaded = false;
+                throw new IllegalStateException("Cannot load shard " + this.getCurrentPath() + " from " + file, e);
+            } finally {
+                config.loading = loading;
+            }
+        }
+
+        @Nullable
+        @Override
+        protected Object find(@NotNull String path) {
+            this.load();
+            return super.find(path);
+        }
+
+        @Override
+        public void set(@NotNull String path, @Nullable Object value) {
+            this.load();
+            super.set(path, value);
+        }
+
+        @NotNull
+        @Override
+        public ConfigurationSection createSection(@NotNull String path) {
+            this.load();
+            return super.createSection(path);
+        }
+
+        @NotNull
+        @Override
+        protected Map<String, Object> entries() {
+            this.load();
+            return super.entries();
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys(boolean deep) {
+            this.load();
+            return super.getKeys(deep);
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> getValues(boolean deep) {
+            this.load();
+            return super.getValues(deep);
+        }
+    }
+}
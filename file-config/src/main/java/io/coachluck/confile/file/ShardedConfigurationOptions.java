@@ -0,0 +1,149 @@
+/*
+ *   Project: Confile
+ *   File: ShardedConfigurationOptions.java
+ *   Last Modified: 10/19/26, 2:20 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+public class ShardedConfigurationOptions extends FileConfigurationOptions {
+    private int shardDepth = 1;
+
+    /**
+     * Creates the default ShardedConfigurationOptions from a ShardedConfiguration
+     * @param configuration the ShardedConfiguration
+     */
+    protected ShardedConfigurationOptions(@NotNull ShardedConfiguration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Gets the ShardedConfiguration that this is attached too
+     * @return the ShardedConfiguration that this is attached too
+     */
+    @NotNull
+    public ShardedConfiguration configuration() {
+        return (ShardedConfiguration) super.configuration();
+    }
+
+    /**
+     * Whether or not to copy the defaults already set
+     * @param value true to copy, false to not
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions copyDefaults(boolean value) {
+        super.copyDefaults(value);
+        return this;
+    }
+
+    /**
+     * Sets the path separator of the ShardedConfigurationOptions
+     * @param separator the character to separate paths
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions pathSeparator(char separator) {
+        super.pathSeparator(separator);
+        return this;
+    }
+
+    /**
+     * Sets the number of keys from which a section keeps a sorted index of its keys for queries
+     * @param keys the threshold, 0 to never index
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions keyIndexThreshold(int keys) {
+        super.keyIndexThreshold(keys);
+        return this;
+    }
+
+    /**
+     * Sets the heap a load may retain, a load over the budget fails
+     * @param bytes the budget in bytes, 0 to not check loads
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions heapBudget(long bytes) {
+        super.heapBudget(bytes);
+        return this;
+    }
+
+    /**
+     * Sets the executor asynchronous loads and saves run on
+     * @param executor the executor, null for the default
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions executor(@Nullable Executor executor) {
+        super.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the header of the ShardedConfiguration, shards are written without a header
+     * @param header header content as a string.
+     * @return the ShardedConfigurationOptions with the applied header
+     */
+    @NotNull
+    public ShardedConfigurationOptions header(@Nullable String header) {
+        super.header(header);
+        return this;
+    }
+
+    /**
+     * Whether or not to copy the header of the file for saving later
+     * @param value true to copy, false to not
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions copyHeader(boolean value) {
+        super.copyHeader(value);
+        return this;
+    }
+
+    /**
+     * Gets the depth of the sections that are stored in their own file
+     * @return the shard depth, 1 stores every top level section in its own file
+     */
+    public int shardDepth() {
+        return this.shardDepth;
+    }
+
+    /**
+     * Sets the depth of the sections that are stored in their own file, the sections above it become directories.
+     * Has to be set before the configuration is loaded.
+     * @param depth the shard depth, at least 1
+     * @return the updated ShardedConfigurationOptions
+     */
+    @NotNull
+    public ShardedConfigurationOptions shardDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Shard depth must be at least 1, got " + depth);
+        }
+
+        this.shardDepth = depth;
+        return this;
+    }
+}
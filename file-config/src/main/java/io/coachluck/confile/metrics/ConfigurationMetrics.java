@@ -0,0 +1,211 @@
+/*
+ *   Project: Confile
+ *   File: ConfigurationMetrics.java
+ *   Last Modified: 10/19/26, 10:04 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and phase latencies of a single configuration, exposed over JMX as
+ * {@code io.coachluck.confile:type=Configuration,name=<name>}
+ */
+public class ConfigurationMetrics implements ConfigurationMetricsMBean {
+    public static final String DOMAIN = "io.coachluck.confile";
+    private final String name;
+    private final ObjectName objectName;
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder sets = new LongAdder();
+    private final LongAdder defaultHits = new LongAdder();
+    private final LongAdder defaultMisses = new LongAdder();
+    private final LatencyHistogram parse = new LatencyHistogram();
+    private final LatencyHistogram convert = new LatencyHistogram();
+    private final LatencyHistogram write = new LatencyHistogram();
+
+    /**
+     * Creates the metrics of a configuration
+     * @param name the name the configuration is registered under
+     * @throws IllegalArgumentException if the name is not valid in an ObjectName
+     */
+    public ConfigurationMetrics(@NotNull String name) {
+        this.name = name;
+        try {
+            this.objectName = new ObjectName(DOMAIN + ":type=Configuration,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid metrics name '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server
+     * @throws IllegalStateException if a configuration with the same name is already registered
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, this.objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Metrics '" + this.name + "' are already registered", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics '" + this.name + "'", e);
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, does nothing if they were not registered
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(this.objectName);
+        } catch (InstanceNotFoundException ignored) {
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister metrics '" + this.name + "'", e);
+        }
+    }
+
+    @NotNull
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    public void recordGet() {
+        this.gets.increment();
+    }
+
+    public void recordSet() {
+        this.sets.increment();
+    }
+
+    public void recordDefaultHit() {
+        this.defaultHits.increment();
+    }
+
+    public void recordDefaultMiss() {
+        this.defaultMisses.increment();
+    }
+
+    @NotNull
+    public LatencyHistogram parse() {
+        return this.parse;
+    }
+
+    @NotNull
+    public LatencyHistogram convert() {
+        return this.convert;
+    }
+
+    @NotNull
+    public LatencyHistogram write() {
+        return this.write;
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    public long getGets() {
+        return this.gets.sum();
+    }
+
+    public long getSets() {
+        return this.sets.sum();
+    }
+
+    public long getDefaultHits() {
+        return this.defaultHits.sum();
+    }
+
+    public long getDefaultMisses() {
+        return this.defaultMisses.sum();
+    }
+
+    public long getParseCount() {
+        return this.parse.count();
+    }
+
+    public long getParseMeanMicros() {
+        return micros(this.parse.mean());
+    }
+
+    public long getParseP99Micros() {
+        return micros(this.parse.percentile(0.99D));
+    }
+
+    public long getParseMaxMicros() {
+        return micros(this.parse.max());
+    }
+
+    public long getConvertCount() {
+        return this.convert.count();
+    }
+
+    public long getConvertMeanMicros() {
+        return micros(this.convert.mean());
+    }
+
+    public long getConvertP99Micros() {
+        return micros(this.convert.percentile(0.99D));
+    }
+
+    public long getConvertMaxMicros() {
+        return micros(this.convert.max());
+    }
+
+    public long getWriteCount() {
+        return this.write.count();
+    }
+
+    public long getWriteMeanMicros() {
+        return micros(this.write.mean());
+    }
+
+    public long getWriteP99Micros() {
+        return micros(this.write.percentile(0.99D));
+    }
+
+    public long getWriteMaxMicros() {
+        return micros(this.write.max());
+    }
+
+    public void reset() {
+        this.gets.reset();
+        this.sets.reset();
+        this.defaultHits.reset();
+        this.defaultMisses.reset();
+        this.parse.reset();
+        this.convert.reset();
+        this.write.reset();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *   Project: Confile
+ *   File: ConfigurationMetricsMBean.java
+ *   Last Modified: 10/19/26, 10:04 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.metrics;
+
+/**
+ * JMX view of the {@link ConfigurationMetrics} of a single named configuration.
+ * All latencies are reported in microseconds.
+ */
+public interface ConfigurationMetricsMBean {
+    String getName();
+
+    long getGets();
+
+    long getSets();
+
+    long getDefaultHits();
+
+    long getDefaultMisses();
+
+    long getParseCount();
+
+    long getParseMeanMicros();
+
+    long getParseP99Micros();
+
+    long getParseMaxMicros();
+
+    long getConvertCount();
+
+    long getConvertMeanMicros();
+
+    long getConvertP99Micros();
+
+    long getConvertMaxMicros();
+
+    long getWriteCount();
+
+    long getWriteMeanMicros();
+
+    long getWriteP99Micros();
+
+    long getWriteMaxMicros();
+
+    void reset();
+}
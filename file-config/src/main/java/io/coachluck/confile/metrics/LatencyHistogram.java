@@ -0,0 +1,117 @@
+/*
+ *   Project: Confile
+ *   File: LatencyHistogram.java
+ *   Last Modified: 10/19/26, 10:04 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of latencies in nanoseconds. Values are counted in power of two buckets,
+ * so percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 65;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a single latency
+     * @param nanos the latency in nanoseconds, negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        this.buckets[64 - Long.numberOfLeadingZeros(value)].increment();
+        this.count.increment();
+        this.total.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Gets the number of recorded latencies
+     * @return the number of recorded latencies
+     */
+    public long count() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the mean of all recorded latencies
+     * @return the mean in nanoseconds, 0 if nothing was recorded
+     */
+    public long mean() {
+        long count = this.count.sum();
+        return count == 0 ? 0L : this.total.sum() / count;
+    }
+
+    /**
+     * Gets the largest recorded latency
+     * @return the largest latency in nanoseconds
+     */
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets an upper bound of the given percentile
+     * @param percentile the percentile between 0 and 1
+     * @return the upper bound in nanoseconds, 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        long count = this.count.sum();
+        if (count == 0) {
+            return 0L;
+        }
+
+        long threshold = (long) Math.ceil(count * Math.min(Math.max(percentile, 0D), 1D));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets[i].sum();
+            if (seen >= threshold) {
+                long upper = i == 0 ? 0L : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upper, this.max());
+            }
+        }
+
+        return this.max();
+    }
+
+    /**
+     * Clears all recorded latencies
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+
+        this.count.reset();
+        this.total.reset();
+        this.max.reset();
+    }
+}
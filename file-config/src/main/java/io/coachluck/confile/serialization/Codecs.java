@@ -0,0 +1,184 @@
+/*
+ *   Project: Confile
+ *   File: Codecs.java
+ *   Last Modified: 10/19/26, 7:50 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.serialization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Conversions used by generated {@link ConfigurationCodec}s to turn loaded values into field values. Numbers are
+ * converted between types, a missing value becomes the default of a primitive, any other mismatch fails with the
+ * key of the value.
+ */
+public final class Codecs {
+
+    private Codecs() { }
+
+    public static int toInt(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0 : number(value, key).intValue();
+    }
+
+    public static long toLong(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0L : number(value, key).longValue();
+    }
+
+    public static double toDouble(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0.0 : number(value, key).doubleValue();
+    }
+
+    public static float toFloat(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0.0F : number(value, key).floatValue();
+    }
+
+    public static short toShort(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0 : number(value, key).shortValue();
+    }
+
+    public static byte toByte(@Nullable Object value, @NotNull String key) {
+        return value == null ? 0 : number(value, key).byteValue();
+    }
+
+    public static boolean toBoolean(@Nullable Object value, @NotNull String key) {
+        if (value == null) {
+            return false;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        throw mismatch(value, "a boolean", key);
+    }
+
+    public static char toChar(@Nullable Object value, @NotNull String key) {
+        if (value == null) {
+            return '\0';
+        } else if (value instanceof Character) {
+            return (Character) value;
+        } else if (value instanceof String && ((String) value).length() == 1) {
+            return ((String) value).charAt(0);
+        }
+
+        throw mismatch(value, "a char", key);
+    }
+
+    /**
+     * Converts a scalar to a string
+     * @param value the loaded value
+     * @param key the key of the value, for the error
+     * @return the string, null if there is no value
+     */
+    @Nullable
+    public static String toString(@Nullable Object value, @NotNull String key) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return value.toString();
+        }
+
+        throw mismatch(value, "a string", key);
+    }
+
+    /**
+     * Converts the name of a constant to the constant
+     * @param value the loaded value
+     * @param type the enum
+     * @param key the key of the value, for the error
+     * @return the constant, null if there is no value
+     */
+    @Nullable
+    public static <T extends Enum<T>> T toEnum(@Nullable Object value, @NotNull Class<T> type, @NotNull String key) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Enum.valueOf(type, value.toString());
+        } catch (IllegalArgumentException e) {
+            throw mismatch(value, "a constant of " + type.getSimpleName(), key);
+        }
+    }
+
+    /**
+     * Gets the name of a constant, how enums are written
+     * @param value the constant
+     * @return its name, null for null
+     */
+    @Nullable
+    public static String name(@Nullable Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    /**
+     * Converts a value to a type, deserializing deferred and still serialized objects
+     * @param value the loaded value
+     * @param type the type of the field, numbers are converted to the boxed number types
+     * @param key the key of the value, for the error
+     * @return the value, null if there is none
+     */
+    @Nullable
+    public static <T> T toObject(@Nullable Object value, @NotNull Class<T> type, @NotNull String key) {
+        if (value instanceof DeferredSerializable) {
+            value = ((DeferredSerializable) value).deserialize();
+        } else if (value instanceof Map && ConfigurationSerializable.class.isAssignableFrom(type)
+                && ((Map<?, ?>) value).containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+            @SuppressWarnings("unchecked")
+            Map<String, ?> values = (Map<String, ?>) value;
+            value = ConfigurationSerialization.deserializeObject(values);
+        }
+
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        } else if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == Integer.class) {
+                return type.cast(number.intValue());
+            } else if (type == Long.class) {
+                return type.cast(number.longValue());
+            } else if (type == Double.class) {
+                return type.cast(number.doubleValue());
+            } else if (type == Float.class) {
+                return type.cast(number.floatValue());
+            } else if (type == Short.class) {
+                return type.cast(number.shortValue());
+            } else if (type == Byte.class) {
+                return type.cast(number.byteValue());
+            }
+        }
+
+        throw mismatch(value, "a " + type.getSimpleName(), key);
+    }
+
+    @NotNull
+    private static Number number(@NotNull Object value, @NotNull String key) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+
+        throw mismatch(value, "a number", key);
+    }
+
+    @NotNull
+    private static IllegalArgumentException mismatch(@NotNull Object value, @NotNull String expected, @NotNull String key) {
+        return new IllegalArgumentException(key + ": expected " + expected + ", got " + value.getClass().getSimpleName() + " " + value);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *   Project: Confile
+ *   File: ConfigurationCodec.java
+ *   Last Modified: 10/19/26, 7:50 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.serialization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serializes and deserializes one {@link ConfigurationSerializable} class without reflection. Codecs are usually
+ * generated by the {@code confile-processor} annotation processor from classes annotated with {@link GenerateCodec}
+ * and listed in {@code META-INF/services/io.coachluck.confile.serialization.ConfigurationCodec}, so
+ * {@link ConfigurationSerialization} registers them with their alias on startup.
+ * <p>
+ * Writers stream the fields of an object through {@link #serialize(ConfigurationSerializable, FieldWriter)}
+ * instead of asking it for a map.
+ * @param <T> the serialized class
+ */
+public interface ConfigurationCodec<T extends ConfigurationSerializable> {
+
+    /**
+     * Gets the class this codec handles
+     * @return the class
+     */
+    @NotNull
+    Class<T> getType();
+
+    /**
+     * Gets the alias written under the {@code ==} type key
+     * @return the alias
+     */
+    @NotNull
+    String getAlias();
+
+    /**
+     * Creates an object from its serialized values
+     * @param values the values, the type key is ignored
+     * @return the object
+     * @throws IllegalArgumentException if a value has the wrong type
+     */
+    @NotNull
+    T deserialize(@NotNull Map<String, ?> values);
+
+    /**
+     * Writes the fields of an object, in declaration order
+     * @param object the object
+     * @param writer the writer receiving every field
+     * @param <E> the exception the writer throws
+     * @throws E if the writer fails
+     */
+    <E extends Exception> void serialize(@NotNull T object, @NotNull FieldWriter<E> writer) throws E;
+
+    /**
+     * Collects the fields of an object into a map, classes can implement {@link ConfigurationSerializable#serialize()} with it
+     * @param object the object
+     * @return the fields, without the type key
+     */
+    @NotNull
+    default Map<String, Object> toMap(@NotNull T object) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        this.serialize(object, values::put);
+        return values;
+    }
+
+    /**
+     * Receives the fields of a serialized object
+     * @param <E> the exception writing a field can throw
+     */
+    @FunctionalInterface
+    interface FieldWriter<E extends Exception> {
+
+        /**
+         * Writes a field
+         * @param key the key of the field
+         * @param value the value of the field
+         * @throws E if writing fails
+         */
+        void write(@NotNull String key, @Nullable Object value) throws E;
+    }
+}
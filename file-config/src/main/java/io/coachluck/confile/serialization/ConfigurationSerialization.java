@@ -30,6 +30,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +39,11 @@ public class ConfigurationSerialization {
     public static final String SERIALIZED_TYPE_KEY = "==";
     private final Class<? extends ConfigurationSerializable> clazz;
     private static Map<String, Class<? extends ConfigurationSerializable>> aliases = new HashMap();
+    private static Map<Class<?>, ConfigurationCodec<?>> codecs = new HashMap<>();
+
+    static {
+        loadCodecs(Thread.currentThread().getContextClassLoader());
+    }
 
     protected ConfigurationSerialization(@NotNull Class<? extends ConfigurationSerializable> clazz) {
         this.clazz = clazz;
@@ -99,6 +106,11 @@ public class ConfigurationSerialization {
 
     @Nullable
     public ConfigurationSerializable deserialize(@NotNull Map<String, ?> args) {
+        ConfigurationCodec<?> codec = codecs.get(this.clazz);
+        if (codec != null) {
+            return codec.deserialize(args);
+        }
+
         ConfigurationSerializable result = null;
         Method method = this.getMethod("deserialize", true);
         if (method != null) {
@@ -164,11 +176,48 @@ public class ConfigurationSerialization {
         aliases.put(alias, clazz);
     }
 
+    /**
+     * Registers a codec, its class is then deserialized and written through it and needs no {@link #registerClass} call
+     * @param codec the codec
+     */
+    public static void registerCodec(@NotNull ConfigurationCodec<?> codec) {
+        codecs.put(codec.getType(), codec);
+        registerClass(codec.getType(), codec.getAlias());
+        registerClass(codec.getType(), codec.getType().getName());
+    }
+
+    /**
+     * Registers the codecs a class loader lists as {@link ConfigurationCodec} services. Codecs visible to the
+     * context class loader are registered on startup, plugin systems call this for the loaders of their plugins.
+     * @param loader the class loader, null for the system class loader
+     */
+    public static void loadCodecs(@Nullable ClassLoader loader) {
+        try {
+            for (ConfigurationCodec<?> codec : ServiceLoader.load(ConfigurationCodec.class, loader)) {
+                registerCodec(codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            Logger.getLogger(ConfigurationSerialization.class.getName()).log(Level.SEVERE, "Could not load the configuration codecs", e);
+        }
+    }
+
+    /**
+     * Gets the codec of a class
+     * @param clazz the class
+     * @return the registered codec, null if the class has none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T extends ConfigurationSerializable> ConfigurationCodec<T> getCodec(@NotNull Class<T> clazz) {
+        return (ConfigurationCodec<T>) codecs.get(clazz);
+    }
+
     public static void unregisterClass(@NotNull String alias) {
         aliases.remove(alias);
     }
 
     public static void unregisterClass(@NotNull Class<? extends ConfigurationSerializable> clazz) {
+        codecs.remove(clazz);
         while(aliases.values().remove(clazz)) { }
     }
 
@@ -0,0 +1,165 @@
+/*
+ *   Project: Confile
+ *   File: DeferredSerializable.java
+ *   Last Modified: 10/19/26, 7:25 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.serialization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A serialized object that is only deserialized when it is first asked for. Loaders that defer deserialization
+ * store these placeholders instead of the objects, {@code getObject} and {@code getSerializable} deserialize them
+ * and replace them with the object, other getters return the placeholder itself. Saving a placeholder that was
+ * never deserialized writes its values back unchanged.
+ */
+public final class DeferredSerializable {
+    private final Map<String, ?> values;
+    private final Class<? extends ConfigurationSerializable> type;
+    private volatile ConfigurationSerializable object;
+
+    private DeferredSerializable(@NotNull Map<String, ?> values, @NotNull Class<? extends ConfigurationSerializable> type) {
+        this.values = values;
+        this.type = type;
+    }
+
+    /**
+     * Creates a placeholder for a serialized object, only its type is resolved
+     * @param values the serialized values, with the type under {@link ConfigurationSerialization#SERIALIZED_TYPE_KEY}
+     * @return the placeholder
+     * @throws IllegalArgumentException if the type key is missing or names a class that is not registered
+     */
+    @NotNull
+    public static DeferredSerializable of(@NotNull Map<String, ?> values) {
+        Object alias = values.get(ConfigurationSerialization.SERIALIZED_TYPE_KEY);
+        if (!(alias instanceof String)) {
+            throw new IllegalArgumentException("Args doesn't contain type key ('" + ConfigurationSerialization.SERIALIZED_TYPE_KEY + "')");
+        }
+
+        Class<? extends ConfigurationSerializable> type = ConfigurationSerialization.getClassByAlias((String) alias);
+        if (type == null) {
+            throw new IllegalArgumentException("Specified class does not exist ('" + alias + "')");
+        }
+
+        return new DeferredSerializable(values, type);
+    }
+
+    /**
+     * Gets the class the values deserialize to
+     * @return the registered class of the type
+     */
+    @NotNull
+    public Class<? extends ConfigurationSerializable> getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the serialized values
+     * @return the values, type key included, an unmodifiable view
+     */
+    @NotNull
+    public Map<String, ?> getValues() {
+        return Collections.unmodifiableMap(this.values);
+    }
+
+    /**
+     * Checks whether the object was deserialized already
+     * @return true if {@link #deserialize()} succeeded before
+     */
+    public boolean isDeserialized() {
+        return this.object != null;
+    }
+
+    /**
+     * Deserializes the object, the first call constructs it and the following ones return the same object.
+     * Placeholders nested in the values are deserialized first.
+     * @return the object, null if deserializing failed, the failure is logged like an eager load logs it
+     */
+    @Nullable
+    public ConfigurationSerializable deserialize() {
+        ConfigurationSerializable object = this.object;
+        if (object == null) {
+            synchronized (this) {
+                object = this.object;
+                if (object == null) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, ?> values = (Map<String, ?>) resolve(this.values);
+                    object = ConfigurationSerialization.deserializeObject(values, this.type);
+                    this.object = object;
+                }
+            }
+        }
+
+        return object;
+    }
+
+    /**
+     * Replaces the placeholders in a value by their objects, copying only the maps and lists that hold one
+     */
+    @Nullable
+    private static Object resolve(@Nullable Object value) {
+        if (value instanceof DeferredSerializable) {
+            return ((DeferredSerializable) value).deserialize();
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = null;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object resolved = resolve(entry.getValue());
+                if (resolved != entry.getValue() && copy == null) {
+                    copy = new LinkedHashMap<>(map);
+                }
+
+                if (copy != null) {
+                    copy.put(entry.getKey(), resolved);
+                }
+            }
+
+            return copy == null ? map : copy;
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object resolved = resolve(list.get(i));
+                if (resolved != list.get(i) && copy == null) {
+                    copy = new ArrayList<>(list);
+                }
+
+                if (copy != null) {
+                    copy.set(i, resolved);
+                }
+            }
+
+            return copy == null ? list : copy;
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredSerializable{type=" + this.type.getName() + ", deserialized=" + this.isDeserialized() + '}';
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *   Project: Confile
+ *   File: GenerateCodec.java
+ *   Last Modified: 10/19/26, 4:12 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asks the {@code confile-processor} annotation processor to generate a {@link ConfigurationCodec} for a
+ * {@link ConfigurationSerializable} class. The codec is registered with the alias of {@link SerializableAs} and
+ * replaces the {@code deserialize}, {@code valueOf} or map constructor of the class, so only annotate classes whose
+ * fields are all the state they serialize.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE})
+public @interface GenerateCodec {
+}
@@ -0,0 +1,167 @@
+/*
+ *   Project: Confile
+ *   File: JsonConfiguration.java
+ *   Last Modified: 10/19/26, 12:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A FileConfiguration backed by a JSON document. The top level of the document must be an object,
+ * objects become sections and {@link io.coachluck.confile.serialization.ConfigurationSerializable}
+ * objects are stored with the same {@code ==} type key as in YAML. JSON has no comments, so no header is kept.
+ */
+public class JsonConfiguration extends FileConfiguration {
+
+    /**
+     * Creates a new JsonConfiguration object
+     */
+    public JsonConfiguration() { }
+
+    /**
+     * Saves the JsonConfiguration Object as a string
+     * @return the JsonConfiguration as a string
+     */
+    @NotNull
+    public String saveToString() {
+        StringWriter writer = new StringWriter();
+        try {
+            this.save(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Streams this configuration to the writer as a JSON object
+     * @param writer the writer to save to
+     * @throws IOException if the writer fails
+     */
+    @Override
+    public void save(@NotNull Writer writer) throws IOException {
+        new JsonWriter(writer, this.options().indent()).writeValue(this);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Loads the JsonConfiguration contents from a string
+     * @param contents the contents to add to the JsonConfiguration
+     * @throws InvalidConfigurationException on invalid JSON and when the top level is not an object,
+     * the previous contents are then kept
+     */
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        ConfigurationMetrics metrics = this.metrics;
+        long start = metrics == null ? 0L : System.nanoTime();
+
+        long phase = this.phaseStarted(Phase.PARSE, contents.length());
+        this.replaceContents(() -> {
+            new JsonParser(contents).parse(this);
+            this.phaseEnded(Phase.PARSE, phase, contents.length(), 0L, 0L);
+
+            if (metrics != null) {
+                metrics.parse().record(System.nanoTime() - start);
+            }
+
+            return true;
+        });
+    }
+
+    /**
+     * JSON has no comments, the header is never written
+     * @return an empty String
+     */
+    @NotNull
+    public String buildHeader() {
+        return "";
+    }
+
+    /**
+     * Get the JsonConfiguration options of the JsonConfiguration
+     * @return the JsonConfigurations options
+     */
+    @NotNull
+    public JsonConfigurationOptions options() {
+        if (this.options == null) {
+            this.options = new JsonConfigurationOptions(this);
+        }
+
+        return (JsonConfigurationOptions) this.options;
+    }
+
+    /**
+     * Loads a JsonConfiguration from a file
+     * @param file the file to load into a JsonConfiguration
+     * @return the file as a JsonConfiguration object.
+     */
+    @NotNull
+    public static JsonConfiguration loadConfiguration(@NotNull File file) {
+        JsonConfiguration config = new JsonConfiguration();
+
+        try {
+            config.load(file);
+        } catch (FileNotFoundException ignored) {
+        } catch (IOException | InvalidConfigurationException e) {
+            System.out.println("Cannot load " + file + "\n" + e);
+        }
+
+        return config;
+    }
+
+    /**
+     * Loads a JsonConfiguration from a file on the default executor without blocking the caller
+     * @param file the file to load into a JsonConfiguration
+     * @return the future of the file as a JsonConfiguration object, empty if the file does not exist
+     */
+    @NotNull
+    public static CompletableFuture<JsonConfiguration> loadConfigurationAsync(@NotNull File file) {
+        return loadConfigurationAsync(new JsonConfiguration(), file);
+    }
+
+    /**
+     * Loads a JsonConfiguration from a reader
+     * @param reader the reader to load into a JsonConfiguration
+     * @return the reader as a JsonConfiguration object.
+     */
+    @NotNull
+    public static JsonConfiguration loadConfiguration(@NotNull Reader reader) {
+        JsonConfiguration config = new JsonConfiguration();
+        try {
+            config.load(reader);
+        } catch (IOException | InvalidConfigurationException e) {
+            System.out.println("Cannot load configuration from stream: \n" + e);
+        }
+
+        return config;
+    }
+}
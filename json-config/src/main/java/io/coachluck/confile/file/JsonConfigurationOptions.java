@@ -0,0 +1,144 @@
+/*
+ *   Project: Confile
+ *   File: JsonConfigurationOptions.java
+ *   Last Modified: 10/19/26, 12:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+public class JsonConfigurationOptions extends FileConfigurationOptions {
+    private int indent = 2;
+
+    /**
+     * Creates the default JsonConfigurationOptions from a JsonConfiguration
+     * @param configuration the JsonConfiguration
+     */
+    protected JsonConfigurationOptions(@NotNull JsonConfiguration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Gets the JsonConfiguration that this is attached too
+     * @return the JsonConfiguration that this is attached too
+     */
+    @NotNull
+    public JsonConfiguration configuration() {
+        return (JsonConfiguration) super.configuration();
+    }
+
+    /**
+     * Whether or not to copy the defaults already set
+     * @param value true to copy, false to not
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions copyDefaults(boolean value) {
+        super.copyDefaults(value);
+        return this;
+    }
+
+    /**
+     * Sets the path separator of the JsonConfigurationOptions
+     * @param separator the character to separate paths
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions pathSeparator(char separator) {
+        super.pathSeparator(separator);
+        return this;
+    }
+
+    /**
+     * Sets the number of keys from which a section keeps a sorted index of its keys for queries
+     * @param keys the threshold, 0 to never index
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions keyIndexThreshold(int keys) {
+        super.keyIndexThreshold(keys);
+        return this;
+    }
+
+    /**
+     * Sets the heap a load may retain, a load over the budget fails
+     * @param bytes the budget in bytes, 0 to not check loads
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions heapBudget(long bytes) {
+        super.heapBudget(bytes);
+        return this;
+    }
+
+    /**
+     * Sets the executor asynchronous loads and saves run on
+     * @param executor the executor, null for the default
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions executor(@Nullable Executor executor) {
+        super.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the header of the JsonConfiguration, JSON has no comments so the header is never written
+     * @param header header content as a string.
+     * @return the JsonConfigurationOptions with the applied header
+     */
+    @NotNull
+    public JsonConfigurationOptions header(@Nullable String header) {
+        super.header(header);
+        return this;
+    }
+
+    /**
+     * Whether or not to copy the header of the file for saving later
+     * @param value true to copy, false to not
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions copyHeader(boolean value) {
+        super.copyHeader(value);
+        return this;
+    }
+
+    /**
+     * Gets the number of spaces for an indent on a JsonConfiguration
+     * @return the number of spaces of an indent, 0 writes compact JSON on a single line
+     */
+    public int indent() {
+        return this.indent;
+    }
+
+    /**
+     * Sets the indent of the JsonConfiguration
+     * @param spaces the number of spaces of the indent, 0 writes compact JSON on a single line
+     * @return the updated JsonConfigurationOptions
+     */
+    @NotNull
+    public JsonConfigurationOptions indent(int spaces) {
+        this.indent = spaces;
+        return this;
+    }
+}
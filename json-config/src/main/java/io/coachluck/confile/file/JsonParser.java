@@ -0,0 +1,442 @@
+/*
+ *   Project: Confile
+ *   File: JsonParser.java
+ *   Last Modified: 10/19/26, 12:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single pass JSON parser. Objects that are values of a section are created as sections while they are read,
+ * objects inside arrays become maps, and objects carrying the {@code ==} type key are deserialized
+ * through {@link ConfigurationSerialization}.
+ */
+final class JsonParser {
+    private final String input;
+    private final int length;
+    private final StringBuilder buffer = new StringBuilder();
+    private int pos;
+
+    JsonParser(@NotNull String input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    /**
+     * Parses the document into the root section
+     * @param root the section to fill
+     * @throws InvalidConfigurationException if the document is not valid JSON or its top level is not an object
+     */
+    void parse(@NotNull ConfigurationSection root) throws InvalidConfigurationException {
+        this.skipWhitespace();
+        if (this.pos >= this.length) {
+            return;
+        }
+
+        if (this.input.charAt(this.pos) != '{') {
+            throw new InvalidConfigurationException("Top level is not an object.");
+        }
+
+        if (this.readSection(root)) {
+            throw new InvalidConfigurationException("Top level cannot be a serialized object.");
+        }
+
+        this.skipWhitespace();
+        if (this.pos < this.length) {
+            throw this.error("Unexpected content after the top level object");
+        }
+    }
+
+    /**
+     * Reads an object into a section
+     * @return true if the object carried the type key and has to be deserialized instead
+     */
+    private boolean readSection(@NotNull ConfigurationSection section) throws InvalidConfigurationException {
+        this.expect('{');
+        this.skipWhitespace();
+        if (this.peek() == '}') {
+            this.pos++;
+            return false;
+        }
+
+        boolean typed = false;
+        do {
+            this.skipWhitespace();
+            String key = this.readString();
+            this.skipWhitespace();
+            this.expect(':');
+            this.skipWhitespace();
+            typed |= ConfigurationSerialization.SERIALIZED_TYPE_KEY.equals(key);
+
+            if (this.peek() == '{') {
+                if (this.startsTypedObject()) {
+                    section.set(key, this.deserialize(this.readMap()));
+                } else {
+                    ConfigurationSection child = section.createSection(key);
+                    if (this.readSection(child)) {
+                        section.set(key, this.deserialize(toMap(child)));
+                    }
+                }
+            } else {
+                section.set(key, this.readValue());
+            }
+
+            this.skipWhitespace();
+        } while (this.next(',', '}'));
+
+        return typed;
+    }
+
+    @Nullable
+    private Object readValue() throws InvalidConfigurationException {
+        char c = this.peek();
+        switch (c) {
+            case '{':
+                Map<String, Object> map = this.readMap();
+                return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY) ? this.deserialize(map) : map;
+            case '[':
+                return this.readList();
+            case '"':
+                return this.readString();
+            case 't':
+                this.literal("true");
+                return Boolean.TRUE;
+            case 'f':
+                this.literal("false");
+                return Boolean.FALSE;
+            case 'n':
+                this.literal("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return this.readNumber();
+                }
+
+                throw this.error("Unexpected character '" + c + "'");
+        }
+    }
+
+    @NotNull
+    private Map<String, Object> readMap() throws InvalidConfigurationException {
+        this.expect('{');
+        Map<String, Object> map = new LinkedHashMap<>();
+        this.skipWhitespace();
+        if (this.peek() == '}') {
+            this.pos++;
+            return map;
+        }
+
+        do {
+            this.skipWhitespace();
+            String key = this.readString();
+            this.skipWhitespace();
+            this.expect(':');
+            this.skipWhitespace();
+            map.put(key, this.readValue());
+            this.skipWhitespace();
+        } while (this.next(',', '}'));
+
+        return map;
+    }
+
+    @NotNull
+    private List<Object> readList() throws InvalidConfigurationException {
+        this.expect('[');
+        List<Object> list = new ArrayList<>();
+        this.skipWhitespace();
+        if (this.peek() == ']') {
+            this.pos++;
+            return list;
+        }
+
+        do {
+            this.skipWhitespace();
+            list.add(this.readValue());
+            this.skipWhitespace();
+        } while (this.next(',', ']'));
+
+        return list;
+    }
+
+    @NotNull
+    private String readString() throws InvalidConfigurationException {
+        this.expect('"');
+        int start = this.pos;
+        boolean buffered = false;
+        while (true) {
+            if (this.pos >= this.length) {
+                throw this.error("Unterminated string");
+            }
+
+            char c = this.input.charAt(this.pos);
+            if (c == '"') {
+                String result = buffered ? this.buffer.toString() : this.input.substring(start, this.pos);
+                this.pos++;
+                return result;
+            }
+
+            if (c < 0x20) {
+                throw this.error("Control character in string");
+            }
+
+            if (c == '\\') {
+                if (!buffered) {
+                    this.buffer.setLength(0);
+                    this.buffer.append(this.input, start, this.pos);
+                    buffered = true;
+                }
+
+                this.pos++;
+                this.readEscape();
+                continue;
+            }
+
+            if (buffered) {
+                this.buffer.append(c);
+            }
+
+            this.pos++;
+        }
+    }
+
+    private void readEscape() throws InvalidConfigurationException {
+        if (this.pos >= this.length) {
+            throw this.error("Unterminated escape sequence");
+        }
+
+        char c = this.input.charAt(this.pos++);
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                this.buffer.append(c);
+                break;
+            case 'b':
+                this.buffer.append('\b');
+                break;
+            case 'f':
+                this.buffer.append('\f');
+                break;
+            case 'n':
+                this.buffer.append('\n');
+                break;
+            case 'r':
+                this.buffer.append('\r');
+                break;
+            case 't':
+                this.buffer.append('\t');
+                break;
+            case 'u':
+                if (this.pos + 4 > this.length) {
+                    throw this.error("Malformed \\u escape");
+                }
+
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(this.input.charAt(this.pos++), 16);
+                    if (digit < 0) {
+                        throw this.error("Malformed \\u escape");
+                    }
+
+                    value = (value << 4) | digit;
+                }
+
+                this.buffer.append((char) value);
+                break;
+            default:
+                throw this.error("Invalid escape '\\" + c + "'");
+        }
+    }
+
+    @NotNull
+    private Object readNumber() throws InvalidConfigurationException {
+        int start = this.pos;
+        boolean decimal = false;
+        if (this.peek() == '-') {
+            this.pos++;
+        }
+
+        int digits = this.skipDigits();
+        if (digits == 0) {
+            throw this.error("Invalid number");
+        }
+
+        if (this.pos < this.length && this.input.charAt(this.pos) == '.') {
+            this.pos++;
+            decimal = true;
+            if (this.skipDigits() == 0) {
+                throw this.error("Invalid number");
+            }
+        }
+
+        if (this.pos < this.length && (this.input.charAt(this.pos) == 'e' || this.input.charAt(this.pos) == 'E')) {
+            this.pos++;
+            decimal = true;
+            if (this.pos < this.length && (this.input.charAt(this.pos) == '+' || this.input.charAt(this.pos) == '-')) {
+                this.pos++;
+            }
+
+            if (this.skipDigits() == 0) {
+                throw this.error("Invalid number");
+            }
+        }
+
+        String text = this.input.substring(start, this.pos);
+        if (decimal) {
+            return Double.valueOf(text);
+        }
+
+        int length = this.pos - start;
+        if (length < 10) {
+            return Integer.valueOf(text);
+        } else if (length < 19) {
+            long value = Long.parseLong(text);
+            return value == (int) value ? Integer.valueOf((int) value) : (Object) value;
+        }
+
+        BigInteger value = new BigInteger(text);
+        return value.bitLength() < 64 ? (Object) value.longValue() : value;
+    }
+
+    private int skipDigits() {
+        int start = this.pos;
+        while (this.pos < this.length) {
+            char c = this.input.charAt(this.pos);
+            if (c < '0' || c > '9') {
+                break;
+            }
+
+            this.pos++;
+        }
+
+        return this.pos - start;
+    }
+
+    private void literal(@NotNull String literal) throws InvalidConfigurationException {
+        if (!this.input.startsWith(literal, this.pos)) {
+            throw this.error("Unexpected literal");
+        }
+
+        this.pos += literal.length();
+    }
+
+    /**
+     * Checks whether the object at the current position starts with the type key, without consuming anything
+     */
+    private boolean startsTypedObject() {
+        int i = this.pos + 1;
+        while (i < this.length && isWhitespace(this.input.charAt(i))) {
+            i++;
+        }
+
+        String key = '"' + ConfigurationSerialization.SERIALIZED_TYPE_KEY + '"';
+        return this.input.startsWith(key, i);
+    }
+
+    @NotNull
+    private Object deserialize(@NotNull Map<String, Object> map) throws InvalidConfigurationException {
+        try {
+            Object result = ConfigurationSerialization.deserializeObject(map);
+            if (result == null) {
+                throw this.error("Could not deserialize object of type " + map.get(ConfigurationSerialization.SERIALIZED_TYPE_KEY));
+            }
+
+            return result;
+        } catch (IllegalArgumentException | ClassCastException e) {
+            throw new InvalidConfigurationException("Could not deserialize object", e);
+        }
+    }
+
+    @NotNull
+    private static Map<String, Object> toMap(@NotNull ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            map.put(entry.getKey(), value instanceof ConfigurationSection ? toMap((ConfigurationSection) value) : value);
+        }
+
+        return map;
+    }
+
+    private boolean next(char separator, char end) throws InvalidConfigurationException {
+        char c = this.peek();
+        this.pos++;
+        if (c == separator) {
+            return true;
+        } else if (c == end) {
+            return false;
+        }
+
+        this.pos--;
+        throw this.error("Expected '" + separator + "' or '" + end + "'");
+    }
+
+    private void expect(char expected) throws InvalidConfigurationException {
+        if (this.peek() != expected) {
+            throw this.error("Expected '" + expected + "'");
+        }
+
+        this.pos++;
+    }
+
+    private char peek() throws InvalidConfigurationException {
+        if (this.pos >= this.length) {
+            throw this.error("Unexpected end of document");
+        }
+
+        return this.input.charAt(this.pos);
+    }
+
+    private void skipWhitespace() {
+        while (this.pos < this.length && isWhitespace(this.input.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    @NotNull
+    private InvalidConfigurationException error(@NotNull String message) {
+        int line = 1;
+        int column = 1;
+        for (int i = 0; i < this.pos && i < this.length; i++) {
+            if (this.input.charAt(i) == '\n') {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+
+        return new InvalidConfigurationException(message + " at line " + line + ", column " + column);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ *   Project: Confile
+ *   File: JsonWriter.java
+ *   Last Modified: 10/19/26, 12:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.serialization.ConfigurationCodec;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Streams sections, maps, lists and scalars to a writer as JSON without building an intermediate document.
+ * Serializable objects are written as objects with the {@code ==} type key first, non finite numbers and any
+ * other unknown value are written as strings.
+ */
+final class JsonWriter {
+    private final Writer writer;
+    private final int indent;
+    private int depth;
+
+    JsonWriter(@NotNull Writer writer, int indent) {
+        this.writer = writer;
+        this.indent = Math.max(indent, 0);
+    }
+
+    void writeValue(@Nullable Object value) throws IOException {
+        if (value == null) {
+            this.writer.write("null");
+        } else if (value instanceof ConfigurationSection) {
+            this.writeMap(((ConfigurationSection) value).getValues(false), null);
+        } else if (value instanceof DeferredSerializable) {
+            DeferredSerializable deferred = (DeferredSerializable) value;
+            this.writeValue(deferred.isDeserialized() ? deferred.deserialize() : deferred.getValues());
+        } else if (value instanceof ConfigurationSerializable) {
+            ConfigurationSerializable serializable = (ConfigurationSerializable) value;
+            @SuppressWarnings("unchecked")
+            ConfigurationCodec<ConfigurationSerializable> codec = (ConfigurationCodec<ConfigurationSerializable>)
+                    ConfigurationSerialization.getCodec(serializable.getClass());
+            if (codec != null) {
+                this.writeObject(serializable, codec);
+            } else {
+                this.writeMap(serializable.serialize(), ConfigurationSerialization.getAlias(serializable.getClass()));
+            }
+        } else if (value instanceof Map) {
+            this.writeMap((Map<?, ?>) value, null);
+        } else if (value instanceof Iterable) {
+            this.writeList(((Iterable<?>) value).iterator());
+        } else if (value instanceof Boolean) {
+            this.writer.write(value.toString());
+        } else if (value instanceof Number && isFinite((Number) value)) {
+            this.writer.write(value.toString());
+        } else {
+            this.writeString(value.toString());
+        }
+    }
+
+    private void writeMap(@NotNull Map<?, ?> map, @Nullable String alias) throws IOException {
+        if (map.isEmpty() && alias == null) {
+            this.writer.write("{}");
+            return;
+        }
+
+        this.writer.write('{');
+        this.depth++;
+        boolean first = true;
+        if (alias != null) {
+            this.newLine();
+            this.writeString(ConfigurationSerialization.SERIALIZED_TYPE_KEY);
+            this.writeColon();
+            this.writeString(alias);
+            first = false;
+        }
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                this.writer.write(',');
+            }
+
+            this.newLine();
+            this.writeString(String.valueOf(entry.getKey()));
+            this.writeColon();
+            this.writeValue(entry.getValue());
+            first = false;
+        }
+
+        this.depth--;
+        this.newLine();
+        this.writer.write('}');
+    }
+
+    /**
+     * Writes an object through its codec, the fields are written as they are produced
+     */
+    private void writeObject(@NotNull ConfigurationSerializable object, @NotNull ConfigurationCodec<ConfigurationSerializable> codec)
+            throws IOException {
+        this.writer.write('{');
+        this.depth++;
+        this.newLine();
+        this.writeString(ConfigurationSerialization.SERIALIZED_TYPE_KEY);
+        this.writeColon();
+        this.writeString(codec.getAlias());
+        codec.serialize(object, (key, value) -> {
+            this.writer.write(',');
+            this.newLine();
+            this.writeString(key);
+            this.writeColon();
+            this.writeValue(value);
+        });
+
+        this.depth--;
+        this.newLine();
+        this.writer.write('}');
+    }
+
+    private void writeList(@NotNull Iterator<?> iterator) throws IOException {
+        if (!iterator.hasNext()) {
+            this.writer.write("[]");
+            return;
+        }
+
+        this.writer.write('[');
+        this.depth++;
+        boolean first = true;
+        while (iterator.hasNext()) {
+            if (!first) {
+                this.writer.write(',');
+            }
+
+            this.newLine();
+            this.writeValue(iterator.next());
+            first = false;
+        }
+
+        this.depth--;
+        this.newLine();
+        this.writer.write(']');
+    }
+
+    private void writeString(@NotNull String value) throws IOException {
+        this.writer.write('"');
+        int start = 0;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            String escape;
+            if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else if (c == '\n') {
+                escape = "\\n";
+            } else if (c == '\r') {
+                escape = "\\r";
+            } else if (c == '\t') {
+                escape = "\\t";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                escape = String.format("\\u%04x", (int) c);
+            } else {
+                continue;
+            }
+
+            this.writer.write(value, start, i - start);
+            this.writer.write(escape);
+            start = i + 1;
+        }
+
+        this.writer.write(value, start, value.length() - start);
+        this.writer.write('"');
+    }
+
+    private void writeColon() throws IOException {
+        this.writer.write(this.indent > 0 ? ": " : ":");
+    }
+
+    private void newLine() throws IOException {
+        if (this.indent > 0) {
+            this.writer.write('\n');
+            for (int i = 0, spaces = this.depth * this.indent; i < spaces; i++) {
+                this.writer.write(' ');
+            }
+        }
+    }
+
+    private static boolean isFinite(@NotNull Number number) {
+        if (number instanceof Double) {
+            double value = number.doubleValue();
+            return !Double.isNaN(value) && !Double.isInfinite(value);
+        } else if (number instanceof Float) {
+            float value = number.floatValue();
+            return !Float.isNaN(value) && !Float.isInfinite(value);
+        }
+
+        return true;
+    }
+}
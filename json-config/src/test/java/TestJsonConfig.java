@@ -0,0 +1,142 @@
+/*
+ *   Project: Confile
+ *   File: TestJsonConfig.java
+ *   Last Modified: 10/19/26, 12:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.JsonConfiguration;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.SerializableAs;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestJsonConfig {
+
+    @Test
+    public void testLoad() throws InvalidConfigurationException {
+        JsonConfiguration config = new JsonConfiguration();
+        config.loadFromString("{\n"
+                + "  \"name\": \"demo \\\"quoted\\\" \\u00e9\",\n"
+                + "  \"count\": 42, \"big\": 12345678901, \"ratio\": -1.5e2,\n"
+                + "  \"enabled\": true, \"nothing\": null,\n"
+                + "  \"server\": {\"host\": \"localhost\", \"ports\": [80, 443]},\n"
+                + "  \"entries\": [{\"a\": 1}, \"b\"]\n"
+                + "}");
+
+        assertEquals("demo \"quoted\" \u00e9", config.getString("name"));
+        assertEquals(42, config.get("count"));
+        assertEquals(12345678901L, config.get("big"));
+        assertEquals(-150D, config.get("ratio"));
+        assertEquals(Boolean.TRUE, config.get("enabled"));
+        assertNull(config.get("nothing"));
+        assertTrue(config.isConfigurationSection("server"));
+        assertEquals(Arrays.asList(80, 443), config.getList("server.ports"));
+        assertEquals(1, config.getMapList("entries").size());
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void testTopLevelArray() throws InvalidConfigurationException {
+        new JsonConfiguration().loadFromString("[1, 2]");
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void testTrailingComma() throws InvalidConfigurationException {
+        new JsonConfiguration().loadFromString("{\"a\": 1,}");
+    }
+
+    @Test
+    public void testFailedLoadKeepsContents() throws InvalidConfigurationException {
+        JsonConfiguration config = new JsonConfiguration();
+        config.loadFromString("{\"name\": \"server\", \"port\": 80}");
+        try {
+            config.loadFromString("{\"name\": \"other\", \"nested\": {\"a\": 1,, }}");
+            fail("invalid JSON was accepted");
+        } catch (InvalidConfigurationException expected) {
+            // the previous contents stay loaded
+        }
+
+        assertEquals("server", config.getString("name"));
+        assertEquals(80, config.get("port"));
+        assertNull(config.get("nested"));
+    }
+
+    @Test
+    public void testSerializableRoundTrip() throws InvalidConfigurationException {
+        ConfigurationSerialization.registerClass(Point.class);
+        JsonConfiguration config = new JsonConfiguration();
+        config.set("origin", new Point(1, 2));
+        config.set("path", Arrays.asList(new Point(3, 4), new Point(5, 6)));
+        config.set("text", "line\nbreak");
+
+        JsonConfiguration loaded = new JsonConfiguration();
+        loaded.loadFromString(config.saveToString());
+        assertEquals(new Point(1, 2), loaded.getSerializable("origin", Point.class));
+        List<?> path = loaded.getList("path");
+        assertEquals(Arrays.asList(new Point(3, 4), new Point(5, 6)), path);
+        assertEquals("line\nbreak", loaded.getString("text"));
+
+        config.options().indent(0);
+        assertTrue(config.saveToString().startsWith("{\"origin\":{\"==\":\"Point\",\"x\":1,\"y\":2},"));
+    }
+
+    @SerializableAs("Point")
+    public static final class Point implements ConfigurationSerializable {
+        private final int x;
+        private final int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @NotNull
+        public Map<String, Object> serialize() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("x", this.x);
+            result.put("y", this.y);
+            return result;
+        }
+
+        @NotNull
+        public static Point deserialize(@NotNull Map<String, Object> args) {
+            return new Point((Integer) args.get("x"), (Integer) args.get("y"));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && ((Point) o).x == this.x && ((Point) o).y == this.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.x + this.y;
+        }
+    }
+}
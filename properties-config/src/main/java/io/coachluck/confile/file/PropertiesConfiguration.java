@@ -0,0 +1,273 @@
+/*
+ *   Project: Confile
+ *   File: PropertiesConfiguration.java
+ *   Last Modified: 10/19/26, 11:20 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.Configuration;
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A FileConfiguration backed by a flat properties ({@code key.path=value}) file.
+ * Keys are split into sections on the path separator, every value is loaded as a String and
+ * every value that is not a section is saved through {@link String#valueOf(Object)}.
+ */
+public class PropertiesConfiguration extends FileConfiguration {
+    protected static final String COMMENT_PREFIX = "# ";
+
+    /**
+     * Creates a new PropertiesConfiguration object
+     */
+    public PropertiesConfiguration() { }
+
+    /**
+     * Saves the PropertiesConfiguration Object as a string
+     * @return the PropertiesConfiguration as a string
+     */
+    @NotNull
+    public String saveToString() {
+        StringWriter writer = new StringWriter();
+        try {
+            this.save(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Streams the header and every value of this configuration to the writer, one line per value
+     * @param writer the writer to save to
+     * @throws IOException if the writer fails
+     */
+    @Override
+    public void save(@NotNull Writer writer) throws IOException {
+        writer.write(this.buildHeader());
+        this.writeSection(writer, this, new StringBuilder(), this.options().pathSeparator(),
+                this.options().keyValueSeparator());
+        writer.flush();
+    }
+
+    /**
+     * Loads the PropertiesConfiguration contents from a string
+     * @param contents the contents to add to the PropertiesConfiguration
+     * @throws InvalidConfigurationException on a malformed escape sequence, the previous contents are then kept
+     */
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        ConfigurationMetrics metrics = this.metrics;
+        long start = metrics == null ? 0L : System.nanoTime();
+
+        long phase = this.phaseStarted(Phase.PARSE, contents.length());
+        this.replaceContents(() -> {
+            new PropertiesParser(contents, this, this.options().pathSeparator()).parse();
+            this.phaseEnded(Phase.PARSE, phase, contents.length(), 0L, 0L);
+
+            if (metrics != null) {
+                metrics.parse().record(System.nanoTime() - start);
+            }
+
+            String header = PropertiesParser.parseHeader(contents);
+            if (header.length() > 0) {
+                this.options().header(header);
+            }
+
+            return true;
+        });
+    }
+
+    protected void writeSection(@NotNull Writer writer, @NotNull ConfigurationSection section,
+                                @NotNull StringBuilder prefix, char pathSeparator, char keyValueSeparator)
+            throws IOException {
+        int length = prefix.length();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            if (length > 0) {
+                prefix.append(pathSeparator);
+            }
+
+            prefix.append(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSection) {
+                this.writeSection(writer, (ConfigurationSection) value, prefix, pathSeparator, keyValueSeparator);
+            } else {
+                writeEscaped(writer, prefix, true);
+                writer.write(keyValueSeparator);
+                writeEscaped(writer, String.valueOf(value), false);
+                writer.write('\n');
+            }
+
+            prefix.setLength(length);
+        }
+    }
+
+    protected static void writeEscaped(@NotNull Writer writer, @NotNull CharSequence text, boolean key)
+            throws IOException {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\f':
+                    writer.write("\\f");
+                    break;
+                case ' ':
+                    if (key || i == 0) {
+                        writer.write('\\');
+                    }
+
+                    writer.write(' ');
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    if (key) {
+                        writer.write('\\');
+                    }
+
+                    writer.write(c);
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+    }
+
+    /**
+     * Builds the header of the PropertiesConfiguration
+     * @return the built header as a String
+     */
+    @NotNull
+    public String buildHeader() {
+        String header = this.options().header();
+        if (this.options().copyHeader()) {
+            Configuration def = this.getDefaults();
+            if (def instanceof FileConfiguration) {
+                FileConfiguration filedefaults = (FileConfiguration) def;
+                String defaultsHeader = filedefaults.buildHeader();
+
+                if (defaultsHeader.length() > 0) {
+                    return defaultsHeader;
+                }
+            }
+        }
+
+        if (header != null) {
+            StringBuilder builder = new StringBuilder();
+            String[] lines = header.split("\r?\n", -1);
+            boolean startedHeader = false;
+
+            for(int i = lines.length - 1; i >= 0; --i) {
+                builder.insert(0, "\n");
+                if (startedHeader || lines[i].length() != 0) {
+                    builder.insert(0, lines[i]);
+                    builder.insert(0, COMMENT_PREFIX);
+                    startedHeader = true;
+                }
+            }
+
+            return builder.toString();
+        }
+
+        return "";
+    }
+
+    /**
+     * Get the PropertiesConfiguration options of the PropertiesConfiguration
+     * @return the PropertiesConfigurations options
+     */
+    @NotNull
+    public PropertiesConfigurationOptions options() {
+        if (this.options == null) {
+            this.options = new PropertiesConfigurationOptions(this);
+        }
+
+        return (PropertiesConfigurationOptions) this.options;
+    }
+
+    /**
+     * Loads a PropertiesConfiguration from a file
+     * @param file the file to load into a PropertiesConfiguration
+     * @return the file as a PropertiesConfiguration object.
+     */
+    @NotNull
+    public static PropertiesConfiguration loadConfiguration(@NotNull File file) {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+
+        try {
+            config.load(file);
+        } catch (FileNotFoundException ignored) {
+        } catch (IOException | InvalidConfigurationException e) {
+            System.out.println("Cannot load " + file + "\n" + e);
+        }
+
+        return config;
+    }
+
+    /**
+     * Loads a PropertiesConfiguration from a file on the default executor without blocking the caller
+     * @param file the file to load into a PropertiesConfiguration
+     * @return the future of the file as a PropertiesConfiguration object, empty if the file does not exist
+     */
+    @NotNull
+    public static CompletableFuture<PropertiesConfiguration> loadConfigurationAsync(@NotNull File file) {
+        return loadConfigurationAsync(new PropertiesConfiguration(), file);
+    }
+
+    /**
+     * Loads a PropertiesConfiguration from a reader
+     * @param reader the reader to load into a PropertiesConfiguration
+     * @return the reader as a PropertiesConfiguration object.
+     */
+    @NotNull
+    public static PropertiesConfiguration loadConfiguration(@NotNull Reader reader) {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        try {
+            config.load(reader);
+        } catch (IOException | InvalidConfigurationException e) {
+            System.out.println("Cannot load configuration from stream: \n" + e);
+        }
+
+        return config;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *   Project: Confile
+ *   File: PropertiesConfigurationOptions.java
+ *   Last Modified: 10/19/26, 11:20 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+public class PropertiesConfigurationOptions extends FileConfigurationOptions {
+    private char keyValueSeparator = '=';
+
+    /**
+     * Creates the default PropertiesConfigurationOptions from a PropertiesConfiguration
+     * @param configuration the PropertiesConfiguration
+     */
+    protected PropertiesConfigurationOptions(@NotNull PropertiesConfiguration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Gets the PropertiesConfiguration that this is attached too
+     * @return the PropertiesConfiguration that this is attached too
+     */
+    @NotNull
+    public PropertiesConfiguration configuration() {
+        return (PropertiesConfiguration) super.configuration();
+    }
+
+    /**
+     * Whether or not to copy the defaults already set
+     * @param value true to copy, false to not
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions copyDefaults(boolean value) {
+        super.copyDefaults(value);
+        return this;
+    }
+
+    /**
+     * Sets the path separator of the PropertiesConfigurationOptions, keys are split on it into sections
+     * @param separator the character to separate paths
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions pathSeparator(char separator) {
+        super.pathSeparator(separator);
+        return this;
+    }
+
+    /**
+     * Sets the number of keys from which a section keeps a sorted index of its keys for queries
+     * @param keys the threshold, 0 to never index
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions keyIndexThreshold(int keys) {
+        super.keyIndexThreshold(keys);
+        return this;
+    }
+
+    /**
+     * Sets the heap a load may retain, a load over the budget fails
+     * @param bytes the budget in bytes, 0 to not check loads
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions heapBudget(long bytes) {
+        super.heapBudget(bytes);
+        return this;
+    }
+
+    /**
+     * Sets the executor asynchronous loads and saves run on
+     * @param executor the executor, null for the default
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions executor(@Nullable Executor executor) {
+        super.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the header of the PropertiesConfiguration file from a string
+     * @param header header content as a string.
+     * @return the PropertiesConfigurationOptions with the applied header
+     */
+    @NotNull
+    public PropertiesConfigurationOptions header(@Nullable String header) {
+        super.header(header);
+        return this;
+    }
+
+    /**
+     * Whether or not to copy the header of the file for saving later
+     * @param value true to copy, false to not
+     * @return the updated PropertiesConfigurationOptions
+     */
+    @NotNull
+    public PropertiesConfigurationOptions copyHeader(boolean value) {
+        super.copyHeader(value);
+        return this;
+    }
+
+    /**
+     * Gets the character written between a key and its value
+     * @return the key/value separator
+     */
+    public char keyValueSeparator() {
+        return this.keyValueSeparator;
+    }
+
+    /**
+     * Sets the character written between a key and its value, both are always accepted when loading
+     * @param separator either '=' or ':'
+     * @return the updated PropertiesConfigurationOptions
+     * @throws IllegalArgumentException if the separator is neither '=' nor ':'
+     */
+    @NotNull
+    public PropertiesConfigurationOptions keyValueSeparator(char separator) {
+        if (separator != '=' && separator != ':') {
+            throw new IllegalArgumentException("Key/value separator must be '=' or ':'");
+        }
+
+        this.keyValueSeparator = separator;
+        return this;
+    }
+}
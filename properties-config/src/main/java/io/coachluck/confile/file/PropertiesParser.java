@@ -0,0 +1,294 @@
+/*
+ *   Project: Confile
+ *   File: PropertiesParser.java
+ *   Last Modified: 10/19/26, 11:20 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Single pass parser for properties files, follows the syntax of {@link java.util.Properties#load(java.io.Reader)}.
+ * Keys are split on the path separator and the values are set straight into the sections of the target,
+ * the section of the previous key is remembered so runs of keys sharing a prefix do not walk the tree again.
+ */
+final class PropertiesParser {
+    private final String input;
+    private final int length;
+    private final ConfigurationSection root;
+    private final char separator;
+    private final StringBuilder buffer = new StringBuilder();
+    private int pos;
+    private String lastPrefix;
+    private ConfigurationSection lastSection;
+
+    PropertiesParser(@NotNull String input, @NotNull ConfigurationSection root, char separator) {
+        this.input = input;
+        this.length = input.length();
+        this.root = root;
+        this.separator = separator;
+    }
+
+    /**
+     * Parses the whole input into the root section
+     * @throws InvalidConfigurationException on a malformed escape sequence
+     */
+    void parse() throws InvalidConfigurationException {
+        while (this.pos < this.length) {
+            this.skipBlanks();
+            if (this.pos >= this.length) {
+                break;
+            }
+
+            char c = this.input.charAt(this.pos);
+            if (c == '\n' || c == '\r') {
+                this.pos++;
+                continue;
+            }
+
+            if (c == '#' || c == '!') {
+                this.skipLine();
+                continue;
+            }
+
+            String key = this.read(true);
+            this.skipBlanks();
+            if (this.pos < this.length) {
+                c = this.input.charAt(this.pos);
+                if (c == '=' || c == ':') {
+                    this.pos++;
+                    this.skipBlanks();
+                }
+            }
+
+            this.put(key, this.read(false));
+        }
+    }
+
+    /**
+     * Reads a key or a value up to its terminator, only escape sequences and continuations go through the buffer
+     * @param key true to stop at the key terminators, false to read up to the end of the line
+     * @return the unescaped text
+     */
+    @NotNull
+    private String read(boolean key) throws InvalidConfigurationException {
+        int start = this.pos;
+        boolean buffered = false;
+        while (this.pos < this.length) {
+            char c = this.input.charAt(this.pos);
+            if (c == '\n' || c == '\r' || (key && (c == '=' || c == ':' || c == ' ' || c == '\t' || c == '\f'))) {
+                break;
+            }
+
+            if (c == '\\') {
+                if (!buffered) {
+                    this.buffer.setLength(0);
+                    this.buffer.append(this.input, start, this.pos);
+                    buffered = true;
+                }
+
+                this.pos++;
+                this.readEscape();
+                continue;
+            }
+
+            if (buffered) {
+                this.buffer.append(c);
+            }
+
+            this.pos++;
+        }
+
+        return buffered ? this.buffer.toString() : this.input.substring(start, this.pos);
+    }
+
+    private void readEscape() throws InvalidConfigurationException {
+        if (this.pos >= this.length) {
+            return;
+        }
+
+        char c = this.input.charAt(this.pos++);
+        switch (c) {
+            case 't':
+                this.buffer.append('\t');
+                break;
+            case 'n':
+                this.buffer.append('\n');
+                break;
+            case 'r':
+                this.buffer.append('\r');
+                break;
+            case 'f':
+                this.buffer.append('\f');
+                break;
+            case 'u':
+                if (this.pos + 4 > this.length) {
+                    throw this.error("Malformed \\uxxxx encoding");
+                }
+
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(this.input.charAt(this.pos++), 16);
+                    if (digit < 0) {
+                        throw this.error("Malformed \\uxxxx encoding");
+                    }
+
+                    value = (value << 4) | digit;
+                }
+
+                this.buffer.append((char) value);
+                break;
+            case '\r':
+                if (this.pos < this.length && this.input.charAt(this.pos) == '\n') {
+                    this.pos++;
+                }
+                // fall through to the continuation
+            case '\n':
+                this.skipBlanks();
+                break;
+            default:
+                this.buffer.append(c);
+        }
+    }
+
+    private void put(@NotNull String key, @NotNull String value) {
+        int last = key.lastIndexOf(this.separator);
+        if (last < 0) {
+            this.root.set(key, value);
+        } else {
+            ConfigurationSection section;
+            if (this.lastPrefix != null && this.lastPrefix.length() == last && key.startsWith(this.lastPrefix)) {
+                section = this.lastSection;
+            } else {
+                section = this.section(key, last);
+                this.lastPrefix = key.substring(0, last);
+                this.lastSection = section;
+            }
+
+            section.set(key.substring(last + 1), value);
+        }
+
+        // a scalar replacing the remembered section detaches it from the tree
+        if (this.lastPrefix != null && this.lastPrefix.startsWith(key)
+                && (this.lastPrefix.length() == key.length() || this.lastPrefix.charAt(key.length()) == this.separator)) {
+            this.lastPrefix = null;
+            this.lastSection = null;
+        }
+    }
+
+    @NotNull
+    private ConfigurationSection section(@NotNull String key, int end) {
+        ConfigurationSection section = this.root;
+        int start = 0;
+        while (start <= end) {
+            int next = key.indexOf(this.separator, start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+
+            String name = key.substring(start, next);
+            Object child = section.get(name, null);
+            section = child instanceof ConfigurationSection
+                    ? (ConfigurationSection) child
+                    : section.createSection(name);
+            start = next + 1;
+        }
+
+        return section;
+    }
+
+    private void skipBlanks() {
+        while (this.pos < this.length) {
+            char c = this.input.charAt(this.pos);
+            if (c != ' ' && c != '\t' && c != '\f') {
+                return;
+            }
+
+            this.pos++;
+        }
+    }
+
+    private void skipLine() {
+        while (this.pos < this.length) {
+            char c = this.input.charAt(this.pos);
+            if (c == '\n' || c == '\r') {
+                return;
+            }
+
+            this.pos++;
+        }
+    }
+
+    @NotNull
+    private InvalidConfigurationException error(@NotNull String message) {
+        int line = 1;
+        for (int i = 0; i < this.pos && i < this.length; i++) {
+            if (this.input.charAt(i) == '\n') {
+                line++;
+            }
+        }
+
+        return new InvalidConfigurationException(message + " on line " + line);
+    }
+
+    /**
+     * Reads the comment block at the top of a properties file
+     * @param input the file contents
+     * @return the header without its comment prefixes, empty if there is none
+     */
+    @NotNull
+    static String parseHeader(@NotNull String input) {
+        StringBuilder result = new StringBuilder();
+        boolean foundHeader = false;
+        int pendingBlank = 0;
+        int start = 0;
+        int length = input.length();
+        while (start < length) {
+            int end = input.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            int lineEnd = end > start && input.charAt(end - 1) == '\r' ? end - 1 : end;
+            if (input.startsWith(PropertiesConfiguration.COMMENT_PREFIX, start)) {
+                for (; pendingBlank > 0; pendingBlank--) {
+                    result.append('\n');
+                }
+
+                if (foundHeader) {
+                    result.append('\n');
+                }
+
+                result.append(input, start + PropertiesConfiguration.COMMENT_PREFIX.length(), Math.max(lineEnd,
+                        start + PropertiesConfiguration.COMMENT_PREFIX.length()));
+                foundHeader = true;
+            } else if (foundHeader && lineEnd == start) {
+                pendingBlank++;
+            } else {
+                break;
+            }
+
+            start = end + 1;
+        }
+
+        return foundHeader ? result.toString() : "";
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *   Project: Confile
+ *   File: TestPropertiesConfig.java
+ *   Last Modified: 10/19/26, 11:20 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PropertiesConfiguration;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPropertiesConfig {
+
+    @Test
+    public void testLoad() throws InvalidConfigurationException {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        config.loadFromString("# Header line\n\n"
+                + "server.host = localhost\n"
+                + "server.port:8080\n"
+                + "! bang comment\n"
+                + "   indented.key\tvalue with spaces  \n"
+                + "escaped\\ key=tab\\there\\u0041\n"
+                + "multi = one, \\\n"
+                + "        two\n"
+                + "empty\n");
+
+        assertEquals("Header line", config.options().header());
+        assertEquals("localhost", config.getString("server.host"));
+        assertEquals("8080", config.getString("server.port"));
+        assertTrue(config.isConfigurationSection("server"));
+        assertEquals("value with spaces  ", config.getString("indented.key"));
+        assertEquals("tab\thereA", config.getString("escaped key"));
+        assertEquals("one, two", config.getString("multi"));
+        assertEquals("", config.getString("empty"));
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void testMalformedUnicode() throws InvalidConfigurationException {
+        new PropertiesConfiguration().loadFromString("key=\\u00zz\n");
+    }
+
+    @Test
+    public void testFailedLoadKeepsContents() throws InvalidConfigurationException {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        config.loadFromString("# Kept\nname=server\n");
+        try {
+            config.loadFromString("# Dropped\nname=other\nextra=1\nkey=\\u00zz\n");
+            fail("malformed escape was accepted");
+        } catch (InvalidConfigurationException expected) {
+            // the previous contents stay loaded
+        }
+
+        assertEquals("server", config.getString("name"));
+        assertNull(config.get("extra"));
+        assertEquals("Kept", config.options().header());
+    }
+
+    @Test
+    public void testScalarReplacesSection() throws InvalidConfigurationException {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        config.loadFromString("a.b.c=1\na.b=2\na.b.d=3\n");
+        assertEquals("3", config.getString("a.b.d"));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        config.options().header("Generated");
+        config.set("db.url", "jdbc:h2:mem:test");
+        config.set("db.pool.size", 10);
+        config.set("key with=specials", " leading\nnewline\\");
+
+        String saved = config.saveToString();
+        Properties properties = new Properties();
+        properties.load(new StringReader(saved));
+        assertEquals("jdbc:h2:mem:test", properties.getProperty("db.url"));
+        assertEquals("10", properties.getProperty("db.pool.size"));
+        assertEquals(" leading\nnewline\\", properties.getProperty("key with=specials"));
+
+        PropertiesConfiguration loaded = new PropertiesConfiguration();
+        loaded.loadFromString(saved);
+        assertEquals("Generated", loaded.options().header());
+        assertEquals("10", loaded.getString("db.pool.size"));
+        assertEquals(" leading\nnewline\\", loaded.getString("key with=specials"));
+    }
+}
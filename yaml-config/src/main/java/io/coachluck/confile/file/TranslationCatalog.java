@@ -0,0 +1,371 @@
+/*
+ *   Project: Confile
+ *   File: TranslationCatalog.java
+ *   Last Modified: 10/19/26, 5:05 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only catalog of translated messages, loaded from {@code messages.<locale>.<key>} entries.
+ * Every locale is compiled into a minimal perfect hash table from the full key to the message (CHD,
+ * hash and displace), so a lookup hashes the key once and reads a single slot per locale of the fallback
+ * chain, without splitting the path or consulting defaults.
+ * <pre>
+ * TranslationCatalog catalog = TranslationCatalog.loadCatalog(new File("messages.yml"));
+ * TranslationCatalog.Messages german = catalog.messages("de_AT"); // de_AT, then de, then the default locale
+ * String title = german.get("menu.title");
+ * </pre>
+ */
+public class TranslationCatalog {
+    private final Map<String, Table> tables;
+    private final Map<String, List<String>> fallbacks = new ConcurrentHashMap<>();
+    private final Map<String, Messages> messages = new ConcurrentHashMap<>();
+    private volatile String defaultLocale;
+
+    private TranslationCatalog(@NotNull Map<String, Table> tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Compiles a catalog from a section holding a section of messages per locale
+     * @param locales the section, usually {@code messages}
+     * @return the compiled catalog
+     */
+    @NotNull
+    public static TranslationCatalog of(@NotNull ConfigurationSection locales) {
+        Map<String, Table> tables = new HashMap<>();
+        for (String locale : locales.getKeys(false)) {
+            ConfigurationSection section = locales.getConfigurationSection(locale);
+            if (section == null) {
+                continue;
+            }
+
+            List<String> keys = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character) {
+                    keys.add(entry.getKey());
+                    values.add(value.toString());
+                }
+            }
+
+            tables.put(locale, new Table(keys.toArray(new String[0]), values.toArray(new String[0])));
+        }
+
+        return new TranslationCatalog(tables);
+    }
+
+    /**
+     * Loads a catalog from the {@code messages} section of a YAML file
+     * @param file the file to load
+     * @return the compiled catalog, empty if the file cannot be loaded or has no messages
+     */
+    @NotNull
+    public static TranslationCatalog loadCatalog(@NotNull File file) {
+        ConfigurationSection locales = YamlConfiguration.loadConfiguration(file).getConfigurationSection("messages");
+        return locales == null ? new TranslationCatalog(Collections.emptyMap()) : of(locales);
+    }
+
+    /**
+     * Gets the locales of the catalog
+     * @return the locales that have messages
+     */
+    @NotNull
+    public Set<String> getLocales() {
+        return Collections.unmodifiableSet(this.tables.keySet());
+    }
+
+    /**
+     * Sets the locale every fallback chain ends with
+     * @param locale the default locale, null for none
+     * @return the updated TranslationCatalog
+     */
+    @NotNull
+    public TranslationCatalog defaultLocale(@Nullable String locale) {
+        this.defaultLocale = locale;
+        this.messages.clear();
+        return this;
+    }
+
+    /**
+     * Sets the locales tried after a locale, instead of its parents like {@code de} for {@code de_AT}
+     * @param locale the locale
+     * @param fallbacks the locales to try in order, the default locale is still tried last
+     * @return the updated TranslationCatalog
+     */
+    @NotNull
+    public TranslationCatalog fallback(@NotNull String locale, @NotNull String... fallbacks) {
+        this.fallbacks.put(locale, Arrays.asList(fallbacks.clone()));
+        this.messages.clear();
+        return this;
+    }
+
+    /**
+     * Gets the messages of a locale with its fallback chain resolved, hold on to it for repeated lookups
+     * @param locale the locale, for example {@code de_AT}
+     * @return the messages, empty if neither the locale nor its fallbacks have messages
+     */
+    @NotNull
+    public Messages messages(@NotNull String locale) {
+        return this.messages.computeIfAbsent(locale, this::resolve);
+    }
+
+    /**
+     * Looks a message up in a locale and its fallbacks
+     * @param locale the locale
+     * @param key the full key of the message, for example {@code menu.title}
+     * @return the message, null if no locale of the chain has it
+     */
+    @Nullable
+    public String get(@NotNull String locale, @NotNull String key) {
+        return this.messages(locale).get(key);
+    }
+
+    @NotNull
+    private Messages resolve(@NotNull String locale) {
+        Map<String, Table> chain = new LinkedHashMap<>();
+        this.add(chain, locale);
+        List<String> fallbacks = this.fallbacks.get(locale);
+        if (fallbacks != null) {
+            for (String fallback : fallbacks) {
+                this.add(chain, fallback);
+            }
+        } else {
+            for (int end = Math.max(locale.lastIndexOf('_'), locale.lastIndexOf('-')); end > 0;
+                 end = Math.max(locale.lastIndexOf('_', end - 1), locale.lastIndexOf('-', end - 1))) {
+                this.add(chain, locale.substring(0, end));
+            }
+        }
+
+        String defaultLocale = this.defaultLocale;
+        if (defaultLocale != null) {
+            this.add(chain, defaultLocale);
+        }
+
+        return new Messages(new ArrayList<>(chain.keySet()), chain.values().toArray(new Table[0]));
+    }
+
+    private void add(@NotNull Map<String, Table> chain, @NotNull String locale) {
+        Table table = this.tables.get(locale);
+        if (table != null) {
+            chain.putIfAbsent(locale, table);
+        }
+    }
+
+    /**
+     * 64 bit FNV-1a over the chars of a key, finished with a mix so every bit depends on every char
+     */
+    private static long hash(@NotNull String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * The hash of a key under a displacement, derived from its base hash
+     */
+    private static long displace(long hash, int displacement) {
+        return mix(hash + displacement * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * The messages of a locale followed by the locales of its fallback chain
+     */
+    public static final class Messages {
+        private final List<String> locales;
+        private final Table[] chain;
+
+        private Messages(@NotNull List<String> locales, @NotNull Table[] chain) {
+            this.locales = Collections.unmodifiableList(locales);
+            this.chain = chain;
+        }
+
+        /**
+         * Gets the locales looked in, in order
+         * @return the fallback chain, only locales that have messages
+         */
+        @NotNull
+        public List<String> getLocales() {
+            return this.locales;
+        }
+
+        /**
+         * Looks a message up, the key is hashed once for the whole chain
+         * @param key the full key of the message, for example {@code menu.title}
+         * @return the message, null if no locale of the chain has it
+         */
+        @Nullable
+        public String get(@NotNull String key) {
+            long hash = hash(key);
+            for (Table table : this.chain) {
+                String value = table.get(key, hash);
+                if (value != null) {
+                    return value;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Looks a message up
+         * @param key the full key of the message
+         * @param def the message to return if no locale of the chain has it
+         * @return the message or the given default
+         */
+        @NotNull
+        public String get(@NotNull String key, @NotNull String def) {
+            String value = this.get(key);
+            return value == null ? def : value;
+        }
+    }
+
+    /**
+     * A minimal perfect hash table of the messages of one locale. The keys are split into buckets of about
+     * five keys by their hash, and every bucket gets the smallest displacement that moves all its keys to free
+     * slots, biggest buckets first. A lookup reads the displacement of its bucket and then a single slot.
+     */
+    private static final class Table {
+        private static final int BUCKET_SIZE = 5;
+
+        private final String[] keys;
+        private final String[] values;
+        private final int[] displacements;
+
+        private Table(@NotNull String[] keys, @NotNull String[] values) {
+            int size = keys.length;
+            this.keys = new String[size];
+            this.values = new String[size];
+            this.displacements = new int[Math.max(1, size / BUCKET_SIZE)];
+            if (size == 0) {
+                return;
+            }
+
+            long[] hashes = new long[size];
+            List<List<Integer>> buckets = new ArrayList<>(this.displacements.length);
+            for (int i = 0; i < this.displacements.length; i++) {
+                buckets.add(new ArrayList<>(BUCKET_SIZE));
+            }
+
+            for (int i = 0; i < size; i++) {
+                hashes[i] = hash(keys[i]);
+                buckets.get(this.bucket(hashes[i])).add(i);
+            }
+
+            Integer[] order = new Integer[buckets.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+            boolean[] taken = new boolean[size];
+            int[] slots = new int[BUCKET_SIZE * 4];
+            for (int bucket : order) {
+                List<Integer> members = buckets.get(bucket);
+                if (members.isEmpty()) {
+                    break;
+                } else if (members.size() > slots.length) {
+                    slots = new int[members.size()];
+                }
+
+                for (int displacement = 0; ; displacement++) {
+                    if (displacement < 0) {
+                        throw new IllegalStateException("Cannot build a perfect hash, duplicate key hashes in bucket " + bucket);
+                    } else if (this.place(members, hashes, displacement, taken, slots)) {
+                        this.displacements[bucket] = displacement;
+                        for (int i = 0; i < members.size(); i++) {
+                            taken[slots[i]] = true;
+                            this.keys[slots[i]] = keys[members.get(i)];
+                            this.values[slots[i]] = values[members.get(i)];
+                        }
+
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Computes the slots of a bucket under a displacement
+         * @return true if all of them are free and distinct
+         */
+        private boolean place(@NotNull List<Integer> members, @NotNull long[] hashes, int displacement,
+                              @NotNull boolean[] taken, @NotNull int[] slots) {
+            for (int i = 0; i < members.size(); i++) {
+                int slot = this.slot(hashes[members.get(i)], displacement);
+                if (taken[slot]) {
+                    return false;
+                }
+
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        return false;
+                    }
+                }
+
+                slots[i] = slot;
+            }
+
+            return true;
+        }
+
+        private int bucket(long hash) {
+            return (int) ((hash >>> 1) % this.displacements.length);
+        }
+
+        private int slot(long hash, int displacement) {
+            return (int) ((displace(hash, displacement) >>> 1) % this.keys.length);
+        }
+
+        @Nullable
+        private String get(@NotNull String key, long hash) {
+            if (this.keys.length == 0) {
+                return null;
+            }
+
+            int slot = this.slot(hash, this.displacements[this.bucket(hash)]);
+            return key.equals(this.keys[slot]) ? this.values[slot] : null;
+        }
+    }
+}
@@ -24,19 +24,36 @@ package io.coachluck.confile.file;
 import io.coachluck.confile.Configuration;
 import io.coachluck.confile.ConfigurationSection;
 import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.DumperOptions.FlowStyle;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.SequenceNode;
 import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.File;
+import java.io.FilterReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class YamlConfiguration extends FileConfiguration {
     protected static final String COMMENT_PREFIX = "# ";
@@ -44,13 +61,18 @@ public class YamlConfiguration extends FileConfiguration {
     private final DumperOptions yamlOptions = new DumperOptions();
     private final LoaderOptions loaderOptions = new LoaderOptions();
     private final Representer yamlRepresenter = new YamlRepresenter();
+    private final YamlConstructor yamlConstructor = new YamlConstructor();
     private final Yaml yaml;
+    private final Set<String> changes = new HashSet<>();
+    private YamlLayout layout;
+    private long convertedSections;
+    private long convertedValues;
 
     /**
      * Creates a new YamlConfiguration object
      */
     public YamlConfiguration() {
-        this.yaml = new Yaml(new YamlConstructor(), this.yamlRepresenter, this.yamlOptions, this.loaderOptions);
+        this.yaml = new Yaml(this.yamlConstructor, this.yamlRepresenter, this.yamlOptions, this.loaderOptions);
     }
 
     /**
@@ -59,16 +81,43 @@ public class YamlConfiguration extends FileConfiguration {
      */
     @NotNull
     public String saveToString() {
+        StringWriter writer = new StringWriter();
+        try {
+            this.save(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Writes the YamlConfiguration to a writer, patching the loaded document when its layout is preserved and
+     * streaming the sections as YAML events otherwise
+     * @param writer the writer to save to
+     * @throws IOException if the writer fails
+     */
+    @Override
+    public void save(@NotNull Writer writer) throws IOException {
+        Map<String, Object> patches = this.layoutPatches();
+        if (patches != null) {
+            this.layout.write(writer, patches);
+            writer.flush();
+            return;
+        }
+
+        long phase = this.phaseStarted(Phase.SERIALIZE, 0L);
         this.yamlOptions.setIndent(this.options().indent());
         this.yamlOptions.setDefaultFlowStyle(FlowStyle.BLOCK);
         this.yamlRepresenter.setDefaultFlowStyle(FlowStyle.BLOCK);
-        String header = this.buildHeader();
-        String dump = this.yaml.dump(this.getValues(false));
-        if (dump.equals(BLANK_CONFIG)) {
-            dump = "";
+        writer.write(this.buildHeader());
+        long nodes = 0L;
+        if (!this.getValuesView().isEmpty()) {
+            nodes = new YamlEventSerializer(writer, this.yamlOptions, this.yamlRepresenter).serialize(this);
         }
 
-        return header + dump;
+        this.phaseEnded(Phase.SERIALIZE, phase, 0L, nodes, 0L);
+        writer.flush();
     }
 
     /**
@@ -77,25 +126,194 @@ public class YamlConfiguration extends FileConfiguration {
      * @throws InvalidConfigurationException on YAMLException and when top level is not a Map
      */
     public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        ConfigurationMetrics metrics = this.metrics;
+        long start = metrics == null ? 0L : System.nanoTime();
+        int maxLength = this.options().maxDocumentLength();
+        if (maxLength > 0 && contents.length() > maxLength) {
+            throw new InvalidConfigurationException("Document of " + contents.length() + " characters is longer than " + maxLength);
+        }
+
+        YamlLimits limits = this.limits();
+        boolean preserveLayout = this.options().preserveLayout();
+        if (!preserveLayout && this.options().fastParse()) {
+            long phase = this.phaseStarted(Phase.PARSE, contents.length());
+            this.layout = null;
+            this.changes.clear();
+            boolean parsed = this.replaceContents(() -> {
+                boolean fast = this.loadFast(contents, limits);
+                this.phaseEnded(Phase.PARSE, phase, contents.length(), 0L, 0L);
+                if (fast) {
+                    this.header(contents);
+                    if (metrics != null) {
+                        metrics.parse().record(System.nanoTime() - start);
+                    }
+                }
+
+                return fast;
+            });
+
+            if (parsed) {
+                return;
+            }
+        }
+
+        boolean tracing = this.isTracing();
         Map input;
+        Node node = null;
         try {
-            this.loaderOptions.setMaxAliasesForCollections(2147483647);
-            input = this.yaml.load(contents);
+            this.loaderOptions.setMaxAliasesForCollections(this.options().maxAliases());
+            this.yamlConstructor.deferred = this.options().lazyDeserialization();
+            if (limits != null || preserveLayout || tracing) {
+                long phase = this.phaseStarted(Phase.PARSE, contents.length());
+                node = limits != null ? limits.compose(new StringReader(contents), this.loaderOptions)
+                        : this.yaml.compose(new StringReader(contents));
+                long nodes = tracing ? countNodes(node, new IdentityHashMap<>()) : 0L;
+                this.phaseEnded(Phase.PARSE, phase, contents.length(), nodes, 0L);
+
+                phase = this.phaseStarted(Phase.CONSTRUCT, 0L);
+                long deserialized = this.yamlConstructor.deserialized;
+                input = node == null ? null : (Map) this.yamlConstructor.construct(node);
+                this.phaseEnded(Phase.CONSTRUCT, phase, 0L, nodes, this.yamlConstructor.deserialized - deserialized);
+            } else {
+                input = this.yaml.load(contents);
+            }
         } catch (YAMLException e) {
             throw new InvalidConfigurationException(e);
         } catch (ClassCastException e) {
             throw new InvalidConfigurationException("Top level is not a Map.");
         }
 
+        long parsed = System.nanoTime();
+        if (metrics != null) {
+            metrics.parse().record(parsed - start);
+        }
+
+        Map<?, ?> values = input;
+        YamlLayout layout = preserveLayout && values != null && node instanceof MappingNode
+                ? YamlLayout.of(contents, (MappingNode) node, values, this.options().pathSeparator()) : null;
+        long phase = this.phaseStarted(Phase.CONVERT, 0L);
+        this.convertedSections = 0L;
+        this.convertedValues = 0L;
+        this.layout = null;
+        this.changes.clear();
+        this.replaceContents(() -> {
+            if (values != null) {
+                this.convertMapsToSections(values, this);
+            }
+
+            this.phaseEnded(Phase.CONVERT, phase, 0L, this.convertedSections, this.convertedValues);
+            if (metrics != null) {
+                metrics.convert().record(System.nanoTime() - parsed);
+            }
+
+            this.header(contents);
+            return true;
+        });
+
+        this.layout = layout;
+    }
+
+    /**
+     * Loads the YamlConfiguration contents from a reader, reading stops once the document length limit is exceeded
+     * @param reader the reader to load from, it is closed afterwards
+     * @throws IOException if the reader fails
+     * @throws InvalidConfigurationException if the contents are invalid or over a limit
+     */
+    @Override
+    public void load(@NotNull Reader reader) throws IOException, InvalidConfigurationException {
+        int maxLength = this.options().maxDocumentLength();
+        if (maxLength == 0) {
+            super.load(reader);
+            return;
+        }
+
+        BoundedReader bounded = new BoundedReader(reader, maxLength);
+        try {
+            super.load(bounded);
+        } catch (IOException e) {
+            if (bounded.exceeded) {
+                throw new InvalidConfigurationException("Document is longer than " + maxLength + " characters");
+            }
+
+            throw e;
+        }
+    }
+
+    @Override
+    protected void onChange(@NotNull ConfigurationSection section, @NotNull String key) {
+        super.onChange(section, key);
+        if (this.layout != null) {
+            this.changes.add(createPath(section, key));
+        }
+    }
+
+    /**
+     * Collects the new values of the paths changed since loading
+     * @return the values by path, or null if a change cannot be patched into the loaded document, including lists
+     * and objects changed in place
+     */
+    @Nullable
+    private Map<String, Object> layoutPatches() {
+        YamlLayout layout = this.layout;
+        if (layout == null || (this.options().copyDefaults() && this.getDefaults() != null) || !layout.unchanged(this::find)) {
+            return null;
+        }
+
+        Map<String, Object> patches = new HashMap<>();
+        for (String path : this.changes) {
+            Object value = this.find(path);
+            if (!layout.contains(path) || !YamlLayout.isScalar(value)) {
+                return null;
+            }
+
+            patches.put(path, value);
+        }
+
+        return patches;
+    }
+
+    /**
+     * Loads the contents with the fast parser into the cleared configuration
+     * @param contents the contents to add to the YamlConfiguration
+     * @param limits the limits to check the loaded contents against, null for none
+     * @return false if the contents use syntax the fast parser does not support
+     * @throws InvalidConfigurationException if the contents are over a limit
+     */
+    private boolean loadFast(@NotNull String contents, @Nullable YamlLimits limits) throws InvalidConfigurationException {
+        if (!new YamlFastParser(contents, this.options().lazyDeserialization()).parse(this)) {
+            return false;
+        }
+
+        if (limits != null) {
+            limits.check(this);
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes over the header of the contents being loaded, it is restored if the load fails
+     * @param contents the loaded contents
+     */
+    private void header(@NotNull String contents) {
         String header = this.parseHeader(contents);
         if (header.length() > 0) {
             this.options().header(header);
         }
+    }
 
-        this.map.clear();
-        if (input != null) {
-            this.convertMapsToSections(input, this);
+    /**
+     * Creates the checker of the depth and scalar limits of the options
+     * @return the checker, null if neither is limited
+     */
+    @Nullable
+    private YamlLimits limits() {
+        YamlConfigurationOptions options = this.options();
+        if (options.maxDepth() == 0 && options.maxScalarLength() == 0) {
+            return null;
         }
+
+        return new YamlLimits(options.maxDepth(), options.maxScalarLength());
     }
 
     protected void convertMapsToSections(@NotNull Map<?, ?> input, @NotNull ConfigurationSection section) {
@@ -105,14 +323,52 @@ public class YamlConfiguration extends FileConfiguration {
             Object value = item.getValue();
 
             if (value instanceof Map) {
+                this.convertedSections++;
                 this.convertMapsToSections((Map) value, section.createSection(key));
-                return;
+                continue;
             }
 
+            this.convertedValues++;
             section.set(key, value);
         }
     }
 
+    /**
+     * Counts the nodes of a composed document, aliased collections once
+     * @param node the root node
+     * @param seen the collections counted so far
+     * @return the number of nodes
+     */
+    private static long countNodes(@Nullable Node node, @NotNull Map<Node, Boolean> seen) {
+        if (node == null) {
+            return 0L;
+        } else if (node instanceof MappingNode) {
+            if (seen.put(node, Boolean.TRUE) != null) {
+                return 0L;
+            }
+
+            long count = 1L;
+            for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+                count += countNodes(tuple.getKeyNode(), seen) + countNodes(tuple.getValueNode(), seen);
+            }
+
+            return count;
+        } else if (node instanceof SequenceNode) {
+            if (seen.put(node, Boolean.TRUE) != null) {
+                return 0L;
+            }
+
+            long count = 1L;
+            for (Node child : ((SequenceNode) node).getValue()) {
+                count += countNodes(child, seen);
+            }
+
+            return count;
+        }
+
+        return 1L;
+    }
+
     @NotNull
     protected String parseHeader(@NotNull String input) {
         String[] lines = input.split("\r?\n", -1);
@@ -213,6 +469,16 @@ public class YamlConfiguration extends FileConfiguration {
         return config;
     }
 
+    /**
+     * Loads a YamlConfiguration from a file on the default executor without blocking the caller
+     * @param file the file to load into a YamlConfiguration
+     * @return the future of the file as a YamlConfiguration object, empty if the file does not exist
+     */
+    @NotNull
+    public static CompletableFuture<YamlConfiguration> loadConfigurationAsync(@NotNull File file) {
+        return loadConfigurationAsync(new YamlConfiguration(), file);
+    }
+
     /**
      * Loads a YamlConfiguration from a file
      * @param reader the read to load into a YamlConfiguration
@@ -229,4 +495,45 @@ public class YamlConfiguration extends FileConfiguration {
 
         return config;
     }
+
+    /**
+     * Fails the read once more than a number of characters were read
+     */
+    private static final class BoundedReader extends FilterReader {
+        private long remaining;
+        private boolean exceeded;
+
+        private BoundedReader(@NotNull Reader reader, int limit) {
+            super(reader);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                this.consume(1);
+            }
+
+            return c;
+        }
+
+        @Override
+        public int read(@NotNull char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                this.consume(read);
+            }
+
+            return read;
+        }
+
+        private void consume(int chars) throws IOException {
+            this.remaining -= chars;
+            if (this.remaining < 0) {
+                this.exceeded = true;
+                throw new IOException("Document is too long");
+            }
+        }
+    }
 }
@@ -24,8 +24,17 @@ package io.coachluck.confile.file;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.Executor;
+
 public class YamlConfigurationOptions extends FileConfigurationOptions {
     private int indent = 2;
+    private boolean fastParse = false;
+    private boolean preserveLayout = false;
+    private boolean lazyDeserialization = false;
+    private int maxAliases = Integer.MAX_VALUE;
+    private int maxDocumentLength = 0;
+    private int maxDepth = 0;
+    private int maxScalarLength = 0;
 
     /**
      * Creates the default YamlConfigurationOptions from a YamlConfiguration
@@ -66,6 +75,39 @@ public class YamlConfigurationOptions extends FileConfigurationOptions {
         return this;
     }
 
+    /**
+     * Sets the number of keys from which a section keeps a sorted index of its keys for queries
+     * @param keys the threshold, 0 to never index
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions keyIndexThreshold(int keys) {
+        super.keyIndexThreshold(keys);
+        return this;
+    }
+
+    /**
+     * Sets the heap a load may retain, a load over the budget fails
+     * @param bytes the budget in bytes, 0 to not check loads
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions heapBudget(long bytes) {
+        super.heapBudget(bytes);
+        return this;
+    }
+
+    /**
+     * Sets the executor asynchronous loads and saves run on
+     * @param executor the executor, null for the default
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions executor(@Nullable Executor executor) {
+        super.executor(executor);
+        return this;
+    }
+
     /**
      * Sets the header of the YamlConfiguration file from a string
      * @param header header content as a string.
@@ -106,4 +148,165 @@ public class YamlConfigurationOptions extends FileConfigurationOptions {
         this.indent = spaces;
         return this;
     }
+
+    /**
+     * Whether or not plain documents are loaded by the built in fast parser instead of SnakeYAML
+     * @return true if the fast parser is used
+     */
+    public boolean fastParse() {
+        return this.fastParse;
+    }
+
+    /**
+     * Sets whether or not plain documents are loaded by the built in fast parser. It only understands block
+     * mappings, block sequences and single line plain or quoted scalars, any other document is still loaded
+     * by SnakeYAML with the same result.
+     * @param value true to use the fast parser, false to always use SnakeYAML
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions fastParse(boolean value) {
+        this.fastParse = value;
+        return this;
+    }
+
+    /**
+     * Whether or not saving patches the loaded document instead of writing a new one
+     * @return true if the layout of the loaded document is preserved
+     */
+    public boolean preserveLayout() {
+        return this.preserveLayout;
+    }
+
+    /**
+     * Sets whether or not the layout of the loaded document, comments included, is preserved on save.
+     * While only scalar values of existing keys change, saving copies the loaded document and replaces just those
+     * values; adding or removing keys or changing sections and lists writes a new document as usual.
+     * Has to be set before loading, it takes precedence over {@link #fastParse(boolean)}.
+     * @param value true to preserve the layout, false to always write a new document
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions preserveLayout(boolean value) {
+        this.preserveLayout = value;
+        return this;
+    }
+
+    /**
+     * Gets the number of aliases to mappings and sequences a document may use
+     * @return the limit, {@link Integer#MAX_VALUE} for none
+     */
+    public int maxAliases() {
+        return this.maxAliases;
+    }
+
+    /**
+     * Sets the number of aliases to mappings and sequences a document may use. Every alias to a collection
+     * shares it, so a few lines can describe a structure of billions of values that the code walking it
+     * never finishes with. SnakeYAML's own default is 50.
+     * @param aliases the limit, {@link Integer#MAX_VALUE} for none
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions maxAliases(int aliases) {
+        if (aliases < 0) {
+            throw new IllegalArgumentException("Alias limit cannot be negative, got " + aliases);
+        }
+
+        this.maxAliases = aliases;
+        return this;
+    }
+
+    /**
+     * Gets the length a document may have
+     * @return the limit in characters, 0 for none
+     */
+    public int maxDocumentLength() {
+        return this.maxDocumentLength;
+    }
+
+    /**
+     * Sets the length a document may have. Loading from a reader or a file stops reading once it is exceeded.
+     * @param length the limit in characters, 0 for none
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions maxDocumentLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Document length limit cannot be negative, got " + length);
+        }
+
+        this.maxDocumentLength = length;
+        return this;
+    }
+
+    /**
+     * Gets the number of levels mappings and sequences may nest
+     * @return the limit, 0 for none
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Sets the number of levels mappings and sequences may nest, the top level mapping is the first level.
+     * The document is checked before it is composed, SnakeYAML composes recursively and would otherwise
+     * overflow the stack on a deep enough document.
+     * @param levels the limit, 0 for none
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions maxDepth(int levels) {
+        if (levels < 0) {
+            throw new IllegalArgumentException("Depth limit cannot be negative, got " + levels);
+        }
+
+        this.maxDepth = levels;
+        return this;
+    }
+
+    /**
+     * Gets the length a scalar may have
+     * @return the limit in characters, 0 for none
+     */
+    public int maxScalarLength() {
+        return this.maxScalarLength;
+    }
+
+    /**
+     * Sets the length a scalar, key or value, may have
+     * @param length the limit in characters, 0 for none
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions maxScalarLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Scalar length limit cannot be negative, got " + length);
+        }
+
+        this.maxScalarLength = length;
+        return this;
+    }
+
+    /**
+     * Whether or not serialized objects are deserialized on first access instead of while loading
+     * @return true if loading keeps placeholders
+     */
+    public boolean lazyDeserialization() {
+        return this.lazyDeserialization;
+    }
+
+    /**
+     * Sets whether or not mappings with a {@code ==} type key are kept as
+     * {@link io.coachluck.confile.serialization.DeferredSerializable} placeholders while loading. Only the type
+     * is checked at load time, getObject and getSerializable deserialize the object on first access and cache it
+     * in place. Other getters, {@code get} included, return the placeholder.
+     * @param value true to defer deserialization, false to deserialize every object while loading
+     * @return the updated YamlConfigurationOptions
+     */
+    @NotNull
+    public YamlConfigurationOptions lazyDeserialization(boolean value) {
+        this.lazyDeserialization = value;
+        return this;
+    }
 }
@@ -22,6 +22,7 @@
 package io.coachluck.confile.file;
 
 import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
@@ -34,11 +35,25 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 public class YamlConstructor extends SafeConstructor {
+    // the serializable objects constructed so far, read around a construction to count its objects
+    long deserialized;
+    // whether typed maps become placeholders that deserialize on first access
+    boolean deferred;
 
     public YamlConstructor() {
         this.yamlConstructors.put(Tag.MAP, new ConstructCustomObject());
     }
 
+    /**
+     * Constructs the objects of an already composed document
+     * @param node the root node of the document
+     * @return the constructed document
+     */
+    @Nullable
+    public Object construct(@NotNull Node node) {
+        return this.constructDocument(node);
+    }
+
     private class ConstructCustomObject extends ConstructYamlMap {
         private ConstructCustomObject() { }
 
@@ -58,6 +73,11 @@ public class YamlConstructor extends SafeConstructor {
                     }
 
                     try {
+                        if (YamlConstructor.this.deferred) {
+                            return DeferredSerializable.of(typed);
+                        }
+
+                        YamlConstructor.this.deserialized++;
                         return ConfigurationSerialization.deserializeObject(typed);
                     } catch (IllegalArgumentException var6) {
                         throw new YAMLException("Could not deserialize object", var6);
@@ -0,0 +1,229 @@
+/*
+ *   Project: Confile
+ *   File: YamlEventSerializer.java
+ *   Last Modified: 10/19/26, 7:00 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.MemorySection;
+import io.coachluck.confile.serialization.ConfigurationCodec;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.AnchorNode;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a configuration as SnakeYAML events straight to a writer. Sections, lists, maps and serializable objects
+ * are walked in place instead of being represented as a node graph first, so only the containers on the path to
+ * the current value are held. Other values are represented one at a time, the output matches {@code Yaml.dump}
+ * except that repeated objects are written again instead of as anchors.
+ */
+final class YamlEventSerializer {
+    private static final Resolver RESOLVER = new Resolver();
+    private static final String TYPE_KEY = ConfigurationSerialization.SERIALIZED_TYPE_KEY;
+
+    private final Emitter emitter;
+    private final DumperOptions options;
+    private final Representer representer;
+    private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long nodes;
+
+    YamlEventSerializer(@NotNull Writer writer, @NotNull DumperOptions options, @NotNull Representer representer) {
+        this.emitter = new Emitter(writer, options);
+        this.options = options;
+        this.representer = representer;
+    }
+
+    /**
+     * Writes a section as a whole YAML document
+     * @param section the section
+     * @return the number of nodes written
+     * @throws IOException if the writer fails
+     * @throws IllegalArgumentException if a value contains itself
+     */
+    long serialize(@NotNull ConfigurationSection section) throws IOException {
+        this.emitter.emit(new StreamStartEvent(null, null));
+        this.emitter.emit(new DocumentStartEvent(null, null, this.options.isExplicitStart(),
+                this.options.getVersion(), this.options.getTags()));
+        this.value(section);
+        this.emitter.emit(new DocumentEndEvent(null, null, this.options.isExplicitEnd()));
+        this.emitter.emit(new StreamEndEvent(null, null));
+        return this.nodes;
+    }
+
+    private void value(@Nullable Object value) throws IOException {
+        if (value instanceof ConfigurationSection) {
+            ConfigurationSection section = (ConfigurationSection) value;
+            this.map(section, section instanceof MemorySection
+                    ? ((MemorySection) section).getValuesView() : section.getValues(false));
+        } else if (value instanceof ConfigurationSerializable) {
+            this.serializable((ConfigurationSerializable) value);
+        } else if (value instanceof DeferredSerializable) {
+            DeferredSerializable deferred = (DeferredSerializable) value;
+            if (deferred.isDeserialized()) {
+                // the object may have changed since it was handed out
+                this.value(deferred.deserialize());
+            } else {
+                this.map(deferred, deferred.getValues());
+            }
+        } else if (value instanceof Map) {
+            this.map(value, (Map<?, ?>) value);
+        } else if (value instanceof List) {
+            this.list((List<?>) value);
+        } else {
+            this.node(this.representer.represent(value));
+        }
+    }
+
+    private void map(@NotNull Object owner, @NotNull Map<?, ?> values) throws IOException {
+        this.enter(owner);
+        this.startMapping();
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            this.value(entry.getKey());
+            this.value(entry.getValue());
+        }
+
+        this.emitter.emit(new MappingEndEvent(null, null));
+        this.path.remove(owner);
+    }
+
+    private void list(@NotNull List<?> values) throws IOException {
+        this.enter(values);
+        this.nodes++;
+        this.emitter.emit(new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null,
+                this.options.getDefaultFlowStyle()));
+        for (Object value : values) {
+            this.value(value);
+        }
+
+        this.emitter.emit(new SequenceEndEvent(null, null));
+        this.path.remove(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void serializable(@NotNull ConfigurationSerializable serializable) throws IOException {
+        this.enter(serializable);
+        this.startMapping();
+        ConfigurationCodec<ConfigurationSerializable> codec = (ConfigurationCodec<ConfigurationSerializable>)
+                ConfigurationSerialization.getCodec(serializable.getClass());
+        if (codec != null) {
+            this.value(TYPE_KEY);
+            this.value(codec.getAlias());
+            codec.<IOException>serialize(serializable, (key, value) -> {
+                this.value(key);
+                this.value(value);
+            });
+        } else {
+            this.value(TYPE_KEY);
+            this.value(ConfigurationSerialization.getAlias(serializable.getClass()));
+            for (Map.Entry<String, Object> entry : serializable.serialize().entrySet()) {
+                if (!TYPE_KEY.equals(entry.getKey())) {
+                    this.value(entry.getKey());
+                    this.value(entry.getValue());
+                }
+            }
+        }
+
+        this.emitter.emit(new MappingEndEvent(null, null));
+        this.path.remove(serializable);
+    }
+
+    private void startMapping() throws IOException {
+        this.nodes++;
+        this.emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null,
+                this.options.getDefaultFlowStyle()));
+    }
+
+    private void enter(@NotNull Object container) {
+        if (!this.path.add(container)) {
+            throw new IllegalArgumentException("Cannot save a " + container.getClass().getSimpleName()
+                    + " that contains itself");
+        }
+    }
+
+    /**
+     * Emits a represented value the way SnakeYAML's own serializer does, without anchors
+     * @param node the node
+     * @throws IOException if the writer fails
+     */
+    private void node(@NotNull Node node) throws IOException {
+        this.nodes++;
+        Tag tag = node.getTag();
+        if (node.getNodeId() == NodeId.anchor) {
+            this.node(((AnchorNode) node).getRealNode());
+        } else if (node.getNodeId() == NodeId.scalar) {
+            ScalarNode scalar = (ScalarNode) node;
+            ImplicitTuple implicit = new ImplicitTuple(tag.equals(RESOLVER.resolve(NodeId.scalar, scalar.getValue(), true)),
+                    tag.equals(RESOLVER.resolve(NodeId.scalar, scalar.getValue(), false)));
+            this.emitter.emit(new ScalarEvent(null, tag.getValue(), implicit, scalar.getValue(), null, null,
+                    scalar.getScalarStyle()));
+        } else if (node.getNodeId() == NodeId.sequence) {
+            SequenceNode sequence = (SequenceNode) node;
+            this.emitter.emit(new SequenceStartEvent(null, tag.getValue(),
+                    tag.equals(RESOLVER.resolve(NodeId.sequence, null, true)), null, null, sequence.getFlowStyle()));
+            for (Node child : sequence.getValue()) {
+                this.node(child);
+            }
+
+            this.emitter.emit(new SequenceEndEvent(null, null));
+        } else {
+            MappingNode mapping = (MappingNode) node;
+            this.emitter.emit(new MappingStartEvent(null, tag.getValue(),
+                    tag.equals(RESOLVER.resolve(NodeId.mapping, null, true)), null, null, mapping.getFlowStyle()));
+            for (NodeTuple tuple : mapping.getValue()) {
+                this.node(tuple.getKeyNode());
+                this.node(tuple.getValueNode());
+            }
+
+            this.emitter.emit(new MappingEndEvent(null, null));
+        }
+    }
+}
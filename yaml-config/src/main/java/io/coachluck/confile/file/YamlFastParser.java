@@ -0,0 +1,634 @@
+/*
+ *   Project: Confile
+ *   File: YamlFastParser.java
+ *   Last Modified: 10/19/26, 1:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line based parser for the subset of YAML most configuration files use: block mappings, block sequences and
+ * single line plain, single quoted or double quoted scalars. Mappings that are values of a section are created
+ * as sections while they are read, plain scalars are typed with SnakeYAML's own {@link Resolver}.
+ * Anything outside the subset (anchors, tags, flow collections, block and multi line scalars, directives,
+ * tabs, timestamps, ...) makes {@link #parse(ConfigurationSection)} return false, the caller then has to
+ * discard the partially filled section and load the document with SnakeYAML instead.
+ */
+final class YamlFastParser {
+    private static final Resolver RESOLVER = new Resolver();
+    private static final Unsupported UNSUPPORTED = new Unsupported();
+
+    private final String input;
+    private final int length;
+    private final boolean deferred;
+    private final StringBuilder buffer = new StringBuilder();
+
+    // the current line, content is the first non space character, end excludes the line break
+    private int lineStart;
+    private int indent;
+    private int content;
+    private int end;
+    private int next;
+    private boolean eof;
+
+    YamlFastParser(@NotNull String input) {
+        this(input, false);
+    }
+
+    /**
+     * @param input the document
+     * @param deferred true to keep typed mappings as {@link DeferredSerializable} placeholders
+     */
+    YamlFastParser(@NotNull String input, boolean deferred) {
+        this.input = input;
+        this.length = input.length();
+        this.deferred = deferred;
+    }
+
+    /**
+     * Parses the document into the root section
+     * @param root the section to fill
+     * @return false if the document uses syntax outside of the supported subset
+     */
+    boolean parse(@NotNull ConfigurationSection root) {
+        if (!this.printable()) {
+            return false;
+        }
+
+        try {
+            if (this.input.startsWith("---")) {
+                // an explicit start of the only document
+                int newline = this.input.indexOf('\n');
+                this.next = newline < 0 ? this.length : newline + 1;
+                this.end = newline < 0 ? this.length : this.input.charAt(newline - 1) == '\r' ? newline - 1 : newline;
+                if (!this.isBlankOrComment(3)) {
+                    return false;
+                }
+            }
+
+            this.advance();
+            if (this.eof) {
+                return true;
+            }
+
+            if (this.isSequenceEntry()) {
+                throw UNSUPPORTED;
+            }
+
+            if (this.readSection(root, this.indent) || !this.eof) {
+                throw UNSUPPORTED;
+            }
+
+            return true;
+        } catch (Unsupported e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a block mapping into a section
+     * @return true if the mapping carried the type key and has to be deserialized instead
+     */
+    private boolean readSection(@NotNull ConfigurationSection section, int mapIndent) throws Unsupported {
+        boolean typed = false;
+        while (!this.eof && this.indent == mapIndent) {
+            if (this.isSequenceEntry()) {
+                throw UNSUPPORTED;
+            }
+
+            String key = this.readKey();
+            typed |= ConfigurationSerialization.SERIALIZED_TYPE_KEY.equals(key);
+
+            if (this.isBlankOrComment(this.content)) {
+                this.advance();
+                if (!this.eof && this.indent > mapIndent && !this.isSequenceEntry()) {
+                    ConfigurationSection child = section.createSection(key);
+                    if (this.readSection(child, this.indent)) {
+                        section.set(key, this.deserialize(toMap(child)));
+                    }
+                } else {
+                    section.set(key, this.readBlockValue(mapIndent));
+                }
+            } else {
+                section.set(key, this.readInlineScalar(mapIndent));
+            }
+        }
+
+        this.checkDedent(mapIndent);
+        return typed;
+    }
+
+    @Nullable
+    private Object readMap(int mapIndent) throws Unsupported {
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (!this.eof && this.indent == mapIndent) {
+            if (this.isSequenceEntry()) {
+                throw UNSUPPORTED;
+            }
+
+            String key = this.readKey();
+            if (this.isBlankOrComment(this.content)) {
+                this.advance();
+                map.put(key, this.readBlockValue(mapIndent));
+            } else {
+                map.put(key, this.readInlineScalar(mapIndent));
+            }
+        }
+
+        this.checkDedent(mapIndent);
+        return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY) ? this.deserialize(map) : map;
+    }
+
+    @NotNull
+    private List<Object> readList(int listIndent) throws Unsupported {
+        List<Object> list = new ArrayList<>();
+        while (!this.eof && this.indent == listIndent && this.isSequenceEntry()) {
+            int item = this.content + 1;
+            while (item < this.end && this.input.charAt(item) == ' ') {
+                item++;
+            }
+
+            if (this.isBlankOrComment(item)) {
+                this.advance();
+                list.add(!this.eof && this.indent > listIndent ? this.readNested() : null);
+                continue;
+            }
+
+            // a compact nested collection starts at the column of the item content
+            this.indent = item - this.lineStart;
+            this.content = item;
+            if (this.isSequenceEntry() || this.findKeyEnd() >= 0) {
+                list.add(this.readNested());
+            } else {
+                list.add(this.readInlineScalar(listIndent));
+            }
+        }
+
+        this.checkDedent(listIndent);
+        return list;
+    }
+
+    /**
+     * Reads the value of a key whose line has no inline value
+     */
+    @Nullable
+    private Object readBlockValue(int parentIndent) throws Unsupported {
+        if (this.eof || this.indent < parentIndent) {
+            return null;
+        } else if (this.indent > parentIndent) {
+            return this.readNested();
+        } else if (this.isSequenceEntry()) {
+            return this.readList(parentIndent);
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private Object readNested() throws Unsupported {
+        return this.isSequenceEntry() ? this.readList(this.indent) : this.readMap(this.indent);
+    }
+
+    /**
+     * Reads the key at the current content position and moves the content past its ':' indicator
+     */
+    @NotNull
+    private String readKey() throws Unsupported {
+        char c = this.input.charAt(this.content);
+        String key;
+        int colon;
+        if (c == '"' || c == '\'') {
+            int close = this.readQuoted(this.content);
+            key = this.buffer.toString();
+            colon = close;
+            while (colon < this.end && this.input.charAt(colon) == ' ') {
+                colon++;
+            }
+
+            if (colon >= this.end || this.input.charAt(colon) != ':' || !this.isSeparator(colon + 1)) {
+                throw UNSUPPORTED;
+            }
+        } else {
+            colon = this.findKeyEnd();
+            if (colon < 0 || isIndicator(c)) {
+                throw UNSUPPORTED;
+            }
+
+            Object resolved = resolve(this.trimmed(this.content, colon));
+            if (resolved == null) {
+                throw UNSUPPORTED;
+            }
+
+            key = resolved.toString();
+        }
+
+        this.content = colon + 1;
+        while (this.content < this.end && this.input.charAt(this.content) == ' ') {
+            this.content++;
+        }
+
+        return key;
+    }
+
+    /**
+     * Reads a scalar that is the rest of the current line, then moves to the next line
+     */
+    @Nullable
+    private Object readInlineScalar(int parentIndent) throws Unsupported {
+        char c = this.input.charAt(this.content);
+        Object value;
+        if (c == '"' || c == '\'') {
+            int close = this.readQuoted(this.content);
+            if (!this.isBlankOrComment(close)) {
+                throw UNSUPPORTED;
+            }
+
+            value = this.buffer.toString();
+        } else {
+            if (isIndicator(c) || (c == '-' && this.isSeparator(this.content + 1))) {
+                throw UNSUPPORTED;
+            }
+
+            int stop = this.content;
+            while (stop < this.end && !(this.input.charAt(stop) == '#' && this.input.charAt(stop - 1) == ' ')) {
+                if (this.input.charAt(stop) == ':' && this.isSeparator(stop + 1)) {
+                    throw UNSUPPORTED;
+                }
+
+                stop++;
+            }
+
+            value = resolve(this.trimmed(this.content, stop));
+        }
+
+        this.advance();
+        if (!this.eof && this.indent > parentIndent) {
+            // a continuation line of a multi line scalar
+            throw UNSUPPORTED;
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a single line quoted scalar into the buffer
+     * @return the position after the closing quote
+     */
+    private int readQuoted(int start) throws Unsupported {
+        char quote = this.input.charAt(start);
+        this.buffer.setLength(0);
+        int i = start + 1;
+        while (i < this.end) {
+            char c = this.input.charAt(i++);
+            if (c == quote) {
+                if (quote == '\'' && i < this.end && this.input.charAt(i) == '\'') {
+                    this.buffer.append('\'');
+                    i++;
+                    continue;
+                }
+
+                return i;
+            }
+
+            if (c == '\\' && quote == '"') {
+                i = this.readEscape(i);
+            } else {
+                this.buffer.append(c);
+            }
+        }
+
+        throw UNSUPPORTED;
+    }
+
+    private int readEscape(int i) throws Unsupported {
+        if (i >= this.end) {
+            throw UNSUPPORTED;
+        }
+
+        char c = this.input.charAt(i++);
+        switch (c) {
+            case '0': this.buffer.append('\0'); break;
+            case 'a': this.buffer.append('\u0007'); break;
+            case 'b': this.buffer.append('\b'); break;
+            case 't': this.buffer.append('\t'); break;
+            case 'n': this.buffer.append('\n'); break;
+            case 'v': this.buffer.append('\u000B'); break;
+            case 'f': this.buffer.append('\f'); break;
+            case 'r': this.buffer.append('\r'); break;
+            case 'e': this.buffer.append('\u001B'); break;
+            case ' ': this.buffer.append(' '); break;
+            case '"': this.buffer.append('"'); break;
+            case '\\': this.buffer.append('\\'); break;
+            case 'N': this.buffer.append('\u0085'); break;
+            case '_': this.buffer.append('\u00A0'); break;
+            case 'L': this.buffer.append('\u2028'); break;
+            case 'P': this.buffer.append('\u2029'); break;
+            case 'x':
+            case 'u':
+                int digits = c == 'x' ? 2 : 4;
+                if (i + digits > this.end) {
+                    throw UNSUPPORTED;
+                }
+
+                int value = 0;
+                for (int j = 0; j < digits; j++) {
+                    int digit = Character.digit(this.input.charAt(i++), 16);
+                    if (digit < 0) {
+                        throw UNSUPPORTED;
+                    }
+
+                    value = (value << 4) | digit;
+                }
+
+                this.buffer.append((char) value);
+                break;
+            default:
+                throw UNSUPPORTED;
+        }
+
+        return i;
+    }
+
+    /**
+     * Finds the ':' indicator of a plain key on the current line
+     * @return the position of the indicator, or -1 if the content is not a plain key
+     */
+    private int findKeyEnd() {
+        char first = this.input.charAt(this.content);
+        if (first == '"' || first == '\'') {
+            int close = this.input.indexOf(first, this.content + 1);
+            while (close > 0 && close < this.end - 1 && this.input.charAt(close + 1) == ' ') {
+                close++;
+            }
+
+            return close > 0 && close < this.end - 1 && this.input.charAt(close + 1) == ':' ? close + 1 : -1;
+        }
+
+        for (int i = this.content; i < this.end; i++) {
+            char c = this.input.charAt(i);
+            if (c == '#' && i > this.content && this.input.charAt(i - 1) == ' ') {
+                return -1;
+            } else if (c == ':' && this.isSeparator(i + 1)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Moves to the next line that is neither blank nor only a comment
+     */
+    private void advance() throws Unsupported {
+        while (this.next < this.length) {
+            int start = this.next;
+            int newline = this.input.indexOf('\n', start);
+            int stop = newline < 0 ? this.length : newline;
+            this.next = newline < 0 ? this.length : newline + 1;
+            if (stop > start && this.input.charAt(stop - 1) == '\r') {
+                stop--;
+            }
+
+            int first = start;
+            while (first < stop && this.input.charAt(first) == ' ') {
+                first++;
+            }
+
+            if (first == stop || this.input.charAt(first) == '#') {
+                continue;
+            }
+
+            if (first == start && (this.input.startsWith("---", start) || this.input.startsWith("...", start)
+                    || this.input.charAt(start) == '%')) {
+                throw UNSUPPORTED;
+            }
+
+            this.lineStart = start;
+            this.indent = first - start;
+            this.content = first;
+            this.end = stop;
+            return;
+        }
+
+        this.eof = true;
+    }
+
+    private void checkDedent(int blockIndent) throws Unsupported {
+        if (!this.eof && this.indent > blockIndent) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    private boolean isSequenceEntry() {
+        return this.input.charAt(this.content) == '-' && this.isSeparator(this.content + 1);
+    }
+
+    private boolean isSeparator(int i) {
+        return i >= this.end || this.input.charAt(i) == ' ';
+    }
+
+    private boolean isBlankOrComment(int i) {
+        while (i < this.end && this.input.charAt(i) == ' ') {
+            i++;
+        }
+
+        return i >= this.end || this.input.charAt(i) == '#';
+    }
+
+    @NotNull
+    private String trimmed(int start, int stop) {
+        while (stop > start && this.input.charAt(stop - 1) == ' ') {
+            stop--;
+        }
+
+        return this.input.substring(start, stop);
+    }
+
+    /**
+     * Checks that the document only holds characters SnakeYAML accepts, with plain line breaks and without tabs
+     */
+    private boolean printable() {
+        for (int i = 0; i < this.length; i++) {
+            char c = this.input.charAt(i);
+            if (c >= 0x20 && c < 0x7F) {
+                continue;
+            }
+
+            if (c == '\n' || (c == '\r' && i + 1 < this.length && this.input.charAt(i + 1) == '\n')) {
+                continue;
+            }
+
+            if (Character.isHighSurrogate(c) && i + 1 < this.length && Character.isLowSurrogate(this.input.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+
+            if (c < 0xA0 || Character.isSurrogate(c) || c == '\u2028' || c == '\u2029' || c == '\uFEFF' || c >= '\uFFFE') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isIndicator(char c) {
+        switch (c) {
+            case '[': case ']': case '{': case '}': case ',':
+            case '&': case '*': case '!': case '|': case '>':
+            case '%': case '@': case '`': case '?': case ':':
+            case '#':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Types a plain scalar exactly like SnakeYAML's SafeConstructor would
+     */
+    @Nullable
+    private static Object resolve(@NotNull String value) throws Unsupported {
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        Tag tag = RESOLVER.resolve(NodeId.scalar, value, true);
+        if (Tag.STR.equals(tag)) {
+            return value;
+        } else if (Tag.INT.equals(tag)) {
+            return resolveInt(value);
+        } else if (Tag.FLOAT.equals(tag)) {
+            return resolveFloat(value);
+        } else if (Tag.BOOL.equals(tag)) {
+            char c = Character.toLowerCase(value.charAt(0));
+            return c == 'y' || c == 't' || "on".equalsIgnoreCase(value);
+        } else if (Tag.NULL.equals(tag)) {
+            return null;
+        }
+
+        throw UNSUPPORTED;
+    }
+
+    @NotNull
+    private static Object resolveInt(@NotNull String text) throws Unsupported {
+        String value = text.replace("_", "");
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            value = value.substring(1);
+        }
+
+        int radix = 10;
+        if ("0".equals(value)) {
+            return 0;
+        } else if (value.startsWith("0b")) {
+            value = value.substring(2);
+            radix = 2;
+        } else if (value.startsWith("0x")) {
+            value = value.substring(2);
+            radix = 16;
+        } else if (value.startsWith("0")) {
+            value = value.substring(1);
+            radix = 8;
+        } else if (value.indexOf(':') >= 0) {
+            throw UNSUPPORTED;
+        }
+
+        String number = negative ? "-" + value : value;
+        try {
+            return Integer.valueOf(number, radix);
+        } catch (NumberFormatException ignored) { }
+
+        try {
+            return Long.valueOf(number, radix);
+        } catch (NumberFormatException ignored) { }
+
+        return new BigInteger(number, radix);
+    }
+
+    @NotNull
+    private static Object resolveFloat(@NotNull String text) throws Unsupported {
+        String value = text.replace("_", "").toLowerCase();
+        if (value.indexOf(':') >= 0) {
+            throw UNSUPPORTED;
+        }
+
+        int sign = 1;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            sign = first == '-' ? -1 : 1;
+            value = value.substring(1);
+        }
+
+        if (".inf".equals(value)) {
+            return sign < 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        } else if (".nan".equals(value)) {
+            return Double.NaN;
+        }
+
+        return Double.valueOf(value) * sign;
+    }
+
+    @Nullable
+    private Object deserialize(@NotNull Map<String, Object> map) throws Unsupported {
+        try {
+            return this.deferred ? DeferredSerializable.of(map) : ConfigurationSerialization.deserializeObject(map);
+        } catch (IllegalArgumentException e) {
+            // let SnakeYAML report the failure the way it always has
+            throw UNSUPPORTED;
+        }
+    }
+
+    @NotNull
+    private static Map<String, Object> toMap(@NotNull ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            map.put(entry.getKey(), value instanceof ConfigurationSection ? toMap((ConfigurationSection) value) : value);
+        }
+
+        return map;
+    }
+
+    /**
+     * Thrown to bail out of the fast path, shared and without a stack trace since it is control flow
+     */
+    private static final class Unsupported extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *   Project: Confile
+ *   File: YamlLayout.java
+ *   Last Modified: 10/19/26, 2:55 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The source of a loaded YAML document together with the position of every scalar value of its sections.
+ * Saving replaces only the ranges of the changed values and copies everything else, comments included, unchanged.
+ */
+final class YamlLayout {
+    private static final Resolver RESOLVER = new Resolver();
+
+    private final String source;
+    private final Map<String, int[]> ranges = new HashMap<>();
+    // copies of the lists and objects of the source, they can be changed in place without a set
+    private final Map<String, Object> frozen = new HashMap<>();
+    // converts the code point indexes of SnakeYAML marks, advanced in document order
+    private int codePoint;
+    private int offset;
+
+    private YamlLayout(@NotNull String source) {
+        this.source = source;
+    }
+
+    /**
+     * Records the layout of a composed document
+     * @param source the document
+     * @param node the composed root node
+     * @param input the map constructed from the node
+     * @param separator the path separator of the configuration
+     * @return the layout, or null if the document shares nodes through anchors and cannot be patched safely
+     */
+    @Nullable
+    static YamlLayout of(@NotNull String source, @NotNull MappingNode node, @NotNull Map<?, ?> input, char separator) {
+        YamlLayout layout = new YamlLayout(source);
+        Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        return layout.record(node, input, "", separator, visited) ? layout : null;
+    }
+
+    private boolean record(@NotNull MappingNode node, @NotNull Map<?, ?> map, @NotNull String prefix,
+                           char separator, @NotNull Set<Node> visited) {
+        if (node.getValue().size() != map.size()) {
+            return false;
+        }
+
+        Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+        for (NodeTuple tuple : node.getValue()) {
+            Map.Entry<?, ?> entry = entries.next();
+            Node valueNode = tuple.getValueNode();
+            if (!visited.add(tuple.getKeyNode()) || !visited.add(valueNode)) {
+                return false;
+            }
+
+            String key = String.valueOf(entry.getKey());
+            String path = prefix.isEmpty() ? key : prefix + separator + key;
+            Object value = entry.getValue();
+            if (valueNode instanceof MappingNode && value instanceof Map) {
+                if (!this.record((MappingNode) valueNode, (Map<?, ?>) value, path, separator, visited)) {
+                    return false;
+                }
+            } else if (valueNode instanceof ScalarNode && isScalar(value)) {
+                ScalarStyle style = ((ScalarNode) valueNode).getScalarStyle();
+                int start = valueNode.getStartMark().getIndex();
+                int end = valueNode.getEndMark().getIndex();
+                if (style != ScalarStyle.LITERAL && style != ScalarStyle.FOLDED && end > start) {
+                    this.ranges.put(path, new int[] { this.offset(start), this.offset(end) });
+                }
+            } else if (!isScalar(value)) {
+                this.frozen.put(path, freeze(value));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether a changed path can be patched in place
+     * @param path the path of the value
+     * @return true if the value at the path was a scalar in the source
+     */
+    boolean contains(@NotNull String path) {
+        return this.ranges.containsKey(path);
+    }
+
+    /**
+     * Checks whether the lists and objects of the source still hold the values they were loaded with
+     * @param values gets the current value at a path
+     * @return false if one of them was changed in place, the source cannot be patched then
+     */
+    boolean unchanged(@NotNull Function<String, Object> values) {
+        for (Map.Entry<String, Object> entry : this.frozen.entrySet()) {
+            if (!Objects.equals(entry.getValue(), freeze(values.apply(entry.getKey())))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the source with the values of the given paths replaced
+     * @param writer the writer to write to
+     * @param values the new scalar value of every changed path, all paths have to be contained in the layout
+     * @throws IOException if the writer fails
+     */
+    void write(@NotNull Writer writer, @NotNull Map<String, Object> values) throws IOException {
+        TreeMap<Integer, String> patches = new TreeMap<>();
+        for (String path : values.keySet()) {
+            patches.put(this.ranges.get(path)[0], path);
+        }
+
+        int position = 0;
+        for (String path : patches.values()) {
+            int[] range = this.ranges.get(path);
+            writer.write(this.source, position, range[0] - position);
+            writer.write(render(values.get(path)));
+            position = range[1];
+        }
+
+        writer.write(this.source, position, this.source.length() - position);
+    }
+
+    private int offset(int index) {
+        if (index < this.codePoint) {
+            this.codePoint = 0;
+            this.offset = 0;
+        }
+
+        this.offset = this.source.offsetByCodePoints(this.offset, index - this.codePoint);
+        this.codePoint = index;
+        return this.offset;
+    }
+
+    /**
+     * Copies a value that can be changed in place into lists, maps and scalars, serializable objects as the values
+     * they serialize to and anything else as the string it prints as
+     */
+    @Nullable
+    private static Object freeze(@Nullable Object value) {
+        if (value == null || isScalar(value)) {
+            return value;
+        } else if (value instanceof ConfigurationSection) {
+            return freeze(((ConfigurationSection) value).getValues(false));
+        } else if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                list.add(freeze(element));
+            }
+
+            return list;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), freeze(entry.getValue()));
+            }
+
+            return map;
+        } else if (value instanceof ConfigurationSerializable) {
+            return freeze(((ConfigurationSerializable) value).serialize());
+        } else if (value instanceof DeferredSerializable) {
+            DeferredSerializable deferred = (DeferredSerializable) value;
+            if (deferred.isDeserialized()) {
+                return freeze(deferred.deserialize());
+            }
+
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, ?> entry : deferred.getValues().entrySet()) {
+                if (!ConfigurationSerialization.SERIALIZED_TYPE_KEY.equals(entry.getKey())) {
+                    map.put(entry.getKey(), freeze(entry.getValue()));
+                }
+            }
+
+            return map;
+        } else if (value instanceof byte[]) {
+            return Arrays.toString((byte[]) value);
+        }
+
+        return String.valueOf(value);
+    }
+
+    /**
+     * Checks whether a value can be written as a single line scalar
+     * @param value the value to check
+     * @return true for strings, booleans and the number types SnakeYAML loads
+     */
+    static boolean isScalar(@Nullable Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof BigInteger || value instanceof Double || value instanceof Float;
+    }
+
+    /**
+     * Renders a scalar on a single line, plain when it reads back as the same string and double quoted otherwise
+     */
+    @NotNull
+    static String render(@NotNull Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number)) {
+                return ".NaN";
+            } else if (Double.isInfinite(number)) {
+                return number > 0 ? ".inf" : "-.inf";
+            }
+
+            return value.toString();
+        } else if (!(value instanceof String)) {
+            return value.toString();
+        }
+
+        String text = (String) value;
+        return isPlain(text) ? text : quote(text);
+    }
+
+    private static boolean isPlain(@NotNull String text) {
+        if (text.isEmpty() || text.charAt(0) == ' ' || text.charAt(text.length() - 1) == ' '
+                || text.charAt(text.length() - 1) == ':' || "-?:,[]{}#&*!|>'\"%@`".indexOf(text.charAt(0)) >= 0) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c > 0x7E || (c == ':' && text.charAt(i + 1) == ' ') || (c == '#' && text.charAt(i - 1) == ' ')) {
+                return false;
+            }
+        }
+
+        return Tag.STR.equals(RESOLVER.resolve(NodeId.scalar, text, true));
+    }
+
+    @NotNull
+    private static String quote(@NotNull String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default:
+                    if (c < 0x20 || (c >= 0x7F && c <= 0x9F) || c == '\u2028' || c == '\u2029' || c == '\uFEFF') {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+}
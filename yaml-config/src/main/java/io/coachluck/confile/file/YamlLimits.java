@@ -0,0 +1,176 @@
+/*
+ *   Project: Confile
+ *   File: YamlLimits.java
+ *   Last Modified: 10/19/26, 7:00 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package io.coachluck.confile.file;
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Checks the nesting depth and the scalar lengths of a document against the limits of the options. SnakeYAML
+ * documents are checked on the parser events while they are composed, so a document nesting thousands of
+ * levels fails before the recursive composer gets that deep. Documents read by the fast parser are checked on the sections
+ * it built, the parser only accepts single line scalars and needs an indent per level.
+ */
+final class YamlLimits {
+    private final int maxDepth;
+    private final int maxScalarLength;
+
+    /**
+     * @param maxDepth the deepest nesting of mappings and sequences allowed, 0 for no limit
+     * @param maxScalarLength the longest scalar allowed in characters, 0 for no limit
+     */
+    YamlLimits(int maxDepth, int maxScalarLength) {
+        this.maxDepth = maxDepth <= 0 ? Integer.MAX_VALUE : maxDepth;
+        this.maxScalarLength = maxScalarLength <= 0 ? Integer.MAX_VALUE : maxScalarLength;
+    }
+
+    /**
+     * Composes a document, checking its events as the composer takes them
+     * @param reader the document
+     * @param options the options of the composer
+     * @return the root node, null for an empty document
+     * @throws InvalidConfigurationException at the first collection or scalar over a limit
+     */
+    @Nullable
+    Node compose(@NotNull Reader reader, @NotNull LoaderOptions options) throws InvalidConfigurationException {
+        try {
+            return new Composer(new CheckedParser(new ParserImpl(new StreamReader(reader))), new Resolver(), options).getSingleNode();
+        } catch (LimitExceeded e) {
+            throw new InvalidConfigurationException(e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the values of a loaded section
+     * @param section the section, the root counts as the first level
+     * @throws InvalidConfigurationException at the first value over a limit
+     */
+    void check(@NotNull ConfigurationSection section) throws InvalidConfigurationException {
+        this.check(section, 1);
+    }
+
+    private void check(@NotNull ConfigurationSection section, int depth) throws InvalidConfigurationException {
+        this.checkDepth(depth, section.getCurrentPath());
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            this.checkValue(entry.getKey(), depth, section, entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSection) {
+                this.check((ConfigurationSection) value, depth + 1);
+            } else {
+                this.checkValue(value, depth + 1, section, entry.getKey());
+            }
+        }
+    }
+
+    private void checkValue(Object value, int depth, @NotNull ConfigurationSection section, @NotNull String key)
+            throws InvalidConfigurationException {
+        if (value instanceof String && ((String) value).length() > this.maxScalarLength) {
+            throw new InvalidConfigurationException("Scalar of " + ((String) value).length() + " characters at "
+                    + YamlConfiguration.createPath(section, key) + " is longer than " + this.maxScalarLength);
+        } else if (value instanceof Collection) {
+            this.checkDepth(depth, YamlConfiguration.createPath(section, key));
+            for (Object element : (Collection<?>) value) {
+                this.checkValue(element, depth + 1, section, key);
+            }
+        } else if (value instanceof Map) {
+            this.checkDepth(depth, YamlConfiguration.createPath(section, key));
+            for (Object element : ((Map<?, ?>) value).values()) {
+                this.checkValue(element, depth + 1, section, key);
+            }
+        }
+    }
+
+    private void checkDepth(int depth, @NotNull String path) throws InvalidConfigurationException {
+        if (depth > this.maxDepth) {
+            throw new InvalidConfigurationException("Document nests deeper than " + this.maxDepth + " levels at '" + path + "'");
+        }
+    }
+
+    /**
+     * Passes the events of a parser on and stops at the first one over a limit
+     */
+    private final class CheckedParser implements Parser {
+        private final Parser parser;
+        private int depth;
+
+        private CheckedParser(@NotNull Parser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean checkEvent(@NotNull Event.ID choice) {
+            return this.parser.checkEvent(choice);
+        }
+
+        @Override
+        public Event peekEvent() {
+            return this.parser.peekEvent();
+        }
+
+        @Override
+        public Event getEvent() {
+            Event event = this.parser.getEvent();
+            if (event instanceof CollectionStartEvent) {
+                if (++this.depth > YamlLimits.this.maxDepth) {
+                    throw new LimitExceeded("Document nests deeper than " + YamlLimits.this.maxDepth
+                            + " levels at line " + (event.getStartMark().getLine() + 1));
+                }
+            } else if (event instanceof CollectionEndEvent) {
+                this.depth--;
+            } else if (event instanceof ScalarEvent) {
+                int length = ((ScalarEvent) event).getValue().length();
+                if (length > YamlLimits.this.maxScalarLength) {
+                    throw new LimitExceeded("Scalar of " + length + " characters at line "
+                            + (event.getStartMark().getLine() + 1) + " is longer than " + YamlLimits.this.maxScalarLength);
+                }
+            }
+
+            return event;
+        }
+    }
+
+    private static final class LimitExceeded extends YAMLException {
+        private static final long serialVersionUID = 1L;
+
+        private LimitExceeded(@NotNull String message) {
+            super(message);
+        }
+    }
+}
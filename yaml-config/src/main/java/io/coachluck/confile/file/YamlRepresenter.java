@@ -22,13 +22,21 @@
 package io.coachluck.confile.file;
 
 import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.serialization.ConfigurationCodec;
 import io.coachluck.confile.serialization.ConfigurationSerializable;
 import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class YamlRepresenter extends Representer {
@@ -36,6 +44,7 @@ public class YamlRepresenter extends Representer {
     public YamlRepresenter() {
         this.multiRepresenters.put(ConfigurationSection.class, new RepresentConfigurationSection());
         this.multiRepresenters.put(ConfigurationSerializable.class, new RepresentConfigurationSerializable());
+        this.representers.put(DeferredSerializable.class, new RepresentDeferredSerializable());
         this.multiRepresenters.remove(Enum.class);
     }
 
@@ -50,13 +59,43 @@ public class YamlRepresenter extends Representer {
     private class RepresentConfigurationSerializable extends RepresentMap {
 
         @NotNull
+        @SuppressWarnings("unchecked")
         public Node representData(@NotNull Object data) {
             ConfigurationSerializable serializable = (ConfigurationSerializable) data;
+            ConfigurationCodec<ConfigurationSerializable> codec = (ConfigurationCodec<ConfigurationSerializable>)
+                    ConfigurationSerialization.getCodec(serializable.getClass());
+            if (codec != null) {
+                // the fields go straight into nodes, without a map in between
+                List<NodeTuple> tuples = new ArrayList<>();
+                tuples.add(new NodeTuple(this.node("=="), this.node(codec.getAlias())));
+                codec.serialize(serializable, (key, value) -> tuples.add(new NodeTuple(this.node(key), this.node(value))));
+                return new MappingNode(Tag.MAP, tuples, YamlRepresenter.this.defaultFlowStyle);
+            }
+
             Map<String, Object> values = new LinkedHashMap<>();
             values.put("==", ConfigurationSerialization.getAlias(serializable.getClass()));
             values.putAll(serializable.serialize());
 
             return super.representData(values);
         }
+
+        @NotNull
+        private Node node(@Nullable Object value) {
+            return YamlRepresenter.this.representData(value);
+        }
+    }
+
+    private class RepresentDeferredSerializable extends RepresentMap {
+
+        @NotNull
+        public Node representData(@NotNull Object data) {
+            DeferredSerializable deferred = (DeferredSerializable) data;
+            if (deferred.isDeserialized()) {
+                // the object may have changed since it was handed out
+                return YamlRepresenter.this.representData(deferred.deserialize());
+            }
+
+            return super.representData(deferred.getValues());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+/*
+ *   Project: Confile
+ *   File: TestAsyncIO.java
+ *   Last Modified: 10/19/26, 6:20 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.file.PhaseEvent;
+import io.coachluck.confile.file.PhaseListener;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestAsyncIO {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSaveThenLoad() throws Exception {
+        File file = new File(this.folder.getRoot(), "async.yml");
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("server.port", 25565);
+        config.saveAsync(file).get(10, TimeUnit.SECONDS);
+
+        YamlConfiguration loaded = YamlConfiguration.loadConfigurationAsync(file).get(10, TimeUnit.SECONDS);
+        assertEquals(25565, loaded.get("server.port"));
+
+        YamlConfiguration missing = YamlConfiguration.loadConfigurationAsync(new File(this.folder.getRoot(), "missing.yml")).get();
+        assertTrue(missing.getKeys(false).isEmpty());
+
+        try {
+            new YamlConfiguration().loadAsync(new File(this.folder.getRoot(), "missing.yml")).get();
+            fail("loading a missing file succeeded");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof java.io.FileNotFoundException);
+        }
+    }
+
+    @Test
+    public void testCancelAndTimeout() throws Exception {
+        File file = new File(this.folder.getRoot(), "async.yml");
+        YamlConfiguration source = new YamlConfiguration();
+        source.set("a", 1);
+        source.save(file);
+
+        List<Runnable> queued = new ArrayList<>();
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().executor(queued::add);
+        CompletableFuture<Void> cancelled = config.loadAsync(file);
+        CompletableFuture<Void> timedOut = config.loadAsync(file, 50, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel(true));
+        try {
+            timedOut.get(10, TimeUnit.SECONDS);
+            fail("load did not time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        queued.forEach(Runnable::run);
+        assertTrue(config.getKeys(false).isEmpty());
+        try {
+            cancelled.join();
+            fail("cancelled load completed");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    @Test
+    public void testTimeoutDuringParseKeepsContents() throws Exception {
+        File file = new File(this.folder.getRoot(), "async.yml");
+        YamlConfiguration source = new YamlConfiguration();
+        source.set("a", 2);
+        source.save(file);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("a", 1);
+            config.options().executor(executor);
+            config.addPhaseListener(new PhaseListener() {
+                @Override
+                public void phaseStarted(PhaseEvent event) {
+                    if (event.getPhase() == Phase.PARSE) {
+                        try {
+                            Thread.sleep(5000L);
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                }
+
+                @Override
+                public void phaseEnded(PhaseEvent event) { }
+            });
+
+            CompletableFuture<Void> timedOut = config.loadAsync(file, 50, TimeUnit.MILLISECONDS);
+            try {
+                timedOut.get(10, TimeUnit.SECONDS);
+                fail("load did not time out");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+
+            executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+            assertEquals(1, config.get("a"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInlineKeepsCallerInterrupt() throws Exception {
+        File file = new File(this.folder.getRoot(), "inline.yml");
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("a", 1);
+        config.options().executor(Runnable::run);
+
+        Thread.currentThread().interrupt();
+        try {
+            config.saveAsync(file).join();
+            config.loadAsync(file).join();
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(1, config.get("a"));
+    }
+}
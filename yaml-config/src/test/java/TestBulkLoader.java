@@ -0,0 +1,90 @@
+/*
+ *   Project: Confile
+ *   File: TestBulkLoader.java
+ *   Last Modified: 10/19/26, 1:45 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.file.BulkLoadResult;
+import io.coachluck.confile.file.BulkLoader;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestBulkLoader {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadDirectory() throws IOException {
+        Path root = this.folder.getRoot().toPath();
+        write(root.resolve("a.yml"), "name: a\n");
+        write(root.resolve("nested/b.yml"), "name: b\n");
+        write(root.resolve("nested/broken.yml"), "name: [\n");
+        write(root.resolve("ignored.txt"), "name: c\n");
+
+        BulkLoadResult<YamlConfiguration> direct = new BulkLoader<>(YamlConfiguration::new).load(root, "*.yml");
+        assertEquals(1, direct.getConfigurations().size());
+
+        BulkLoadResult<YamlConfiguration> result = new BulkLoader<>(YamlConfiguration::new).load(root, "**.yml");
+        assertEquals(Arrays.asList(root.resolve("a.yml"), root.resolve("nested/b.yml")),
+                Arrays.asList(result.getConfigurations().keySet().toArray()));
+        assertEquals("b", result.getConfigurations().get(root.resolve("nested/b.yml")).getString("name"));
+
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(root.resolve("nested/broken.yml"), result.getFailures().get(0).getPath());
+        assertTrue(result.getFailures().get(0).isInvalidContent());
+    }
+
+    @Test
+    public void testMissingFileAndCustomExecutor() {
+        ExecutorService executor = BulkLoader.newVirtualThreadExecutor();
+        BulkLoader<YamlConfiguration> loader = new BulkLoader<>(YamlConfiguration::new);
+        if (executor != null) {
+            loader.executor(executor);
+        }
+
+        try {
+            Path missing = this.folder.getRoot().toPath().resolve("missing.yml");
+            BulkLoadResult<YamlConfiguration> result = loader.load(Arrays.asList(missing));
+            assertEquals(1, result.getFailures().size());
+            assertFalse(result.getFailures().get(0).isInvalidContent());
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static void write(Path path, String contents) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
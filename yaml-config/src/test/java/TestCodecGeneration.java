@@ -0,0 +1,174 @@
+/*
+ *   Project: Confile
+ *   File: TestCodecGeneration.java
+ *   Last Modified: 10/19/26, 7:25 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import io.coachluck.confile.serialization.ConfigurationCodec;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.GenerateCodec;
+import io.coachluck.confile.serialization.SerializableAs;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestCodecGeneration {
+
+    @Test
+    public void testCodecsRegistered() {
+        ConfigurationCodec<Waypoint> codec = ConfigurationSerialization.getCodec(Waypoint.class);
+        assertNotNull(codec);
+        assertEquals("CodecWaypoint", codec.getAlias());
+        assertEquals(Waypoint.class, ConfigurationSerialization.getClassByAlias("CodecWaypoint"));
+        assertNotNull(ConfigurationSerialization.getCodec(Counter.class));
+        assertNull(ConfigurationSerialization.getCodec(Handwritten.class));
+
+        Map<String, Object> values = codec.toMap(new Waypoint("spawn", 3, Kind.HOME, Arrays.asList("a", "b")));
+        assertEquals(Arrays.asList("name", "x", "kind", "tags"), Arrays.asList(values.keySet().toArray()));
+        assertEquals("HOME", values.get("kind"));
+    }
+
+    @Test
+    public void testRoundTrip() throws InvalidConfigurationException {
+        Counter counter = new Counter();
+        counter.count = 7;
+        counter.ratio = 0.5;
+        counter.waypoint = new Waypoint("spawn", -2, Kind.WARP, Arrays.asList("x"));
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("counter", counter);
+        String saved = config.saveToString();
+        assertTrue(saved, saved.contains("==: CodecCounter"));
+        assertTrue(saved, saved.contains("kind: WARP"));
+
+        for (boolean fast : new boolean[] { false, true }) {
+            YamlConfiguration loaded = new YamlConfiguration();
+            loaded.options().fastParse(fast);
+            loaded.loadFromString(saved);
+            Counter copy = loaded.getSerializable("counter", Counter.class);
+            assertEquals(7, copy.count);
+            assertEquals(0.5, copy.ratio, 0.0);
+            assertEquals("spawn", copy.waypoint.getName());
+            assertEquals(-2, copy.waypoint.getX());
+            assertEquals(Kind.WARP, copy.waypoint.getKind());
+            assertEquals(Arrays.asList("x"), copy.waypoint.getTags());
+        }
+    }
+
+    @Test
+    public void testWrongType() {
+        Map<String, Object> values = new HashMap<>();
+        values.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, "CodecCounter");
+        values.put("count", "seven");
+        try {
+            ConfigurationSerialization.deserializeObject(values);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("count: expected"));
+        }
+    }
+
+    public enum Kind {
+        HOME, WARP
+    }
+
+    @GenerateCodec
+    @SerializableAs("CodecWaypoint")
+    public static class Waypoint implements ConfigurationSerializable {
+        private final String name;
+        private final int x;
+        private final Kind kind;
+        private final List<String> tags;
+
+        public Waypoint(String name, int x, Kind kind, List<String> tags) {
+            this.name = name;
+            this.x = x;
+            this.kind = kind;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getX() {
+            return this.x;
+        }
+
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        public List<String> getTags() {
+            return this.tags;
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> serialize() {
+            return ConfigurationSerialization.getCodec(Waypoint.class).toMap(this);
+        }
+    }
+
+    @GenerateCodec
+    @SerializableAs("CodecCounter")
+    public static class Counter implements ConfigurationSerializable {
+        int count;
+        double ratio;
+        Waypoint waypoint;
+
+        @NotNull
+        @Override
+        public Map<String, Object> serialize() {
+            return ConfigurationSerialization.getCodec(Counter.class).toMap(this);
+        }
+    }
+
+    @SerializableAs("CodecHandwritten")
+    public static class Handwritten implements ConfigurationSerializable {
+        int count;
+
+        @NotNull
+        @Override
+        public Map<String, Object> serialize() {
+            Map<String, Object> values = new HashMap<>();
+            values.put("count", this.count);
+            return values;
+        }
+
+        @NotNull
+        public static Handwritten deserialize(@NotNull Map<String, Object> values) {
+            Handwritten handwritten = new Handwritten();
+            handwritten.count = (Integer) values.get("count");
+            return handwritten;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *   Project: Confile
+ *   File: TestConfigQuery.java
+ *   Last Modified: 10/19/26, 3:55 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestConfigQuery {
+    private static final String DOCUMENT = "servers:\n"
+            + "  lobby: {port: 25565, host: a}\n"
+            + "  survival: {port: 25566}\n"
+            + "  creative: {host: c}\n"
+            + "features:\n"
+            + "  chat: {enabled: true}\n"
+            + "  combat:\n"
+            + "    enabled: false\n"
+            + "    pvp: {enabled: true}\n"
+            + "enabled: root\n";
+
+    @Test
+    public void testWildcards() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(DOCUMENT);
+
+        Map<String, Object> ports = new LinkedHashMap<>();
+        ports.put("servers.lobby.port", 25565);
+        ports.put("servers.survival.port", 25566);
+        assertEquals(ports, config.query("servers.*.port"));
+
+        Map<String, Object> enabled = new HashMap<>();
+        enabled.put("features.chat.enabled", true);
+        enabled.put("features.combat.enabled", false);
+        enabled.put("features.combat.pvp.enabled", true);
+        assertEquals(enabled, config.query("features.**.enabled"));
+        assertEquals(4, config.query("**.enabled").size());
+        assertEquals(Arrays.asList("lobby.port", "lobby.host"),
+                Arrays.asList(config.getConfigurationSection("servers").query("l?bby.*").keySet().toArray()));
+        assertTrue(config.query("servers.missing.*").isEmpty());
+    }
+
+    @Test
+    public void testKeyIndex() {
+        YamlConfiguration plain = new YamlConfiguration();
+        YamlConfiguration indexed = new YamlConfiguration();
+        indexed.options().keyIndexThreshold(16);
+        for (int i = 0; i < 500; i++) {
+            plain.set("players.p" + i + ".score", i);
+            indexed.set("players.p" + i + ".score", i);
+        }
+
+        assertEquals(plain.query("players.p4*.score"), indexed.query("players.p4*.score"));
+        assertEquals(111, indexed.query("players.p4*.score").size());
+
+        indexed.set("players.p4000.score", 1);
+        indexed.set("players.p40", null);
+        assertEquals(111, indexed.query("players.p4*.score").size());
+        assertEquals(1, indexed.query("players.p4000.*").size());
+    }
+}
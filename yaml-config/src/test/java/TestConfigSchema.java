@@ -0,0 +1,159 @@
+/*
+ *   Project: Confile
+ *   File: TestConfigSchema.java
+ *   Last Modified: 10/19/26, 5:55 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSchema;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.SchemaValues;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestConfigSchema {
+    private final ConfigurationSchema.Builder builder = ConfigurationSchema.builder();
+    private final ConfigurationSchema.IntSlot port = this.builder.requireInt("server.port", 1, 65535);
+    private final ConfigurationSchema.Slot<String> host = this.builder.optionalString("server.host", "localhost");
+    private final ConfigurationSchema.BooleanSlot debug = this.builder.optionalBoolean("debug", false);
+    private final ConfigurationSchema.Builder database = this.builder.requireSection("database");
+    private final ConfigurationSchema.Slot<String> url = this.database.requireString("url");
+    private final ConfigurationSchema.DoubleSlot timeout = this.database.optionalDouble("timeout", 2.5, 0, 60);
+    private final ConfigurationSchema.LongSlot pool = this.database.optionalLong("pool.size", 8, 1, 1000);
+    private final ConfigurationSchema.Slot<List<?>> replicas = this.database.optionalList("replicas", null);
+    private final ConfigurationSchema schema = this.builder.build();
+
+    @Test
+    public void testValidatedOnLoad() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.addDefault("server.port", 25565);
+        config.loadFromString("server:\n  host: 10.0.0.1\ndatabase:\n  url: jdbc:h2:mem\n  timeout: 5\n  replicas: [a, b]\n");
+
+        SchemaValues values = config.setSchema(this.schema);
+        assertEquals(25565, values.getInt(this.port));
+        assertEquals("10.0.0.1", values.get(this.host));
+        assertFalse(values.getBoolean(this.debug));
+        assertEquals("jdbc:h2:mem", values.get(this.url));
+        assertEquals(5.0, values.getDouble(this.timeout), 0.0);
+        assertEquals(8L, values.getLong(this.pool));
+        assertEquals(Arrays.asList("a", "b"), values.get(this.replicas));
+
+        config.loadFromString("server: {port: 80}\ndebug: true\ndatabase: {url: 'x', pool: {size: 20}}\n");
+        values = config.getSchemaValues();
+        assertEquals(80, values.getInt(this.port));
+        assertEquals("localhost", values.get(this.host));
+        assertTrue(values.getBoolean(this.debug));
+        assertEquals(20L, values.getLong(this.pool));
+        assertNull(values.get(this.replicas));
+    }
+
+    @Test
+    public void testReportsEveryError() {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.setSchema(this.schema);
+            fail("missing database was accepted");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage().contains("database: required section is missing"));
+            assertTrue(e.getMessage().contains("database.url: required value is missing"));
+            assertTrue(e.getMessage().contains("server.port: required value is missing"));
+        }
+
+        try {
+            config.loadFromString("server: {port: '8080', host: 7}\ndebug: yes please\ndatabase: {url: u, timeout: 90, pool: 3}\n");
+            config.setSchema(this.schema);
+            fail("wrong types were accepted");
+        } catch (InvalidConfigurationException e) {
+            String[] errors = e.getMessage().split("\n");
+            assertEquals(5, errors.length);
+            assertTrue(e.getMessage().contains("server.port: expected an int, got String 8080"));
+            assertTrue(e.getMessage().contains("database.timeout: 90.0 is not between 0.0 and 60.0"));
+            assertTrue(e.getMessage().contains("database.pool: expected a section"));
+        }
+
+        assertNull(config.getSchemaValues());
+    }
+
+    @Test
+    public void testLongBounds() throws InvalidConfigurationException {
+        ConfigurationSchema.Builder builder = ConfigurationSchema.builder();
+        ConfigurationSchema.LongSlot id = builder.requireLong("id", Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        ConfigurationSchema schema = builder.build();
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("id", Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, config.setSchema(schema).getLong(id));
+
+        config.set("id", Long.MAX_VALUE - 2);
+        try {
+            config.setSchema(schema);
+            fail("long below the minimum was accepted");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("is not between " + (Long.MAX_VALUE - 1) + " and " + Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testCycleKeepsSchemaValues() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.enableInterpolation();
+        config.loadFromString("server:\n  port: 2\ndatabase:\n  url: a\n");
+        SchemaValues values = config.setSchema(this.schema);
+
+        try {
+            config.loadFromString("server:\n  port: 1\ndatabase:\n  url: b\nx: '${y}'\ny: '${x}'\n");
+            fail("circular reference was accepted");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Circular reference"));
+        }
+
+        assertEquals(2, config.get("server.port"));
+        assertSame(values, config.getSchemaValues());
+        assertEquals(2, config.getSchemaValues().getInt(this.port));
+    }
+
+    @Test
+    public void testRejectedLoadKeepsContents() throws InvalidConfigurationException {
+        for (boolean fast : new boolean[] { false, true }) {
+            YamlConfiguration config = new YamlConfiguration();
+            config.options().fastParse(fast);
+            config.loadFromString("server:\n  port: 80\ndatabase:\n  url: a\n");
+            SchemaValues values = config.setSchema(this.schema);
+
+            try {
+                config.loadFromString("server:\n  port: 0\ndatabase:\n  url: b\n");
+                fail("out of range port was accepted");
+            } catch (InvalidConfigurationException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("server.port"));
+            }
+
+            assertEquals(80, config.get("server.port"));
+            assertEquals("a", config.getString("database.url"));
+            assertSame(values, config.getSchemaValues());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *   Project: Confile
+ *   File: TestConfigurationJournal.java
+ *   Last Modified: 10/19/26, 3:30 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.ConfigurationJournal;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestConfigurationJournal {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReplayAfterCrash() throws IOException, InvalidConfigurationException {
+        File file = new File(this.folder.getRoot(), "config.yml");
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("name", "server");
+        config.set("removed", true);
+        config.save(file);
+
+        ConfigurationJournal journal = new ConfigurationJournal(config, file);
+        journal.open();
+        config.set("players.alice", 10);
+        config.set("players.bob", Arrays.asList("a", "b"));
+        config.set("removed", null);
+        config.createSection("empty");
+        // the journal is never closed, as if the process died
+        try (FileOutputStream torn = new FileOutputStream(new File(file.getPath() + ".journal.1"), true)) {
+            torn.write(new byte[] { 0, 0, 0, 42, 1, 2 });
+        }
+
+        YamlConfiguration recovered = new YamlConfiguration();
+        ConfigurationJournal replayed = new ConfigurationJournal(recovered, file);
+        replayed.open();
+        assertEquals("server", recovered.getString("name"));
+        assertEquals(10, recovered.get("players.alice"));
+        assertEquals(Arrays.asList("a", "b"), recovered.getStringList("players.bob"));
+        assertNull(recovered.get("removed"));
+        assertTrue(recovered.isConfigurationSection("empty"));
+
+        recovered.set("name", "renamed");
+        replayed.close();
+        assertEquals(Collections.singletonList("config.yml"), Arrays.asList(this.folder.getRoot().list()));
+        assertEquals("renamed", YamlConfiguration.loadConfiguration(file).getString("name"));
+    }
+
+    @Test
+    public void testCompactionPastThreshold() throws IOException, InvalidConfigurationException {
+        File file = new File(this.folder.getRoot(), "scores.yml");
+        YamlConfiguration config = new YamlConfiguration();
+        ConfigurationJournal journal = new ConfigurationJournal(config, file).threshold(256).executor(Runnable::run);
+        journal.open();
+        for (int i = 0; i < 100; i++) {
+            config.set("scores.player" + (i % 10), i);
+        }
+
+        assertTrue(file.exists());
+        assertFalse(new File(file.getPath() + ".journal.1").exists());
+        assertEquals(10, YamlConfiguration.loadConfiguration(file).getConfigurationSection("scores").getKeys(false).size());
+
+        YamlConfiguration reopened = new YamlConfiguration();
+        new ConfigurationJournal(reopened, file).open();
+        assertEquals(99, reopened.get("scores.player9"));
+        journal.close();
+        assertEquals(99, YamlConfiguration.loadConfiguration(file).get("scores.player9"));
+    }
+
+    @Test
+    public void testReloadWhileOpen() throws IOException, InvalidConfigurationException {
+        File file = new File(this.folder.getRoot(), "reload.yml");
+        YamlConfiguration config = new YamlConfiguration();
+        ConfigurationJournal journal = new ConfigurationJournal(config, file).threshold(64).executor(Runnable::run);
+        journal.open();
+        config.set("kept", 1);
+        config.set("dropped", 2);
+
+        StringBuilder contents = new StringBuilder("kept: 3\n");
+        for (int i = 0; i < 50; i++) {
+            contents.append("key").append(i).append(": value ").append(i).append('\n');
+        }
+
+        config.loadFromString(contents.toString());
+        config.set("after", true);
+        // the journal is never closed, as if the process died
+
+        YamlConfiguration recovered = new YamlConfiguration();
+        new ConfigurationJournal(recovered, file).open();
+        assertEquals(3, recovered.get("kept"));
+        assertNull(recovered.get("dropped"));
+        assertEquals("value 49", recovered.getString("key49"));
+        assertEquals(true, recovered.get("after"));
+        journal.close();
+    }
+}
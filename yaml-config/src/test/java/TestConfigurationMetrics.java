@@ -0,0 +1,88 @@
+/*
+ *   Project: Confile
+ *   File: TestConfigurationMetrics.java
+ *   Last Modified: 10/19/26, 10:04 AM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestConfigurationMetrics {
+
+    @Test
+    public void testCounters() throws Exception {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.addDefault("fallback", "default");
+        ConfigurationMetrics metrics = yaml.enableMetrics("test-counters");
+        try {
+            yaml.loadFromString("a:\n  b: 1\n");
+            yaml.set("a.c", 2);
+            assertEquals(1, yaml.get("a.b"));
+            assertEquals("default", yaml.get("fallback"));
+            assertNull(yaml.get("missing"));
+
+            assertEquals(3, metrics.getGets());
+            // loading sets a.b, the explicit set adds a.c
+            assertEquals(2, metrics.getSets());
+            assertEquals(1, metrics.getDefaultHits());
+            assertEquals(1, metrics.getDefaultMisses());
+            assertEquals(1, metrics.getParseCount());
+            assertEquals(1, metrics.getConvertCount());
+            assertEquals(3L, ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(metrics.getObjectName(), "Gets"));
+        } finally {
+            yaml.disableMetrics();
+        }
+
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(metrics.getObjectName()));
+        assertNull(yaml.getMetrics());
+    }
+
+    @Test
+    public void testEnableAgain() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        ConfigurationMetrics first = yaml.enableMetrics("test-again");
+        try {
+            ConfigurationMetrics second = yaml.enableMetrics("test-again");
+            assertSame(second, yaml.getMetrics());
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(first.getObjectName()));
+        } finally {
+            yaml.disableMetrics();
+        }
+
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(first.getObjectName()));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString("a: 1\n");
+        assertNull(yaml.getMetrics());
+        assertTrue(yaml.contains("a"));
+    }
+}
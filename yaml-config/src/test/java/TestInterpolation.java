@@ -0,0 +1,123 @@
+/*
+ *   Project: Confile
+ *   File: TestInterpolation.java
+ *   Last Modified: 10/19/26, 5:30 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.Interpolator;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestInterpolation {
+    @Test
+    public void testReferencesFollowChanges() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        Interpolator interpolator = config.enableInterpolation()
+                .environment(Collections.singletonMap("HOME", "/home/server")::get);
+        config.loadFromString("server:\n"
+                + "  host: example.org\n"
+                + "  port: 8080\n"
+                + "  url: 'http://${server.host}:${server.port}/'\n"
+                + "paths:\n"
+                + "  data: '${env:HOME}/data'\n"
+                + "  backups: '${paths.data}/backups'\n"
+                + "  literal: '$${server.host} ${missing}'\n"
+                + "banner: 'Join ${server.url}'\n");
+
+        assertEquals("http://example.org:8080/", config.getString("server.url"));
+        assertEquals("Join http://example.org:8080/", config.getString("banner"));
+        assertEquals("/home/server/data/backups", config.getString("paths.backups"));
+        assertEquals("${server.host} ${missing}", config.getString("paths.literal"));
+        assertEquals("/home/server/data", config.getConfigurationSection("paths").getString("data"));
+
+        config.set("server.port", 9090);
+        assertEquals("Join http://example.org:9090/", config.getString("banner"));
+        assertEquals("/home/server/data/backups", config.getString("paths.backups"));
+
+        config.loadFromString("server:\n"
+                + "  host: example.org\n"
+                + "  url: 'http://${server.host}/'\n"
+                + "banner: 'Join ${server.url}'\n");
+        assertEquals("Join http://example.org/", config.getString("banner"));
+
+        config.createSection("server").set("url", "http://${server.host}:25565/");
+        assertEquals("Join http://${server.host}:25565/", config.getString("banner"));
+        assertEquals(2, interpolator.size());
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void testCycleAtLoad() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.enableInterpolation();
+        config.loadFromString("a: '${b}'\nb: 'x ${c.d}'\nc:\n  d: '${a}'\n");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCycleAfterSet() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.enableInterpolation();
+        config.loadFromString("a: '${b}'\nb: plain\n");
+        assertEquals("plain", config.getString("a"));
+        config.set("b", "${a}");
+        config.getString("a");
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        config.enableInterpolation();
+        StringBuilder contents = new StringBuilder("base: root\n");
+        for (int i = 0; i < 200; i++) {
+            contents.append("key").append(i).append(": '${base}/").append(i).append("'\n");
+        }
+
+        config.loadFromString(contents.toString());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                readers.add(executor.submit(() -> {
+                    for (int round = 0; round < 50; round++) {
+                        for (int i = 0; i < 200; i++) {
+                            assertEquals("root/" + i, config.getString("key" + i));
+                        }
+
+                        config.getInterpolator().environment(name -> null);
+                    }
+                }));
+            }
+
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
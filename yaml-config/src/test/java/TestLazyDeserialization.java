@@ -0,0 +1,189 @@
+/*
+ *   Project: Confile
+ *   File: TestLazyDeserialization.java
+ *   Last Modified: 10/19/26, 7:25 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSchema;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.OffHeapConfiguration;
+import io.coachluck.confile.file.ConfigurationJournal;
+import io.coachluck.confile.file.YamlConfiguration;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import io.coachluck.confile.serialization.DeferredSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestLazyDeserialization {
+    private static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+    private static final String DOCUMENT = "spawn:\n"
+            + "  ==: LazyPoint\n"
+            + "  x: 1\n"
+            + "  y: 2\n"
+            + "home:\n"
+            + "  ==: LazyPoint\n"
+            + "  x: 3\n"
+            + "  y: 4\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void register() {
+        ConfigurationSerialization.registerClass(Point.class, "LazyPoint");
+        ConfigurationSerialization.registerClass(Point.class);
+    }
+
+    @Test
+    public void testDeferredUntilAccess() throws InvalidConfigurationException {
+        for (boolean fast : new boolean[] { false, true }) {
+            YamlConfiguration config = new YamlConfiguration();
+            config.options().lazyDeserialization(true).fastParse(fast);
+            CONSTRUCTED.set(0);
+            config.loadFromString(DOCUMENT);
+            assertEquals(0, CONSTRUCTED.get());
+            assertTrue(config.get("spawn") instanceof DeferredSerializable);
+            assertEquals(Point.class, ((DeferredSerializable) config.get("home")).getType());
+
+            Point spawn = config.getSerializable("spawn", Point.class);
+            assertEquals(2, spawn.y);
+            assertSame(spawn, config.getObject("spawn", Point.class));
+            assertSame(spawn, config.get("spawn"));
+            assertEquals(1, CONSTRUCTED.get());
+
+            spawn.y = 20;
+            String saved = config.saveToString();
+            assertTrue(saved, saved.contains("y: 20"));
+            assertTrue(saved, saved.contains("y: 4"));
+            assertEquals(1, CONSTRUCTED.get());
+        }
+    }
+
+    @Test
+    public void testNestedAndEager() throws InvalidConfigurationException {
+        String nested = "line:\n  ==: LazyPoint\n  x: 0\n  y: 0\n  next:\n    ==: LazyPoint\n    x: 5\n    y: 6\n";
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().lazyDeserialization(true);
+        CONSTRUCTED.set(0);
+        config.loadFromString(nested);
+        assertEquals(0, CONSTRUCTED.get());
+        assertEquals(6, config.getSerializable("line", Point.class).next.y);
+        assertEquals(2, CONSTRUCTED.get());
+
+        YamlConfiguration eager = new YamlConfiguration();
+        eager.loadFromString(DOCUMENT);
+        assertTrue(eager.get("home") instanceof Point);
+    }
+
+    @Test
+    public void testSchemaObjectSlot() throws InvalidConfigurationException {
+        ConfigurationSchema.Builder builder = ConfigurationSchema.builder();
+        ConfigurationSchema.Slot<Point> spawn = builder.requireObject("spawn", Point.class);
+        ConfigurationSchema schema = builder.build();
+
+        YamlConfiguration config = lazy();
+        assertEquals(2, config.setSchema(schema).get(spawn).y);
+    }
+
+    @Test
+    public void testOffHeapCopy() throws InvalidConfigurationException {
+        YamlConfiguration config = lazy();
+        config.getSerializable("spawn", Point.class).y = 20;
+
+        OffHeapConfiguration copy = OffHeapConfiguration.copyOf(config);
+        assertEquals(20, ((Point) copy.get("spawn")).y);
+        assertEquals(4, ((Point) copy.get("home")).y);
+    }
+
+    @Test
+    public void testJournal() throws IOException, InvalidConfigurationException {
+        File file = new File(this.folder.getRoot(), "lazy.yml");
+        YamlConfiguration config = lazy();
+        ConfigurationJournal journal = new ConfigurationJournal(config, file);
+        journal.open();
+        config.set("copy", config.get("home"));
+        config.createSection("wrapper").set("point", config.get("spawn"));
+        // the journal is never closed, as if the process died
+
+        YamlConfiguration recovered = new YamlConfiguration();
+        new ConfigurationJournal(recovered, file).open();
+        assertEquals(4, recovered.getSerializable("copy", Point.class).y);
+        assertEquals(2, recovered.getSerializable("wrapper.point", Point.class).y);
+    }
+
+    @Test
+    public void testUnknownTypeFailsAtLoad() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().lazyDeserialization(true);
+        try {
+            config.loadFromString("a:\n  ==: NoSuchType\n  x: 1\n");
+            fail("Unknown serialized type");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getCause().getCause().getMessage().contains("NoSuchType"));
+        }
+    }
+
+    @NotNull
+    private static YamlConfiguration lazy() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().lazyDeserialization(true);
+        config.loadFromString(DOCUMENT);
+        return config;
+    }
+
+    public static final class Point implements ConfigurationSerializable {
+        private final int x;
+        private int y;
+        private final Point next;
+
+        public Point(@NotNull Map<String, Object> values) {
+            CONSTRUCTED.incrementAndGet();
+            this.x = (Integer) values.get("x");
+            this.y = (Integer) values.get("y");
+            this.next = (Point) values.get("next");
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> serialize() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("x", this.x);
+            values.put("y", this.y);
+            if (this.next != null) {
+                values.put("next", this.next);
+            }
+
+            return values;
+        }
+    }
+}
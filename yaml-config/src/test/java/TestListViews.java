@@ -0,0 +1,85 @@
+/*
+ *   Project: Confile
+ *   File: TestListViews.java
+ *   Last Modified: 10/19/26, 6:45 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestListViews {
+    @Test
+    public void testViewsAreCachedUntilReplaced() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString("allowed:\n  ids: [alice, 7, x, {k: v}]\n");
+
+        List<String> ids = config.getStringList("allowed.ids");
+        assertEquals(Arrays.asList("alice", "7", "x"), ids);
+        assertSame(ids, config.getStringList("allowed.ids"));
+        assertEquals(Arrays.asList('\u0007', 'x'), config.getCharacterList("allowed.ids"));
+        assertEquals(1, config.getMapList("allowed.ids").size());
+
+        ConfigurationSection allowed = config.getConfigurationSection("allowed");
+        assertSame(allowed.getStringList("ids"), allowed.getStringList("ids"));
+
+        config.set("allowed.ids", Arrays.asList("bob"));
+        assertEquals(Arrays.asList("bob"), config.getStringList("allowed.ids"));
+        assertEquals(Arrays.asList("bob"), allowed.getStringList("ids"));
+
+        config.loadFromString("allowed:\n  ids: [carol]\n");
+        List<String> reloaded = config.getStringList("allowed.ids");
+        assertEquals(Arrays.asList("carol"), reloaded);
+        assertNotSame(ids, reloaded);
+        assertTrue(config.getStringList("missing").isEmpty());
+    }
+
+    @Test
+    public void testSameListSetAgain() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("a.ids", new ArrayList<>(Arrays.asList("x")));
+        assertEquals(Arrays.asList("x"), config.getStringList("a.ids"));
+
+        @SuppressWarnings("unchecked")
+        List<Object> ids = (List<Object>) config.getList("a.ids");
+        ids.add("y");
+        config.set("a.ids", ids);
+        assertEquals(Arrays.asList("x", "y"), config.getStringList("a.ids"));
+        assertEquals(Arrays.asList("x", "y"), config.getConfigurationSection("a").getStringList("ids"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testViewsAreUnmodifiable() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("ids", Arrays.asList("a", "b"));
+        ArrayList<String> copy = config.getStringArrayList("ids");
+        copy.add("c");
+        assertEquals(Arrays.asList("a", "b"), config.getStringList("ids"));
+        config.getStringList("ids").add("c");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *   Project: Confile
+ *   File: TestMemoryFootprint.java
+ *   Last Modified: 10/19/26, 6:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.MemoryFootprint;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestMemoryFootprint {
+    private static final String DOCUMENT = "name: server\n"
+            + "network:\n"
+            + "  port: 25565\n"
+            + "  hosts: [a.example, b.example]\n"
+            + "  tls: {enabled: true, ciphers: [x, y, z]}\n"
+            + "worlds:\n"
+            + "  overworld: {seed: 12345678901234, spawn: [0, 64, 0]}\n"
+            + "  nether: {seed: 42}\n";
+
+    @Test
+    public void testBreakdown() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(DOCUMENT);
+        MemoryFootprint footprint = config.footprint();
+
+        assertEquals(config.getKeys(true).size(), footprint.getKeys());
+        assertEquals(5, footprint.getSections());
+        assertEquals(6, footprint.getStrings());
+        assertEquals(3, footprint.getLists());
+        assertEquals(2, footprint.getChildren().size());
+
+        MemoryFootprint network = footprint.getChildren().get(0);
+        MemoryFootprint tls = network.getChildren().get(0);
+        assertEquals("network.tls", tls.getPath());
+        assertEquals(2, tls.getKeys());
+        assertEquals(5, network.getKeys());
+        long children = network.getRetainedBytes() + footprint.getChildren().get(1).getRetainedBytes();
+        assertTrue(footprint.getRetainedBytes() > children);
+        assertTrue(network.getRetainedBytes() > tls.getRetainedBytes());
+
+        List<MemoryFootprint> largest = footprint.largest(2);
+        assertEquals(2, largest.size());
+        assertTrue(largest.get(0).getRetainedBytes() >= largest.get(1).getRetainedBytes());
+
+        MemoryFootprint totals = config.footprint(0);
+        assertEquals(footprint.getRetainedBytes(), totals.getRetainedBytes());
+        assertEquals(footprint.getKeys(), totals.getKeys());
+        assertTrue(totals.getChildren().isEmpty());
+    }
+
+    @Test
+    public void testHeapBudget() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().heapBudget(1 << 20);
+        config.loadFromString(DOCUMENT);
+        assertEquals("server", config.getString("name"));
+
+        StringBuilder big = new StringBuilder("small: 1\nbig:\n");
+        for (int i = 0; i < 20000; i++) {
+            big.append("  key").append(i).append(": value ").append(i).append('\n');
+        }
+
+        try {
+            config.loadFromString(big.toString());
+            fail("Load over the heap budget");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'big'"));
+        }
+
+        assertEquals("server", config.getString("name"));
+        assertNull(config.get("big"));
+    }
+}
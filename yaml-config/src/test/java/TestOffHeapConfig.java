@@ -0,0 +1,102 @@
+/*
+ *   Project: Confile
+ *   File: TestOffHeapConfig.java
+ *   Last Modified: 10/19/26, 4:40 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.OffHeapConfiguration;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestOffHeapConfig {
+    private static final String DOCUMENT = "zeta: last\n"
+            + "catalog:\n"
+            + "  item-b: {name: Bread, price: 2.5, tags: [food, fresh], stock: 12}\n"
+            + "  item-a: {name: Apple, price: 0.5, big: 12345678901234, organic: true}\n"
+            + "  \u00e9clair: {name: \u00c9clair, sizes: [{w: 1}, {w: 2}]}\n"
+            + "alpha: first\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCopyMatchesSource() throws InvalidConfigurationException {
+        YamlConfiguration source = new YamlConfiguration();
+        source.loadFromString(DOCUMENT);
+        OffHeapConfiguration config = OffHeapConfiguration.copyOf(source);
+
+        assertEquals(source.getKeys(true), config.getKeys(true));
+        assertEquals(Arrays.asList("zeta", "catalog", "alpha"), Arrays.asList(config.getKeys(false).toArray()));
+        assertEquals("Bread", config.getString("catalog.item-b.name"));
+        assertEquals(2.5, config.get("catalog.item-b.price"));
+        assertEquals(12345678901234L, config.get("catalog.item-a.big"));
+        assertEquals(true, config.get("catalog.item-a.organic"));
+        assertEquals(Arrays.asList("food", "fresh"), config.getStringList("catalog.item-b.tags"));
+        assertEquals(Collections.singletonMap("w", 2), config.getMapList("catalog.\u00e9clair.sizes").get(1));
+        assertEquals("\u00c9clair", config.getString("catalog.\u00e9clair.name"));
+        assertNull(config.get("catalog.item-c.name"));
+        assertNull(config.get("zeta.name"));
+
+        ConfigurationSection item = config.getConfigurationSection("catalog.item-a");
+        assertEquals("catalog.item-a", item.getCurrentPath());
+        assertEquals("Apple", item.getString("name"));
+        assertEquals(config.getConfigurationSection("catalog").getName(), item.getParent().getName());
+        assertEquals(source.query("catalog.*.name"), config.query("catalog.*.name"));
+        assertEquals(source.query("**.name"), config.query("**.name"));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException, InvalidConfigurationException {
+        YamlConfiguration source = new YamlConfiguration();
+        for (int i = 0; i < 1000; i++) {
+            source.set("entries.key" + i + ".value", "value " + i);
+        }
+
+        Path file = this.folder.getRoot().toPath().resolve("catalog.bin");
+        OffHeapConfiguration.write(source, file);
+        OffHeapConfiguration config = OffHeapConfiguration.map(file);
+        assertEquals("value 777", config.getString("entries.key777.value"));
+        assertEquals(1000, config.getConfigurationSection("entries").getKeys(false).size());
+        assertTrue(config.isConfigurationSection("entries.key0"));
+        assertFalse(config.contains("entries.key1000"));
+
+        config.addDefault("entries.key1000.value", "fallback");
+        assertEquals("fallback", config.getString("entries.key1000.value"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        YamlConfiguration source = new YamlConfiguration();
+        source.set("a", 1);
+        OffHeapConfiguration.copyOf(source).set("a", 2);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *   Project: Confile
+ *   File: TestPersistentConfig.java
+ *   Last Modified: 10/19/26, 7:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.PersistentConfiguration;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestPersistentConfig {
+    @Test
+    public void testSnapshotsForksAndRollback() throws InvalidConfigurationException {
+        YamlConfiguration source = new YamlConfiguration();
+        source.loadFromString("zeta: 1\nlimits:\n  requests: 100\n  burst: 10\nalpha: [a, b]\n");
+        PersistentConfiguration config = PersistentConfiguration.copyOf(source);
+        assertEquals(source.getKeys(true), config.getKeys(true));
+        assertEquals(Arrays.asList("zeta", "limits", "alpha"), Arrays.asList(config.getKeys(false).toArray()));
+
+        ConfigurationSection limits = config.getConfigurationSection("limits");
+        PersistentConfiguration before = config.snapshot();
+        config.set("limits.requests", 500);
+        limits.set("window.seconds", 60);
+        config.set("zeta", null);
+        assertEquals(500, limits.get("requests"));
+        assertEquals(60, config.get("limits.window.seconds"));
+        assertEquals(100, before.get("limits.requests"));
+        assertNull(before.get("limits.window"));
+        assertEquals(1, before.get("zeta"));
+        assertEquals(3L, config.version());
+
+        PersistentConfiguration fork = config.fork();
+        fork.createSection("limits", Collections.singletonMap("requests", 1));
+        assertEquals(500, config.get("limits.requests"));
+        assertEquals(Collections.singleton("requests"), fork.getConfigurationSection("limits").getKeys(false));
+
+        config.rollback(before);
+        assertEquals(100, limits.get("requests"));
+        assertEquals(source.getValues(true).keySet(), config.getValues(true).keySet());
+        assertEquals(Collections.singletonMap("limits.requests", 100), config.query("*.req*"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsReadOnly() {
+        PersistentConfiguration config = new PersistentConfiguration();
+        config.set("a", Arrays.asList("x"));
+        PersistentConfiguration snapshot = config.snapshot();
+        assertTrue(snapshot.isReadOnly());
+        assertFalse(config.isReadOnly());
+        snapshot.set("a", 1);
+    }
+
+    @Test
+    public void testManyKeysAndCollisions() {
+        PersistentConfiguration config = new PersistentConfiguration();
+        // "Aa" and "BB" have the same hash code
+        config.set("Aa", 1);
+        config.set("BB", 2);
+        config.set("AaAa", 3);
+        config.set("BBBB", 4);
+        config.set("AaBB", 5);
+        assertEquals(2, config.get("BB"));
+        assertEquals(5, config.get("AaBB"));
+        config.set("BB", null);
+        assertNull(config.get("BB"));
+        assertEquals(1, config.get("Aa"));
+
+        for (int i = 0; i < 5000; i++) {
+            config.set("section.key" + i, i);
+        }
+
+        PersistentConfiguration half = config.snapshot();
+        for (int i = 0; i < 5000; i += 2) {
+            config.set("section.key" + i, null);
+        }
+
+        assertEquals(2500, config.getConfigurationSection("section").getKeys(false).size());
+        assertEquals(5000, half.getConfigurationSection("section").getKeys(false).size());
+        assertEquals("key1", config.getConfigurationSection("section").getKeys(true).iterator().next());
+        assertEquals(4999, config.get("section.key4999"));
+        assertNull(config.get("section.key4998"));
+        assertEquals(4998, half.get("section.key4998"));
+    }
+}
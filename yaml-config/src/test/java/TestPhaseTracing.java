@@ -0,0 +1,118 @@
+/*
+ *   Project: Confile
+ *   File: TestPhaseTracing.java
+ *   Last Modified: 10/19/26, 6:35 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.PhaseEvent;
+import io.coachluck.confile.file.PhaseListener;
+import io.coachluck.confile.file.PhaseListener.Phase;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPhaseTracing {
+    private static final String DOCUMENT = "a:\n  b: 1\n  c: [x, y]\nd: text\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadPhases() throws IOException, InvalidConfigurationException {
+        File file = this.folder.newFile("config.yml");
+        Files.write(file.toPath(), DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        YamlConfiguration config = new YamlConfiguration();
+        Recorder recorder = new Recorder();
+        config.addPhaseListener(recorder);
+        config.load(file);
+
+        assertEquals(Arrays.asList("+READ", "-READ", "+PARSE", "-PARSE", "+CONSTRUCT", "-CONSTRUCT",
+                "+CONVERT", "-CONVERT", "+VALIDATE", "-VALIDATE"), recorder.names);
+        assertEquals(DOCUMENT.length(), recorder.ended(Phase.READ).getBytes());
+        assertEquals(DOCUMENT.length(), recorder.ended(Phase.PARSE).getBytes());
+        // the root, a, its mapping, b, 1, c, the list and its two items, d and text
+        assertEquals(11, recorder.ended(Phase.PARSE).getNodes());
+        assertEquals(0, recorder.ended(Phase.CONSTRUCT).getObjects());
+        assertEquals(1, recorder.ended(Phase.CONVERT).getNodes());
+        assertEquals(3, recorder.ended(Phase.CONVERT).getObjects());
+        assertEquals("y", config.getStringList("a.c").get(1));
+
+        config.removePhaseListener(recorder);
+        recorder.names.clear();
+        config.loadFromString(DOCUMENT);
+        assertTrue(recorder.names.isEmpty());
+    }
+
+    @Test
+    public void testSavePhases() throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().fastParse(true);
+        Recorder recorder = new Recorder();
+        config.addPhaseListener(recorder);
+        config.loadFromString("a:\n  b: 1\nd: text\n");
+        assertEquals(Arrays.asList("+PARSE", "-PARSE", "+VALIDATE", "-VALIDATE"), recorder.names);
+
+        recorder.names.clear();
+        File file = new File(this.folder.getRoot(), "saved.yml");
+        config.save(file);
+        assertEquals(Arrays.asList("+WRITE", "+SERIALIZE", "-SERIALIZE", "-WRITE"), recorder.names);
+        assertEquals(file.length(), recorder.ended(Phase.WRITE).getBytes());
+        assertTrue(recorder.ended(Phase.WRITE).getDurationNanos() >= recorder.ended(Phase.SERIALIZE).getDurationNanos());
+    }
+
+    private static final class Recorder implements PhaseListener {
+        private final List<String> names = new ArrayList<>();
+        private final List<PhaseEvent> ended = new ArrayList<>();
+
+        @Override
+        public void phaseStarted(@NotNull PhaseEvent event) {
+            this.names.add("+" + event.getPhase());
+        }
+
+        @Override
+        public void phaseEnded(@NotNull PhaseEvent event) {
+            this.names.add("-" + event.getPhase());
+            this.ended.add(event);
+        }
+
+        @NotNull
+        private PhaseEvent ended(@NotNull Phase phase) {
+            for (PhaseEvent event : this.ended) {
+                if (event.getPhase() == phase) {
+                    return event;
+                }
+            }
+
+            throw new AssertionError("No end of " + phase);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *   Project: Confile
+ *   File: TestShardedConfig.java
+ *   Last Modified: 10/19/26, 2:20 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.ConfigurationJournal;
+import io.coachluck.confile.file.ShardedConfiguration;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestShardedConfig {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLazyLoadAndDirtySave() throws IOException, InvalidConfigurationException {
+        File dir = this.folder.newFolder("config");
+        ShardedConfiguration config = new ShardedConfiguration(YamlConfiguration::new, ".yml");
+        config.loadFromString("version: 3\nserver:\n  port: 80\nplayers:\n  alice: 1\n  bob: 2\n");
+        config.save(dir);
+        assertEquals(new HashSet<>(Arrays.asList("_root.yml", "server.yml", "players.yml")),
+                new HashSet<>(Arrays.asList(dir.list())));
+
+        ShardedConfiguration loaded = ShardedConfiguration.loadConfiguration(dir, YamlConfiguration::new, ".yml");
+        assertEquals(Arrays.asList("version", "players", "server"), Arrays.asList(loaded.getKeys(false).toArray()));
+        assertFalse(loaded.isShardLoaded("server"));
+        assertEquals(3, loaded.get("version"));
+        assertEquals(80, loaded.get("server.port"));
+        assertTrue(loaded.isShardLoaded("server"));
+        assertFalse(loaded.isShardLoaded("players"));
+
+        // players is never read, deleting its file proves the save does not rewrite it
+        assertTrue(new File(dir, "players.yml").delete());
+        loaded.set("server.port", 8080);
+        loaded.save(dir);
+        assertFalse(new File(dir, "players.yml").exists());
+        assertEquals(8080, YamlConfiguration.loadConfiguration(new File(dir, "server.yml")).get("port"));
+
+        loaded.set("server", null);
+        loaded.save(dir);
+        assertFalse(new File(dir, "server.yml").exists());
+    }
+
+    @Test
+    public void testJournalSkipsShardLoads() throws IOException, InvalidConfigurationException {
+        File dir = this.folder.newFolder("journaled");
+        ShardedConfiguration config = new ShardedConfiguration(YamlConfiguration::new, ".yml");
+        config.loadFromString("server:\n  port: 80\n  host: example.org\n");
+        config.save(dir);
+
+        ShardedConfiguration loaded = new ShardedConfiguration(YamlConfiguration::new, ".yml");
+        ConfigurationJournal journal = new ConfigurationJournal(loaded, dir);
+        journal.open();
+        File segment = new File(this.folder.getRoot(), "journaled.journal.1");
+        assertEquals(80, loaded.get("server.port"));
+        assertTrue(loaded.isShardLoaded("server"));
+        assertEquals(0L, segment.length());
+
+        loaded.set("server.port", 8080);
+        assertTrue(segment.length() > 0L);
+    }
+
+    @Test
+    public void testShardDepth() throws IOException, InvalidConfigurationException {
+        File dir = this.folder.newFolder("deep");
+        ShardedConfiguration config = new ShardedConfiguration(YamlConfiguration::new, ".yml");
+        config.options().shardDepth(2);
+        config.set("worlds.nether.difficulty", "hard");
+        config.set("worlds.end.difficulty", "easy");
+        config.set("worlds.count", 2);
+        config.save(dir);
+        assertTrue(new File(dir, "worlds/nether.yml").isFile());
+        assertTrue(new File(dir, "worlds/end.yml").isFile());
+
+        ShardedConfiguration loaded = new ShardedConfiguration(YamlConfiguration::new, ".yml");
+        loaded.options().shardDepth(2);
+        loaded.load(dir);
+        assertEquals("hard", loaded.getConfigurationSection("worlds").getString("nether.difficulty"));
+        assertFalse(loaded.isShardLoaded("worlds.end"));
+        assertEquals(2, loaded.get("worlds.count"));
+        assertEquals(6, loaded.getValues(true).size());
+        assertNull(loaded.get("worlds.missing.value"));
+    }
+}
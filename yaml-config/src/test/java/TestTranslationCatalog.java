@@ -0,0 +1,81 @@
+/*
+ *   Project: Confile
+ *   File: TestTranslationCatalog.java
+ *   Last Modified: 10/19/26, 5:05 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.TranslationCatalog;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestTranslationCatalog {
+    private static final String DOCUMENT = "messages:\n"
+            + "  en:\n"
+            + "    menu: {title: Menu, close: Close}\n"
+            + "    greeting: Hello\n"
+            + "    count: 3\n"
+            + "  de:\n"
+            + "    menu: {title: Men\u00fc}\n"
+            + "  de_AT:\n"
+            + "    greeting: Servus\n"
+            + "  fr:\n"
+            + "    greeting: Bonjour\n";
+
+    @Test
+    public void testFallbackChain() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(DOCUMENT);
+        TranslationCatalog catalog = TranslationCatalog.of(config.getConfigurationSection("messages")).defaultLocale("en");
+
+        TranslationCatalog.Messages austrian = catalog.messages("de_AT");
+        assertEquals(Arrays.asList("de_AT", "de", "en"), austrian.getLocales());
+        assertEquals("Servus", austrian.get("greeting"));
+        assertEquals("Men\u00fc", austrian.get("menu.title"));
+        assertEquals("Close", austrian.get("menu.close"));
+        assertEquals("3", austrian.get("count"));
+        assertNull(austrian.get("menu"));
+        assertEquals("?", austrian.get("missing", "?"));
+
+        catalog.fallback("de_AT", "fr");
+        assertEquals(Arrays.asList("de_AT", "fr", "en"), catalog.messages("de_AT").getLocales());
+        assertEquals("Menu", catalog.get("de_AT", "menu.title"));
+        assertEquals("Hello", catalog.get("pt_BR", "greeting"));
+    }
+
+    @Test
+    public void testLargeLocale() {
+        YamlConfiguration config = new YamlConfiguration();
+        for (int i = 0; i < 20000; i++) {
+            config.set("messages.en.group" + (i % 97) + ".key" + i, "text " + i);
+        }
+
+        TranslationCatalog.Messages messages = TranslationCatalog.of(config.getConfigurationSection("messages")).messages("en");
+        for (int i = 0; i < 20000; i++) {
+            assertEquals("text " + i, messages.get("group" + (i % 97) + ".key" + i));
+        }
+
+        assertNull(messages.get("group0.key1"));
+        assertNull(messages.get("group0"));
+    }
+}
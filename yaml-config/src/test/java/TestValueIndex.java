@@ -0,0 +1,70 @@
+/*
+ *   Project: Confile
+ *   File: TestValueIndex.java
+ *   Last Modified: 10/19/26, 4:15 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.ValueIndex;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestValueIndex {
+    @Test
+    public void testIndexFollowsChanges() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString("servers:\n"
+                + "  lobby: {region: region-eu-3, port: 3}\n"
+                + "  survival: {region: region-us-1, fallback: [region-eu-3, region-us-2]}\n"
+                + "port: '3'\n");
+        ValueIndex index = config.enableValueIndex();
+
+        assertEquals(new HashSet<>(Arrays.asList("servers.lobby.region", "servers.survival.fallback")),
+                index.getPaths("region-eu-3"));
+        assertEquals(new HashSet<>(Arrays.asList("servers.lobby.port", "port")), index.getPaths("3"));
+        assertEquals(Collections.singleton("servers.lobby.port"), index.getPaths((Object) 3));
+
+        config.set("servers.lobby.region", "region-us-1");
+        config.createSection("servers.survival");
+        assertTrue(index.getPaths("region-eu-3").isEmpty());
+        assertEquals(Collections.singleton("servers.lobby.region"), index.getPaths("region-us-1"));
+
+        config.loadFromString("other: region-us-1\n");
+        assertEquals(Collections.singleton("other"), index.getPaths("region-us-1"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testFastParseRollback() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().fastParse(true);
+        ValueIndex index = config.enableValueIndex();
+        config.loadFromString("a: one\nb: two\n");
+        // the anchor makes the fast parser give up half way and roll back
+        config.loadFromString("a: one\nc: &x two\nd: *x\n");
+        assertEquals(new HashSet<>(Arrays.asList("c", "d")), index.getPaths("two"));
+        assertEquals(3, index.size());
+    }
+}
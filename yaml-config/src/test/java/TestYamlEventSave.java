@@ -0,0 +1,139 @@
+/*
+ *   Project: Confile
+ *   File: TestYamlEventSave.java
+ *   Last Modified: 10/19/26, 7:25 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import io.coachluck.confile.file.YamlRepresenter;
+import io.coachluck.confile.serialization.ConfigurationSerializable;
+import io.coachluck.confile.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestYamlEventSave {
+
+    @BeforeClass
+    public static void register() {
+        ConfigurationSerialization.registerClass(Point.class);
+    }
+
+    @Test
+    public void testMatchesDump() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("name", "server");
+        config.set("quoted", Arrays.asList("true", "1", "a: b", "", "two\nlines", "#hash"));
+        config.set("numbers.int", 3);
+        config.set("numbers.long", 40000000000L);
+        config.set("numbers.double", 0.25);
+        config.set("flags.enabled", true);
+        config.set("deep.a.b.c", "leaf");
+        config.set("empty", new ArrayList<>());
+        config.set("set", new LinkedHashSet<>(Arrays.asList("x", "y")));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("key", "value");
+        map.put("list", Arrays.asList(1, 2));
+        config.set("rows", Arrays.asList(map, Collections.singletonList("nested")));
+        config.set("point", new Point(1, 2));
+        config.set("points", Arrays.asList(new Point(3, 4), new Point(5, 6)));
+
+        DumperOptions options = new DumperOptions();
+        options.setIndent(config.options().indent());
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        YamlRepresenter representer = new YamlRepresenter();
+        representer.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        String expected = new Yaml(representer, options).dump(config.getValues(false));
+
+        String saved = config.saveToString();
+        assertEquals(expected, saved);
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        loaded.loadFromString(saved);
+        assertEquals("leaf", loaded.getString("deep.a.b.c"));
+        assertEquals(2, loaded.getList("points").size());
+        assertEquals(2, loaded.getSerializable("point", Point.class).y);
+    }
+
+    @Test
+    public void testStreamsToWriter() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().header("streamed");
+        StringWriter empty = new StringWriter();
+        config.save(empty);
+        assertEquals("# streamed\n", empty.toString());
+
+        config.set("a.b", 1);
+        StringWriter writer = new StringWriter();
+        config.save(writer);
+        assertEquals("# streamed\na:\n  b: 1\n", writer.toString());
+    }
+
+    @Test
+    public void testSelfContainingValue() {
+        List<Object> list = new ArrayList<>();
+        list.add(list);
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("loop", list);
+        try {
+            config.saveToString();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("contains itself"));
+        }
+    }
+
+    public static class Point implements ConfigurationSerializable {
+        private final int x;
+        private final int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public Point(Map<String, Object> values) {
+            this((Integer) values.get("x"), (Integer) values.get("y"));
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> serialize() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("x", this.x);
+            values.put("y", this.y);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *   Project: Confile
+ *   File: TestYamlFastParse.java
+ *   Last Modified: 10/19/26, 1:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.ConfigurationSection;
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import io.coachluck.confile.metrics.ConfigurationMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestYamlFastParse {
+    // documents inside the fast subset
+    private static final String[] PLAIN = {
+            "",
+            "# only a comment\n",
+            "---\na: 1\n",
+            "a: 1\nb: two words\nc: 'single ''quoted'''\nd: \"double \\\"quoted\\\" \\u00e9\\n\"\n",
+            "ints: 0\nhex: 0x1F\noct: 017\nbig: 12345678901\nhuge: 123456789012345678901234\n"
+                    + "neg: -42\nunderscore: 1_000\n",
+            "floats: 1.5\nexp: 1e3\ninf: -.inf\nnan: .NaN\n",
+            "bools: yes\nno: off\nt: True\nnull1: ~\nnull2: null\nempty:\n",
+            "server:\n  host: localhost # trailing comment\n  port: 25565\n  nested:\n    deep: true\nafter: 1\n",
+            "list:\n- a\n- 1\n- - nested\n  - list\nindented:\n  - x\n  -\n  - y\n",
+            "maps:\n  - name: a\n    value: 1\n  - name: b\n    props:\n      k: v\n",
+            "1: int key\nyes: bool key\n'quoted key': v\na.b: dotted\nurl: http://example.com:80/x\n",
+            "  indented:\n    root: 1\n",
+            "a: 1\r\nb:\r\n  c: 2\r\n",
+    };
+
+    // documents SnakeYAML has to load
+    private static final String[] FALLBACK = {
+            "a: &x 1\nb: *x\n",
+            "a: !!str 1\n",
+            "a: [1, 2]\nb: {c: 3}\n",
+            "a: |\n  block\n  text\n",
+            "a: multi\n  line\n",
+            "when: 2001-12-14\n",
+            "a: tab\tinside\n",
+    };
+
+    @Test
+    public void testSameResultAsSnakeYaml() throws InvalidConfigurationException {
+        for (String document : PLAIN) {
+            assertSameResult(document, true);
+        }
+
+        for (String document : FALLBACK) {
+            assertSameResult(document, false);
+        }
+    }
+
+    @Test
+    public void testInvalidDocumentKeepsValues() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.options().fastParse(true);
+        yaml.set("kept", 1);
+        try {
+            yaml.loadFromString("a: 1\n b: [\n");
+        } catch (InvalidConfigurationException expected) {
+            assertEquals(1, yaml.get("kept"));
+            assertFalse(yaml.contains("a"));
+            return;
+        }
+
+        throw new AssertionError("invalid document was accepted");
+    }
+
+    @Test
+    public void testAllNestedSectionsLoaded() throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString("first:\n  a: 1\nsecond:\n  b: 2\nthird: 3\n");
+        assertEquals(1, yaml.get("first.a"));
+        assertEquals(2, yaml.get("second.b"));
+        assertEquals(3, yaml.get("third"));
+    }
+
+    private static void assertSameResult(String document, boolean fast) throws InvalidConfigurationException {
+        YamlConfiguration expected = new YamlConfiguration();
+        expected.loadFromString(document);
+
+        YamlConfiguration actual = new YamlConfiguration();
+        actual.options().fastParse(true);
+        ConfigurationMetrics metrics = actual.enableMetrics("fast-parse");
+        try {
+            actual.loadFromString(document);
+            // the fast path builds the sections while parsing and never runs the convert phase
+            assertEquals(document, fast, metrics.getConvertCount() == 0);
+        } finally {
+            actual.disableMetrics();
+        }
+
+        assertEquals(document, normalize(expected), normalize(actual));
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof ConfigurationSection) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((ConfigurationSection) value).getValues(false).entrySet()) {
+                map.put(entry.getKey(), normalize(entry.getValue()));
+            }
+
+            return map;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), normalize(entry.getValue()));
+            }
+
+            return map;
+        } else if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                list.add(normalize(item));
+            }
+
+            return list;
+        } else if (value != null) {
+            // keep the type in the comparison, 1 and 1L must not compare equal by accident
+            return value.getClass().getSimpleName() + ":" + value;
+        }
+
+        return null;
+    }
+}
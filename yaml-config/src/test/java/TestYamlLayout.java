@@ -0,0 +1,101 @@
+/*
+ *   Project: Confile
+ *   File: TestYamlLayout.java
+ *   Last Modified: 10/19/26, 3:10 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestYamlLayout {
+    private static final String DOCUMENT = "# server settings\n"
+            + "server:\n"
+            + "  port: 80     # the port to bind\n"
+            + "  host: 'localhost'\n"
+            + "\n"
+            + "# who may join\n"
+            + "motd: \"Welcome\"\n"
+            + "limits: {players: 20, worlds: 3}\n";
+
+    private static YamlConfiguration load(String contents) throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().preserveLayout(true);
+        config.loadFromString(contents);
+        return config;
+    }
+
+    @Test
+    public void testUnchangedKeepsSource() throws InvalidConfigurationException {
+        assertEquals(DOCUMENT, load(DOCUMENT).saveToString());
+    }
+
+    @Test
+    public void testChangedValuesArePatched() throws InvalidConfigurationException {
+        YamlConfiguration config = load(DOCUMENT);
+        config.set("server.port", 8080);
+        config.set("server.host", "a: b");
+        config.set("limits.players", 50);
+        config.set("motd", "Hello");
+
+        String saved = config.saveToString();
+        assertEquals(DOCUMENT.replace("80 ", "8080 ").replace("'localhost'", "\"a: b\"")
+                .replace("players: 20", "players: 50").replace("\"Welcome\"", "Hello"), saved);
+
+        YamlConfiguration reloaded = YamlConfiguration.loadConfiguration(new StringReader(saved));
+        assertEquals(8080, reloaded.get("server.port"));
+        assertEquals("a: b", reloaded.getString("server.host"));
+        assertEquals(50, reloaded.get("limits.players"));
+    }
+
+    @Test
+    public void testStructuralChangeRegenerates() throws InvalidConfigurationException {
+        YamlConfiguration config = load(DOCUMENT);
+        config.set("server.backlog", 16);
+        String saved = config.saveToString();
+        assertFalse(saved.contains("# the port to bind"));
+        assertTrue(saved.contains("backlog: 16"));
+
+        config = load(DOCUMENT);
+        config.set("motd", null);
+        assertFalse(config.saveToString().contains("motd"));
+    }
+
+    @Test
+    public void testInPlaceChangeRegenerates() throws InvalidConfigurationException {
+        String document = "# admins\nadmins: [alice]\nport: 80\n";
+        YamlConfiguration config = load(document);
+        assertEquals(document, config.saveToString());
+
+        @SuppressWarnings("unchecked")
+        List<Object> admins = (List<Object>) config.getList("admins");
+        admins.add("bob");
+        config.set("port", 81);
+        String saved = config.saveToString();
+        assertEquals(Arrays.asList("alice", "bob"), YamlConfiguration.loadConfiguration(new StringReader(saved)).getList("admins"));
+        assertEquals(81, YamlConfiguration.loadConfiguration(new StringReader(saved)).get("port"));
+    }
+}
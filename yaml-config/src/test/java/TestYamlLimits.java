@@ -0,0 +1,129 @@
+/*
+ *   Project: Confile
+ *   File: TestYamlLimits.java
+ *   Last Modified: 10/19/26, 7:00 PM
+ *
+ *    Copyright 2021 AJ Romaniello
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+import io.coachluck.confile.InvalidConfigurationException;
+import io.coachluck.confile.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestYamlLimits {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String ALIAS_BOMB = "a: &a [x, x, x, x, x, x, x, x, x]\n"
+            + "b: &b [*a, *a, *a, *a, *a, *a, *a, *a, *a]\n"
+            + "c: &c [*b, *b, *b, *b, *b, *b, *b, *b, *b]\n"
+            + "d: &d [*c, *c, *c, *c, *c, *c, *c, *c, *c]\n"
+            + "e: [*d, *d, *d, *d, *d, *d, *d, *d, *d]\n";
+
+    @Test
+    public void testAliases() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString("base: &base {port: 1}\nserver: *base\n");
+        assertEquals(1, config.get("server.port"));
+
+        config.options().maxAliases(10);
+        assertRejected(config, ALIAS_BOMB, "aliases");
+    }
+
+    @Test
+    public void testDepth() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().maxDepth(4);
+        config.loadFromString("a:\n  b:\n    c: [1, 2]\n");
+        assertEquals(2, config.getList("a.b.c").size());
+
+        StringBuilder deep = new StringBuilder("a: ");
+        for (int i = 0; i < 100000; i++) {
+            deep.append('[');
+        }
+
+        assertRejected(config, deep.toString(), "line 1");
+        assertRejected(config, "a:\n  b:\n    c:\n      d:\n        e: 1\n", "line 5");
+
+        config.options().fastParse(true);
+        assertRejected(config, "a:\n  b:\n    c:\n      d:\n        e: 1\n", "'a.b.c.d'");
+        assertEquals(2, config.getList("a.b.c").size());
+    }
+
+    @Test
+    public void testLengths() throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().maxScalarLength(8);
+        config.loadFromString("key: short\n");
+        assertRejected(config, "key: much too long\n", "line 1");
+        config.options().fastParse(true);
+        assertRejected(config, "key: much too long\n", "at key");
+        assertEquals("short", config.getString("key"));
+
+        config.options().maxScalarLength(0).maxDocumentLength(16);
+        assertRejected(config, "key: a value past the limit\n", "longer than 16");
+        try {
+            config.load(new StringReader("key: a value past the limit\n"));
+            fail("Document over the length limit");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("16"));
+        }
+
+        config.load(new StringReader("key: fits\n"));
+        assertEquals("fits", config.getString("key"));
+    }
+
+    @Test
+    public void testAsyncLoadIsBounded() throws Exception {
+        File file = new File(this.folder.getRoot(), "long.yml");
+        YamlConfiguration source = new YamlConfiguration();
+        source.set("key", "a value past the limit");
+        source.save(file);
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("key", "kept");
+        config.options().maxDocumentLength(16);
+        try {
+            config.loadAsync(file).get(10, TimeUnit.SECONDS);
+            fail("Document over the length limit");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InvalidConfigurationException);
+        }
+
+        assertEquals("kept", config.getString("key"));
+    }
+
+    private static void assertRejected(YamlConfiguration config, String contents, String message) {
+        try {
+            config.loadFromString(contents);
+            fail("Document over a limit");
+        } catch (InvalidConfigurationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+}